@@ -0,0 +1,106 @@
+package com.farnamhs.blogging.cache;
+
+import com.farnamhs.blogging.dao.PostChangeLogDao;
+import com.farnamhs.blogging.entity.ChangedPost;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+public class CacheInvalidationPoller implements CacheInvalidationPollerMBean {
+
+    public static final String OBJECT_NAME = "com.farnamhs.blogging:type=CacheInvalidationPoller";
+
+    private static final Logger LOGGER = Logger.getLogger(CacheInvalidationPoller.class.getName());
+    private static final long NO_WATERMARK = -1;
+
+    private final PostChangeLogDao changeLogDao;
+    private final PostCache postCache;
+    private final SearchResultCache searchResultCache;
+    private final Clock clock;
+    private final int batchSize;
+    private final Duration maximumStaleness;
+    private final AtomicLong invalidatedPosts = new AtomicLong();
+    private final AtomicLong fullInvalidations = new AtomicLong();
+    private final AtomicLong failedPolls = new AtomicLong();
+    private volatile long watermark = NO_WATERMARK;
+    private volatile Instant lastPolledAt;
+
+    public CacheInvalidationPoller(PostChangeLogDao changeLogDao, PostCache postCache, SearchResultCache searchResultCache,
+                                   Clock clock, int batchSize, Duration maximumStaleness) {
+        if (batchSize < 1) throw new IllegalArgumentException("Invalidation batch size must be positive");
+        if (maximumStaleness.isNegative() || maximumStaleness.isZero())
+            throw new IllegalArgumentException("Maximum staleness must be positive");
+        this.changeLogDao = changeLogDao;
+        this.postCache = postCache;
+        this.searchResultCache = searchResultCache;
+        this.clock = clock;
+        this.batchSize = batchSize;
+        this.maximumStaleness = maximumStaleness;
+        this.lastPolledAt = Instant.now(clock);
+    }
+
+    public void poll() {
+        Instant startedAt = Instant.now(clock);
+        try {
+            if (watermark == NO_WATERMARK) {
+                invalidateAllFrom(changeLogDao.findLatestChangeSequence());
+            } else {
+                List<ChangedPost> changedPosts = changeLogDao.findChangedPostsSince(watermark, batchSize);
+                if (changedPosts.size() == batchSize) {
+                    invalidateAllFrom(changeLogDao.findLatestChangeSequence());
+                } else if (!changedPosts.isEmpty()) {
+                    changedPosts.forEach(changedPost -> postCache.invalidate(changedPost.postId()));
+                    searchResultCache.invalidateAll();
+                    invalidatedPosts.addAndGet(changedPosts.size());
+                    watermark = changedPosts.get(changedPosts.size() - 1).sequence();
+                }
+            }
+            lastPolledAt = startedAt;
+        } catch (RuntimeException e) {
+            failedPolls.incrementAndGet();
+            LOGGER.log(Level.WARNING, "Failed to poll the post changes for cache invalidation", e);
+            if (Duration.between(lastPolledAt, startedAt).compareTo(maximumStaleness) > 0) invalidateAll();
+        }
+    }
+
+    private void invalidateAllFrom(long latestSequence) {
+        invalidateAll();
+        watermark = latestSequence;
+    }
+
+    private void invalidateAll() {
+        postCache.invalidateAll();
+        searchResultCache.invalidateAll();
+        fullInvalidations.incrementAndGet();
+    }
+
+    @Override
+    public long getWatermark() {
+        return watermark;
+    }
+
+    @Override
+    public long getInvalidatedPosts() {
+        return invalidatedPosts.get();
+    }
+
+    @Override
+    public long getFullInvalidations() {
+        return fullInvalidations.get();
+    }
+
+    @Override
+    public long getFailedPolls() {
+        return failedPolls.get();
+    }
+
+    @Override
+    public long getStalenessMillis() {
+        return Math.max(0, Duration.between(lastPolledAt, Instant.now(clock)).toMillis());
+    }
+}
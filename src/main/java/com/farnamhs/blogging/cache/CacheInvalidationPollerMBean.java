@@ -0,0 +1,14 @@
+package com.farnamhs.blogging.cache;
+
+public interface CacheInvalidationPollerMBean {
+
+    long getWatermark();
+
+    long getInvalidatedPosts();
+
+    long getFullInvalidations();
+
+    long getFailedPolls();
+
+    long getStalenessMillis();
+}
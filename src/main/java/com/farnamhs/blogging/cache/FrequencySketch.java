@@ -0,0 +1,62 @@
+package com.farnamhs.blogging.cache;
+
+class FrequencySketch {
+
+    private static final long[] SEEDS = {0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L};
+    private static final long RESET_MASK = 0x7777777777777777L;
+    private static final int MAXIMUM_FREQUENCY = 15;
+
+    private final long[] table;
+    private final int sampleSize;
+    private int additions;
+
+    FrequencySketch(int expectedEntries) {
+        if (expectedEntries < 1) throw new IllegalArgumentException("Expected entries must be positive");
+        this.table = new long[Integer.highestOneBit(Math.min(Math.max(expectedEntries, 16), 1 << 28) - 1) << 1];
+        this.sampleSize = 10 * expectedEntries;
+    }
+
+    int frequency(long key) {
+        int frequency = MAXIMUM_FREQUENCY;
+        for (long seed : SEEDS) {
+            long hash = hash(key, seed);
+            frequency = Math.min(frequency, (int) ((table[index(hash)] >>> offset(hash)) & 0xF));
+        }
+        return frequency;
+    }
+
+    void increment(long key) {
+        boolean added = false;
+        for (long seed : SEEDS) {
+            long hash = hash(key, seed);
+            int index = index(hash);
+            int offset = offset(hash);
+            if (((table[index] >>> offset) & 0xF) < MAXIMUM_FREQUENCY) {
+                table[index] += 1L << offset;
+                added = true;
+            }
+        }
+        if (added && ++additions >= sampleSize) reset();
+    }
+
+    private void reset() {
+        for (int i = 0; i < table.length; i++)
+            table[i] = (table[i] >>> 1) & RESET_MASK;
+        additions /= 2;
+    }
+
+    private int index(long hash) {
+        return (int) ((hash >>> 32) & (table.length - 1));
+    }
+
+    private static int offset(long hash) {
+        return (int) (hash & 0xF) << 2;
+    }
+
+    private static long hash(long key, long seed) {
+        long hash = (key + seed) * 0x9e3779b97f4a7c15L;
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        return hash ^ (hash >>> 33);
+    }
+}
@@ -0,0 +1,106 @@
+package com.farnamhs.blogging.cache;
+
+import com.farnamhs.blogging.exception.IdempotentRequestInProgressException;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+public class IdempotencyStore {
+
+    private final Clock clock;
+    private final Duration timeToLive;
+    private final int maximumSize;
+    private final Duration waitTimeout;
+    private final Map<String, Entry> entries = new LinkedHashMap<>();
+
+    public IdempotencyStore(Clock clock, Duration timeToLive, int maximumSize, Duration waitTimeout) {
+        if (timeToLive.isNegative() || timeToLive.isZero())
+            throw new IllegalArgumentException("Idempotency time to live must be positive");
+        if (maximumSize < 1) throw new IllegalArgumentException("Maximum size must be positive");
+        if (waitTimeout.isNegative() || waitTimeout.isZero())
+            throw new IllegalArgumentException("Idempotency wait timeout must be positive");
+        this.clock = clock;
+        this.timeToLive = timeToLive;
+        this.maximumSize = maximumSize;
+        this.waitTimeout = waitTimeout;
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String key, String requestFingerprint, Supplier<T> action) {
+        CompletableFuture<Object> result = new CompletableFuture<>();
+        Entry entry;
+        synchronized (entries) {
+            Instant now = clock.instant();
+            evictExpired(now);
+            entry = entries.get(key);
+            if (entry == null) {
+                entries.put(key, new Entry(requestFingerprint, now.plus(timeToLive), result));
+                evictOverflow();
+            }
+        }
+        if (entry != null) {
+            if (!entry.requestFingerprint().equals(requestFingerprint))
+                throw new IllegalArgumentException("Idempotency key was already used for a different request");
+            return (T) await(entry.result());
+        }
+        try {
+            T value = action.get();
+            result.complete(value);
+            return value;
+        } catch (RuntimeException e) {
+            synchronized (entries) {
+                Entry current = entries.get(key);
+                if (current != null && current.result() == result) entries.remove(key);
+            }
+            result.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private void evictExpired(Instant now) {
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            Entry entry = iterator.next();
+            if (entry.expiresAt().isAfter(now)) break;
+            if (entry.result().isDone()) iterator.remove();
+        }
+    }
+
+    private void evictOverflow() {
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (entries.size() > maximumSize && iterator.hasNext()) {
+            if (iterator.next().result().isDone()) iterator.remove();
+        }
+    }
+
+    private Object await(CompletableFuture<Object> result) {
+        try {
+            return result.get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            throw new IdempotentRequestInProgressException("A request with the same idempotency key is still in progress");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IdempotentRequestInProgressException("A request with the same idempotency key is still in progress");
+        }
+    }
+
+    private record Entry(String requestFingerprint, Instant expiresAt, CompletableFuture<Object> result) {}
+}
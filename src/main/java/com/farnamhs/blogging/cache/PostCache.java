@@ -0,0 +1,242 @@
+package com.farnamhs.blogging.cache;
+
+import com.farnamhs.blogging.entity.Post;
+import com.farnamhs.blogging.jfr.CacheLookupEvent;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class PostCache implements PostCacheMBean {
+
+    public static final String OBJECT_NAME = "com.farnamhs.blogging:type=PostCache";
+
+    private static final String CACHE_NAME = "posts";
+    private static final double WINDOW_SHARE = 0.01;
+    private static final double PROTECTED_SHARE = 0.8;
+    private static final long ENTRY_OVERHEAD = 128;
+
+    private final long maximumWeight;
+    private final long windowMaximumWeight;
+    private final long protectedMaximumWeight;
+    private final FrequencySketch sketch;
+    private final Map<Long, Node> nodes = new HashMap<>();
+    private final Region window = new Region();
+    private final Region probation = new Region();
+    private final Region protectedRegion = new Region();
+    private final AtomicLong writeVersion = new AtomicLong();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public PostCache(long maximumWeight, int expectedEntries) {
+        if (maximumWeight < 1) throw new IllegalArgumentException("Maximum weight must be positive");
+        this.maximumWeight = maximumWeight;
+        this.windowMaximumWeight = Math.max(1, (long) (maximumWeight * WINDOW_SHARE));
+        this.protectedMaximumWeight = (long) ((maximumWeight - windowMaximumWeight) * PROTECTED_SHARE);
+        this.sketch = new FrequencySketch(expectedEntries);
+    }
+
+    public static long weigh(Post post) {
+        long weight = ENTRY_OVERHEAD + post.getTitle().length() + post.getContent().length() + post.getCategory().length();
+        for (String tag : post.getTags())
+            weight += tag.length() + 3;
+        return weight;
+    }
+
+    public long currentVersion() {
+        return writeVersion.get();
+    }
+
+    public Optional<Post> get(long id) {
+        Optional<Post> post = lookup(id);
+        (post.isPresent() ? hits : misses).incrementAndGet();
+        CacheLookupEvent.emit(CACHE_NAME, id, post.isPresent());
+        return post;
+    }
+
+    private synchronized Optional<Post> lookup(long id) {
+        sketch.increment(id);
+        Node node = nodes.get(id);
+        if (node == null) return Optional.empty();
+        onAccess(node);
+        return Optional.of(node.post);
+    }
+
+    public synchronized void put(long id, long version, Post post) {
+        if (version != writeVersion.get()) return;
+        long weight = weigh(post);
+        Node node = nodes.get(id);
+        if (node != null) remove(node);
+        if (weight > maximumWeight) return;
+        node = new Node(id, post, weight);
+        nodes.put(id, node);
+        window.addLast(node);
+        Node candidate = evictFromWindow();
+        evictFromMain(candidate);
+    }
+
+    public synchronized void invalidate(long id) {
+        writeVersion.incrementAndGet();
+        Node node = nodes.get(id);
+        if (node != null) remove(node);
+    }
+
+    public synchronized void invalidateAll() {
+        writeVersion.incrementAndGet();
+        nodes.clear();
+        window.clear();
+        probation.clear();
+        protectedRegion.clear();
+    }
+
+    private void onAccess(Node node) {
+        if (node.region == probation) {
+            probation.remove(node);
+            protectedRegion.addLast(node);
+            while (protectedRegion.weight > protectedMaximumWeight) {
+                Node demoted = protectedRegion.first();
+                protectedRegion.remove(demoted);
+                probation.addLast(demoted);
+            }
+        } else {
+            node.region.moveToLast(node);
+        }
+    }
+
+    private Node evictFromWindow() {
+        Node candidate = null;
+        while (window.weight > windowMaximumWeight) {
+            Node node = window.first();
+            window.remove(node);
+            probation.addLast(node);
+            if (candidate == null) candidate = node;
+        }
+        return candidate;
+    }
+
+    private void evictFromMain(Node candidate) {
+        Node victim = probation.first();
+        while (weightedSize() > maximumWeight) {
+            if (victim == null) victim = protectedRegion.first();
+            if (victim == null) victim = window.first();
+            if (victim == candidate) candidate = null;
+            if (candidate == null) {
+                Node next = victim.next;
+                evict(victim);
+                victim = next != null ? next : probation.first();
+            } else if (sketch.frequency(candidate.id) > sketch.frequency(victim.id)) {
+                Node next = victim.next;
+                evict(victim);
+                victim = next;
+            } else {
+                Node next = candidate.next;
+                evict(candidate);
+                candidate = next;
+            }
+        }
+    }
+
+    private void evict(Node node) {
+        remove(node);
+        evictions.incrementAndGet();
+    }
+
+    private void remove(Node node) {
+        node.region.remove(node);
+        nodes.remove(node.id);
+    }
+
+    private long weightedSize() {
+        return window.weight + probation.weight + protectedRegion.weight;
+    }
+
+    @Override
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    @Override
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    @Override
+    public double getHitRate() {
+        long lookups = hits.get() + misses.get();
+        return lookups == 0 ? 0 : (double) hits.get() / lookups;
+    }
+
+    @Override
+    public long getEvictionCount() {
+        return evictions.get();
+    }
+
+    @Override
+    public synchronized long getWeightedSize() {
+        return weightedSize();
+    }
+
+    @Override
+    public synchronized int getEntryCount() {
+        return nodes.size();
+    }
+
+    private static final class Node {
+        private final long id;
+        private final Post post;
+        private final long weight;
+        private Region region;
+        private Node previous;
+        private Node next;
+
+        private Node(long id, Post post, long weight) {
+            this.id = id;
+            this.post = post;
+            this.weight = weight;
+        }
+    }
+
+    private static final class Region {
+        private Node head;
+        private Node tail;
+        private long weight;
+
+        private Node first() {
+            return head;
+        }
+
+        private void addLast(Node node) {
+            node.region = this;
+            node.previous = tail;
+            node.next = null;
+            if (tail == null) head = node;
+            else tail.next = node;
+            tail = node;
+            weight += node.weight;
+        }
+
+        private void remove(Node node) {
+            if (node.previous == null) head = node.next;
+            else node.previous.next = node.next;
+            if (node.next == null) tail = node.previous;
+            else node.next.previous = node.previous;
+            node.previous = null;
+            node.next = null;
+            weight -= node.weight;
+        }
+
+        private void clear() {
+            head = null;
+            tail = null;
+            weight = 0;
+        }
+
+        private void moveToLast(Node node) {
+            if (tail == node) return;
+            remove(node);
+            addLast(node);
+        }
+    }
+}
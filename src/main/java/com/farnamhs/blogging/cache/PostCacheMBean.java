@@ -0,0 +1,16 @@
+package com.farnamhs.blogging.cache;
+
+public interface PostCacheMBean {
+
+    long getHitCount();
+
+    long getMissCount();
+
+    double getHitRate();
+
+    long getEvictionCount();
+
+    long getWeightedSize();
+
+    int getEntryCount();
+}
@@ -0,0 +1,84 @@
+package com.farnamhs.blogging.cache;
+
+import com.farnamhs.blogging.entity.Post;
+import com.farnamhs.blogging.jfr.CacheLookupEvent;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.util.Objects.requireNonNullElse;
+
+public class SearchResultCache {
+
+    private static final String CACHE_NAME = "searchResults";
+
+    private final int maximumSize;
+    private final int maximumResultSize;
+    private final AtomicLong writeVersion = new AtomicLong();
+    private final Map<String, Entry> entries;
+
+    public SearchResultCache(int maximumSize, int maximumResultSize) {
+        if (maximumSize < 1) throw new IllegalArgumentException("Maximum size must be positive");
+        if (maximumResultSize < 0) throw new IllegalArgumentException("Maximum result size cannot be negative");
+        this.maximumSize = maximumSize;
+        this.maximumResultSize = maximumResultSize;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > SearchResultCache.this.maximumSize;
+            }
+        };
+    }
+
+    public long currentVersion() {
+        return writeVersion.get();
+    }
+
+    public Optional<List<Post>> get(String searchTerm) {
+        String key = normalize(searchTerm);
+        Optional<List<Post>> posts = lookup(key);
+        CacheLookupEvent.emit(CACHE_NAME, key, posts.isPresent());
+        return posts;
+    }
+
+    private Optional<List<Post>> lookup(String key) {
+        long version = writeVersion.get();
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry == null) return Optional.empty();
+            if (entry.version() != version) {
+                entries.remove(key);
+                return Optional.empty();
+            }
+            return Optional.of(entry.posts());
+        }
+    }
+
+    public void put(String searchTerm, long version, List<Post> posts) {
+        if (posts.size() > maximumResultSize) return;
+        List<Post> cachedPosts = List.copyOf(posts);
+        synchronized (entries) {
+            if (version != writeVersion.get()) return;
+            entries.put(normalize(searchTerm), new Entry(version, cachedPosts));
+        }
+    }
+
+    public void invalidateAll() {
+        writeVersion.incrementAndGet();
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private static String normalize(String searchTerm) {
+        return requireNonNullElse(searchTerm, "");
+    }
+
+    private record Entry(long version, List<Post> posts) {}
+}
@@ -1,36 +1,315 @@
 package com.farnamhs.blogging.config;
 
+import com.farnamhs.blogging.cache.CacheInvalidationPoller;
+import com.farnamhs.blogging.cache.IdempotencyStore;
+import com.farnamhs.blogging.cache.PostCache;
+import com.farnamhs.blogging.cache.SearchResultCache;
 import com.farnamhs.blogging.controller.*;
+import com.farnamhs.blogging.dao.BatchingPostDao;
+import com.farnamhs.blogging.dao.CachingPostDao;
+import com.farnamhs.blogging.dao.CircuitBreaker;
+import com.farnamhs.blogging.dao.CircuitBreakingPostDao;
+import com.farnamhs.blogging.dao.LazyLoadMetrics;
 import com.farnamhs.blogging.dao.PostDao;
 import com.farnamhs.blogging.dao.PostDaoImpl;
+import com.farnamhs.blogging.dao.StatementProfiler;
+import com.farnamhs.blogging.entity.PostField;
 import com.farnamhs.blogging.exception.*;
+import com.farnamhs.blogging.search.Bm25Index;
+import com.farnamhs.blogging.search.PostSearchIndex;
+import com.farnamhs.blogging.search.SearchIndexPoller;
+import com.farnamhs.blogging.search.SuggestionIndex;
+import com.farnamhs.blogging.search.TrigramIndex;
+import com.farnamhs.blogging.service.PostChangeNotifier;
+import com.farnamhs.blogging.service.PostImporter;
+import com.farnamhs.blogging.service.PostPurger;
+import com.farnamhs.blogging.service.PostStatistics;
 import com.farnamhs.blogging.service.PostService;
 import com.farnamhs.blogging.service.PostServiceImpl;
 import com.farnamhs.blogging.util.PropertiesReader;
 import jakarta.ws.rs.ApplicationPath;
 import org.glassfish.jersey.server.ResourceConfig;
 
+import java.sql.SQLException;
 import java.time.Clock;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
 
 @ApplicationPath("/api")
 public class Application extends ResourceConfig {
+    private static final Logger LOGGER = Logger.getLogger(Application.class.getName());
+
+    private final ApplicationLifecycle lifecycle = new ApplicationLifecycle();
+
     public Application() {
+        this("database.properties", "application.properties");
+    }
+
+    public Application(String databasePropertiesFileName, String applicationPropertiesFileName) {
         try {
-            PropertiesReader propertiesReader = new PropertiesReader("database.properties");
-            DatabaseInitializer.initialize(propertiesReader);
+            PropertiesReader propertiesReader = new PropertiesReader(databasePropertiesFileName);
+            PropertiesReader applicationProperties = new PropertiesReader(applicationPropertiesFileName);
+            ExecutorService startupExecutor = createStartupExecutor(applicationProperties);
+            StartupReadiness startupReadiness = new StartupReadiness();
+            MigrationMode migrationMode = MigrationMode.fromName(
+                    applicationProperties.getProperty("startup.migration-mode", "migrate"));
+            CompletableFuture<Void> databaseInitialization = startupReadiness.track("database",
+                    CompletableFuture.runAsync(() -> initializeDatabase(propertiesReader, migrationMode), startupExecutor));
             Clock utcClock = Clock.systemUTC();
-            PostDao postDao = new PostDaoImpl(propertiesReader.getProperty("url"));
-            registerResources(new PostServiceImpl(utcClock, postDao));
+            PostChangeNotifier changeNotifier = new PostChangeNotifier();
+            LazyLoadMetrics lazyLoadMetrics = new LazyLoadMetrics();
+            lifecycle.registerMBean(lazyLoadMetrics, LazyLoadMetrics.OBJECT_NAME);
+            StatementProfiler statementProfiler = new StatementProfiler(Duration.ofMillis(Long.parseLong(
+                    applicationProperties.getProperty("dao.slow-statement-threshold-millis", "200"))));
+            lifecycle.registerMBean(statementProfiler, StatementProfiler.OBJECT_NAME);
+            PostDaoImpl postDaoImpl = new PostDaoImpl(propertiesReader.getProperty("url"), utcClock, lazyLoadMetrics,
+                    statementProfiler);
+            postDaoImpl.addChangeListener(changeNotifier);
+            SearchResultCache searchResultCache = createSearchResultCache(applicationProperties);
+            PostCache postCache = createPostCache(applicationProperties);
+            PostDao postDao = new CachingPostDao(createBatchingPostDao(applicationProperties,
+                    createCircuitBreakingPostDao(applicationProperties, utcClock, postDaoImpl)),
+                    searchResultCache, postCache);
+            CacheInvalidationPoller invalidationPoller = new CacheInvalidationPoller(postDaoImpl, postCache,
+                    searchResultCache, utcClock,
+                    Integer.parseInt(applicationProperties.getProperty("cache.invalidation.batch-size", "500")),
+                    Duration.ofMillis(Long.parseLong(
+                            applicationProperties.getProperty("cache.invalidation.maximum-staleness-millis", "5000"))));
+            lifecycle.registerMBean(invalidationPoller, CacheInvalidationPoller.OBJECT_NAME);
+            databaseInitialization.thenRun(() -> scheduleCacheInvalidation(applicationProperties, invalidationPoller));
+            PostStatistics postStatistics = new PostStatistics(postDao);
+            postDaoImpl.addChangeListener(postStatistics);
+            startupReadiness.track("statistics",
+                    databaseInitialization.thenRunAsync(postStatistics::reconcile, startupExecutor))
+                    .thenRun(() -> scheduleStatisticsReconciliation(applicationProperties, postStatistics));
+            PostPurger postPurger = createPostPurger(applicationProperties, utcClock, postDaoImpl);
+            lifecycle.registerMBean(postPurger, PostPurger.OBJECT_NAME);
+            databaseInitialization.thenRun(() -> schedulePurge(applicationProperties, postPurger));
+            PostSearchIndex searchIndex = createSearchIndex(applicationProperties);
+            postDaoImpl.addChangeListener(searchIndex);
+            SearchIndexPoller searchIndexPoller = new SearchIndexPoller(searchIndex, postDaoImpl, postDaoImpl,
+                    Integer.parseInt(applicationProperties.getProperty("search.index.batch-size", "500")));
+            startupReadiness.track("searchIndex",
+                    databaseInitialization.thenRunAsync(searchIndexPoller::rebuild, startupExecutor))
+                    .thenRun(() -> scheduleSearchIndexPolling(applicationProperties, searchIndexPoller));
+            PostService postService = new PostServiceImpl(utcClock, postDao, changeNotifier,
+                    createPostImporter(applicationProperties, utcClock, postDao), postStatistics, searchIndex,
+                    createIdempotencyStore(applicationProperties, utcClock));
+            PostEventBroadcaster eventBroadcaster = createEventBroadcaster(applicationProperties, postService);
+            postDaoImpl.addChangeListener(eventBroadcaster);
+            registerResources(postService, eventBroadcaster, startupReadiness, createRequestDeadlineFilter(applicationProperties));
+            if (!Boolean.parseBoolean(applicationProperties.getProperty("startup.background-initialization", "false")))
+                databaseInitialization.join();
         } catch (Exception e) {
-            System.err.println(e);
-            System.exit(1);
+            lifecycle.shutdown();
+            LOGGER.log(Level.SEVERE, "Failed to start the application", e);
+            throw new IllegalStateException("Failed to start the application", e);
+        }
+    }
+
+    private ExecutorService createStartupExecutor(PropertiesReader applicationProperties) {
+        return lifecycle.manage(Executors.newFixedThreadPool(
+                Integer.parseInt(applicationProperties.getProperty("startup.threads", "2")),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "startup-initializer");
+                    thread.setDaemon(true);
+                    return thread;
+                }
+        ));
+    }
+
+    private void initializeDatabase(PropertiesReader propertiesReader, MigrationMode migrationMode) {
+        try {
+            DatabaseInitializer.initialize(propertiesReader, migrationMode);
+        } catch (ClassNotFoundException | SQLException e) {
+            throw new IllegalStateException("Failed to initialize the database", e);
         }
     }
 
-    private void registerResources(PostService postService) {
+    private PostDao createCircuitBreakingPostDao(PropertiesReader applicationProperties, Clock clock, PostDao postDao)
+            throws Exception {
+        if (!Boolean.parseBoolean(applicationProperties.getProperty("dao.circuit-breaker.enabled", "true"))) return postDao;
+        CircuitBreaker circuitBreaker = new CircuitBreaker(
+                clock,
+                Integer.parseInt(applicationProperties.getProperty("dao.circuit-breaker.window-size", "50")),
+                Integer.parseInt(applicationProperties.getProperty("dao.circuit-breaker.minimum-calls", "20")),
+                Double.parseDouble(applicationProperties.getProperty("dao.circuit-breaker.failure-rate-threshold", "0.5")),
+                Duration.ofMillis(Long.parseLong(applicationProperties.getProperty("dao.circuit-breaker.slow-call-millis", "2000"))),
+                Double.parseDouble(applicationProperties.getProperty("dao.circuit-breaker.slow-call-rate-threshold", "0.8")),
+                Duration.ofSeconds(Long.parseLong(applicationProperties.getProperty("dao.circuit-breaker.open-seconds", "10"))),
+                Integer.parseInt(applicationProperties.getProperty("dao.circuit-breaker.half-open-probes", "3"))
+        );
+        lifecycle.registerMBean(circuitBreaker, CircuitBreaker.OBJECT_NAME);
+        return new CircuitBreakingPostDao(postDao, circuitBreaker);
+    }
+
+    private PostDao createBatchingPostDao(PropertiesReader applicationProperties, PostDao postDao) throws Exception {
+        if (!Boolean.parseBoolean(applicationProperties.getProperty("dao.batching.enabled", "false"))) return postDao;
+        BatchingPostDao batchingPostDao = new BatchingPostDao(
+                postDao,
+                Duration.ofMillis(Long.parseLong(applicationProperties.getProperty("dao.batching.window-millis", "2"))),
+                Integer.parseInt(applicationProperties.getProperty("dao.batching.maximum-batch-size", "100"))
+        );
+        lifecycle.registerMBean(batchingPostDao, BatchingPostDao.OBJECT_NAME);
+        return batchingPostDao;
+    }
+
+    private SearchResultCache createSearchResultCache(PropertiesReader applicationProperties) {
+        return new SearchResultCache(
+                Integer.parseInt(applicationProperties.getProperty("cache.search.maximum-size", "1000")),
+                Integer.parseInt(applicationProperties.getProperty("cache.search.maximum-result-size", "500"))
+        );
+    }
+
+    private PostCache createPostCache(PropertiesReader applicationProperties) throws Exception {
+        PostCache postCache = new PostCache(
+                Long.parseLong(applicationProperties.getProperty("cache.posts.maximum-weight-bytes", "67108864")),
+                Integer.parseInt(applicationProperties.getProperty("cache.posts.expected-size", "50000"))
+        );
+        lifecycle.registerMBean(postCache, PostCache.OBJECT_NAME);
+        return postCache;
+    }
+
+    private IdempotencyStore createIdempotencyStore(PropertiesReader applicationProperties, Clock clock) {
+        return new IdempotencyStore(
+                clock,
+                Duration.ofSeconds(Long.parseLong(applicationProperties.getProperty("idempotency.ttl-seconds", "86400"))),
+                Integer.parseInt(applicationProperties.getProperty("idempotency.maximum-size", "10000")),
+                Duration.ofMillis(Long.parseLong(applicationProperties.getProperty("idempotency.wait-timeout-millis", "30000")))
+        );
+    }
+
+    private void scheduleStatisticsReconciliation(PropertiesReader applicationProperties, PostStatistics postStatistics) {
+        ScheduledExecutorService reconcileExecutor = lifecycle.manage(Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "post-statistics-reconciler");
+            thread.setDaemon(true);
+            return thread;
+        }));
+        long reconcileIntervalSeconds = Long.parseLong(
+                applicationProperties.getProperty("stats.reconcile-interval-seconds", "300"));
+        reconcileExecutor.scheduleWithFixedDelay(postStatistics::reconcile, reconcileIntervalSeconds, reconcileIntervalSeconds,
+                TimeUnit.SECONDS);
+    }
+
+    private void scheduleCacheInvalidation(PropertiesReader applicationProperties, CacheInvalidationPoller invalidationPoller) {
+        ScheduledExecutorService invalidationExecutor = lifecycle.manage(Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "cache-invalidation-poller");
+            thread.setDaemon(true);
+            return thread;
+        }));
+        long pollIntervalMillis = Long.parseLong(applicationProperties.getProperty("cache.invalidation.poll-interval-millis", "1000"));
+        invalidationExecutor.scheduleWithFixedDelay(invalidationPoller::poll, 0, pollIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private void scheduleSearchIndexPolling(PropertiesReader applicationProperties, SearchIndexPoller searchIndexPoller) {
+        ScheduledExecutorService searchIndexExecutor = lifecycle.manage(Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "search-index-poller");
+            thread.setDaemon(true);
+            return thread;
+        }));
+        long pollIntervalMillis = Long.parseLong(applicationProperties.getProperty("search.index.poll-interval-millis", "1000"));
+        searchIndexExecutor.scheduleWithFixedDelay(searchIndexPoller::poll, pollIntervalMillis, pollIntervalMillis,
+                TimeUnit.MILLISECONDS);
+    }
+
+    private PostPurger createPostPurger(PropertiesReader applicationProperties, Clock clock, PostDaoImpl postDaoImpl) {
+        return new PostPurger(
+                postDaoImpl,
+                clock,
+                Integer.parseInt(applicationProperties.getProperty("purge.batch-size", "100")),
+                Integer.parseInt(applicationProperties.getProperty("purge.max-batches-per-run", "50")),
+                Duration.ofMillis(Long.parseLong(applicationProperties.getProperty("purge.batch-pause-millis", "100"))),
+                Duration.ofHours(Long.parseLong(applicationProperties.getProperty("purge.change-retention-hours", "168")))
+        );
+    }
+
+    private void schedulePurge(PropertiesReader applicationProperties, PostPurger postPurger) {
+        ScheduledExecutorService purgeExecutor = lifecycle.manage(Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "post-purger");
+            thread.setDaemon(true);
+            return thread;
+        }));
+        long purgeIntervalSeconds = Long.parseLong(applicationProperties.getProperty("purge.interval-seconds", "60"));
+        purgeExecutor.scheduleWithFixedDelay(postPurger::purge, purgeIntervalSeconds, purgeIntervalSeconds, TimeUnit.SECONDS);
+    }
+
+    private PostSearchIndex createSearchIndex(PropertiesReader applicationProperties) {
+        return new PostSearchIndex(new Bm25Index(Map.of(
+                PostField.TITLE, Double.parseDouble(applicationProperties.getProperty("search.boost.title", "3.0")),
+                PostField.CONTENT, Double.parseDouble(applicationProperties.getProperty("search.boost.content", "1.0")),
+                PostField.CATEGORY, Double.parseDouble(applicationProperties.getProperty("search.boost.category", "1.5")),
+                PostField.TAGS, Double.parseDouble(applicationProperties.getProperty("search.boost.tags", "2.0"))
+        )), new SuggestionIndex(), new TrigramIndex());
+    }
+
+    private PostImporter createPostImporter(PropertiesReader applicationProperties, Clock clock, PostDao postDao) {
+        ExecutorService writerExecutor = lifecycle.manage(Executors.newFixedThreadPool(
+                Integer.parseInt(applicationProperties.getProperty("import.writer-threads", "2")),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "post-import-writer");
+                    thread.setDaemon(true);
+                    return thread;
+                }
+        ));
+        return new PostImporter(
+                clock,
+                postDao,
+                Integer.parseInt(applicationProperties.getProperty("import.batch-size", "500")),
+                Integer.parseInt(applicationProperties.getProperty("import.queue-capacity", "4")),
+                writerExecutor
+        );
+    }
+
+    private PostEventBroadcaster createEventBroadcaster(PropertiesReader applicationProperties, PostService postService) {
+        ExecutorService senderExecutor = lifecycle.manage(Executors.newFixedThreadPool(
+                Integer.parseInt(applicationProperties.getProperty("sse.sender-threads", "8")),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "post-event-sender");
+                    thread.setDaemon(true);
+                    return thread;
+                }
+        ));
+        return new PostEventBroadcaster(
+                postService,
+                senderExecutor,
+                Integer.parseInt(applicationProperties.getProperty("sse.subscriber-buffer-size", "256")),
+                Duration.ofMillis(Long.parseLong(applicationProperties.getProperty("sse.send-timeout-millis", "10000")))
+        );
+    }
+
+    private RequestDeadlineFilter createRequestDeadlineFilter(PropertiesReader applicationProperties) {
+        Map<String, Duration> endpointTimeouts = applicationProperties.getProperties("deadline.endpoint.").entrySet().stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, entry -> Duration.ofMillis(Long.parseLong(entry.getValue().strip()))));
+        return new RequestDeadlineFilter(
+                Duration.ofMillis(Long.parseLong(applicationProperties.getProperty("deadline.default-millis", "10000"))),
+                Duration.ofMillis(Long.parseLong(applicationProperties.getProperty("deadline.maximum-millis", "30000"))),
+                endpointTimeouts
+        );
+    }
+
+    private void registerResources(PostService postService, PostEventBroadcaster eventBroadcaster,
+                                   StartupReadiness startupReadiness, RequestDeadlineFilter requestDeadlineFilter) {
+        register(lifecycle);
         register(new PostResource(postService));
+        register(new PostStreamResource(eventBroadcaster));
+        register(new HealthResource(startupReadiness));
+        register(RequestEndpointFilter.class);
+        register(requestDeadlineFilter);
+        register(BinaryJacksonProvider.class);
         register(PostNotFoundExceptionMapper.class);
         register(DatabaseExceptionMapper.class);
+        register(DeadlineExceededExceptionMapper.class);
+        register(DatabaseUnavailableExceptionMapper.class);
+        register(IdempotentRequestInProgressExceptionMapper.class);
+        register(ChangeCursorExpiredExceptionMapper.class);
         register(IllegalArgumentExceptionMapper.class);
         register(NullPointerExceptionMapper.class);
         register(GlobalExceptionMapper.class);
@@ -0,0 +1,96 @@
+package com.farnamhs.blogging.config;
+
+import org.glassfish.jersey.server.spi.Container;
+import org.glassfish.jersey.server.spi.ContainerLifecycleListener;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+public class ApplicationLifecycle implements ContainerLifecycleListener {
+
+    private static final Logger LOGGER = Logger.getLogger(ApplicationLifecycle.class.getName());
+    private static final Duration EXECUTOR_TERMINATION_TIMEOUT = Duration.ofSeconds(5);
+
+    private final MBeanServer mBeanServer;
+    private final List<ObjectName> registeredMBeans = new ArrayList<>();
+    private final List<ExecutorService> executors = new ArrayList<>();
+    private boolean shutDown;
+
+    public ApplicationLifecycle() {
+        this(ManagementFactory.getPlatformMBeanServer());
+    }
+
+    public ApplicationLifecycle(MBeanServer mBeanServer) {
+        this.mBeanServer = mBeanServer;
+    }
+
+    public synchronized void registerMBean(Object mBean, String objectName) throws JMException {
+        if (shutDown) return;
+        ObjectName name = new ObjectName(objectName);
+        try {
+            mBeanServer.registerMBean(mBean, name);
+            registeredMBeans.add(name);
+        } catch (InstanceAlreadyExistsException e) {
+            LOGGER.log(Level.WARNING, "MBean {0} is already registered by another application, skipping it", name);
+        }
+    }
+
+    public synchronized <T extends ExecutorService> T manage(T executor) {
+        if (shutDown) executor.shutdownNow();
+        else executors.add(executor);
+        return executor;
+    }
+
+    public synchronized List<ObjectName> getRegisteredMBeans() {
+        return List.copyOf(registeredMBeans);
+    }
+
+    @Override
+    public void onStartup(Container container) {}
+
+    @Override
+    public void onReload(Container container) {}
+
+    @Override
+    public void onShutdown(Container container) {
+        shutdown();
+    }
+
+    public synchronized void shutdown() {
+        if (shutDown) return;
+        shutDown = true;
+        executors.forEach(ExecutorService::shutdownNow);
+        awaitTermination();
+        executors.clear();
+        for (ObjectName name : registeredMBeans) {
+            try {
+                mBeanServer.unregisterMBean(name);
+            } catch (JMException e) {
+                LOGGER.log(Level.WARNING, "Failed to unregister MBean " + name, e);
+            }
+        }
+        registeredMBeans.clear();
+    }
+
+    private void awaitTermination() {
+        long deadline = System.nanoTime() + EXECUTOR_TERMINATION_TIMEOUT.toNanos();
+        try {
+            for (ExecutorService executor : executors) {
+                if (!executor.awaitTermination(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS))
+                    LOGGER.log(Level.WARNING, "An application executor did not terminate in time");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -3,13 +3,33 @@ package com.farnamhs.blogging.config;
 import com.farnamhs.blogging.util.PropertiesReader;
 import org.flywaydb.core.Flyway;
 
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+
 public class DatabaseInitializer {
 
-    public static void initialize(PropertiesReader reader) throws ClassNotFoundException {
+    private static final int CONNECTION_VALIDATION_TIMEOUT_SECONDS = 5;
+
+    public static void initialize(PropertiesReader reader, MigrationMode migrationMode) throws ClassNotFoundException, SQLException {
         Class.forName(reader.getProperty("driver"));
-        Flyway.configure()
+        switch (migrationMode) {
+            case MIGRATE -> flyway(reader).migrate();
+            case VALIDATE -> flyway(reader).validate();
+            case SKIP -> validateConnection(reader.getProperty("url"));
+        }
+    }
+
+    private static Flyway flyway(PropertiesReader reader) {
+        return Flyway.configure()
                 .dataSource(reader.getProperty("url"), reader.getProperty("user"), reader.getProperty("password"))
-                .load()
-                .migrate();
+                .load();
+    }
+
+    private static void validateConnection(String url) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(url)) {
+            if (!connection.isValid(CONNECTION_VALIDATION_TIMEOUT_SECONDS))
+                throw new SQLException("The database connection is not valid");
+        }
     }
 }
@@ -0,0 +1,17 @@
+package com.farnamhs.blogging.config;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+public enum MigrationMode {
+    MIGRATE,
+    VALIDATE,
+    SKIP;
+
+    public static MigrationMode fromName(String name) {
+        return Arrays.stream(values())
+                .filter(mode -> mode.name().equals(name.strip().toUpperCase(Locale.ROOT)))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown migration mode: " + name));
+    }
+}
@@ -0,0 +1,76 @@
+package com.farnamhs.blogging.config;
+
+import com.farnamhs.blogging.util.PropertiesReader;
+import org.glassfish.grizzly.http.server.HttpServer;
+import org.glassfish.grizzly.http.server.NetworkListener;
+import org.glassfish.grizzly.nio.transport.TCPNIOTransport;
+import org.glassfish.grizzly.threadpool.ThreadPoolConfig;
+import org.glassfish.jersey.grizzly2.httpserver.GrizzlyHttpServerFactory;
+import org.glassfish.jersey.server.ResourceConfig;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+public class StandaloneServer {
+
+    private static final Logger LOGGER = Logger.getLogger(StandaloneServer.class.getName());
+
+    private StandaloneServer() {
+    }
+
+    public static void main(String[] args) {
+        long startedAt = System.nanoTime();
+        try {
+            PropertiesReader applicationProperties = new PropertiesReader("application.properties");
+            int availableProcessors = Runtime.getRuntime().availableProcessors();
+            URI baseUri = URI.create("http://" + applicationProperties.getProperty("server.host", "0.0.0.0") + ":"
+                    + applicationProperties.getProperty("server.port", "8080") + "/");
+            HttpServer httpServer = start(
+                    new Application(),
+                    baseUri,
+                    threads(applicationProperties, "server.selector-threads", availableProcessors),
+                    threads(applicationProperties, "server.worker-threads", availableProcessors * 2)
+            );
+            long shutdownGraceSeconds = Long.parseLong(
+                    applicationProperties.getProperty("server.shutdown-grace-seconds", "10"));
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                LOGGER.info("Stopping the server");
+                httpServer.shutdown(shutdownGraceSeconds, TimeUnit.SECONDS);
+            }, "server-shutdown"));
+            LOGGER.log(Level.INFO, "Started the server on {0} in {1} ms",
+                    new Object[]{baseUri, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt)});
+        } catch (Exception e) {
+            LOGGER.log(Level.SEVERE, "Failed to start the server", e);
+            System.exit(1);
+        }
+    }
+
+    public static HttpServer start(ResourceConfig application, URI baseUri, int selectorThreads, int workerThreads)
+            throws IOException {
+        if (selectorThreads < 1) throw new IllegalArgumentException("Selector threads must be positive");
+        if (workerThreads < 1) throw new IllegalArgumentException("Worker threads must be positive");
+        HttpServer httpServer = GrizzlyHttpServerFactory.createHttpServer(baseUri, application, false);
+        for (NetworkListener listener : httpServer.getListeners()) {
+            TCPNIOTransport transport = listener.getTransport();
+            transport.setSelectorRunnersCount(selectorThreads);
+            transport.setWorkerThreadPoolConfig(ThreadPoolConfig.defaultConfig()
+                    .setPoolName("server-worker")
+                    .setCorePoolSize(workerThreads)
+                    .setMaxPoolSize(workerThreads));
+        }
+        httpServer.start();
+        return httpServer;
+    }
+
+    public static int getPort(HttpServer httpServer) {
+        return httpServer.getListeners().iterator().next().getPort();
+    }
+
+    private static int threads(PropertiesReader applicationProperties, String key, int defaultThreads) {
+        String threads = applicationProperties.getProperty(key, "");
+        return threads.isBlank() ? defaultThreads : Integer.parseInt(threads);
+    }
+}
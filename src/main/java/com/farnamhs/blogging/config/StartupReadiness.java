@@ -0,0 +1,52 @@
+package com.farnamhs.blogging.config;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+public class StartupReadiness {
+
+    private static final Logger LOGGER = Logger.getLogger(StartupReadiness.class.getName());
+
+    public enum CheckStatus {
+        PENDING,
+        READY,
+        FAILED
+    }
+
+    private final Map<String, CheckStatus> checks = new LinkedHashMap<>();
+    private final List<CompletableFuture<?>> tasks = new ArrayList<>();
+
+    public synchronized <T> CompletableFuture<T> track(String name, CompletableFuture<T> task) {
+        checks.put(name, CheckStatus.PENDING);
+        tasks.add(task.whenComplete((result, failure) -> complete(name, failure)));
+        return task;
+    }
+
+    public synchronized boolean isReady() {
+        return checks.values().stream().allMatch(CheckStatus.READY::equals);
+    }
+
+    public synchronized Map<String, CheckStatus> getChecks() {
+        return Collections.unmodifiableMap(new LinkedHashMap<>(checks));
+    }
+
+    public void awaitAll() {
+        CompletableFuture<?>[] trackedTasks;
+        synchronized (this) {
+            trackedTasks = tasks.toArray(CompletableFuture[]::new);
+        }
+        CompletableFuture.allOf(trackedTasks).join();
+    }
+
+    private synchronized void complete(String name, Throwable failure) {
+        if (failure == null) {
+            checks.put(name, CheckStatus.READY);
+            LOGGER.log(Level.INFO, "Startup task {0} is ready", name);
+        } else {
+            checks.put(name, CheckStatus.FAILED);
+            LOGGER.log(Level.SEVERE, "Startup task " + name + " failed", failure);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.farnamhs.blogging.controller;
+
+import com.farnamhs.blogging.config.StartupReadiness;
+import com.farnamhs.blogging.dto.HealthDto;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static jakarta.ws.rs.core.Response.*;
+import static jakarta.ws.rs.core.Response.Status.*;
+
+@Singleton
+@Path("/health")
+public class HealthResource {
+
+    private static final String UP = "UP";
+    private static final String DOWN = "DOWN";
+
+    private final StartupReadiness startupReadiness;
+
+    @Inject
+    public HealthResource(StartupReadiness startupReadiness) {
+        this.startupReadiness = startupReadiness;
+    }
+
+    @GET
+    @Path("live")
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response getLiveness() {
+        return ok(new HealthDto(UP, null)).build();
+    }
+
+    @GET
+    @Path("ready")
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response getReadiness() {
+        Map<String, String> checks = new LinkedHashMap<>();
+        startupReadiness.getChecks().forEach((name, status) -> checks.put(name, status.name()));
+        boolean isReady = startupReadiness.isReady();
+        return status(isReady ? OK : SERVICE_UNAVAILABLE)
+                .entity(new HealthDto(isReady ? UP : DOWN, checks))
+                .build();
+    }
+}
@@ -0,0 +1,190 @@
+package com.farnamhs.blogging.controller;
+
+import com.farnamhs.blogging.dao.PostChangeListener;
+import com.farnamhs.blogging.dto.PostChangeDto;
+import com.farnamhs.blogging.dto.PostChangesResponseDto;
+import com.farnamhs.blogging.entity.Post;
+import com.farnamhs.blogging.entity.PostChange;
+import com.farnamhs.blogging.exception.ChangeCursorExpiredException;
+import com.farnamhs.blogging.mapper.PostMapper;
+import com.farnamhs.blogging.service.PostService;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.sse.OutboundSseEvent;
+import jakarta.ws.rs.sse.Sse;
+import jakarta.ws.rs.sse.SseEventSink;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+public class PostEventBroadcaster implements PostChangeListener {
+
+    private static final Logger LOGGER = Logger.getLogger(PostEventBroadcaster.class.getName());
+    private static final int REPLAY_PAGE_SIZE = 500;
+    private static final String RESET_EVENT_NAME = "reset";
+    private static final Duration DEFAULT_SEND_TIMEOUT = Duration.ofSeconds(10);
+
+    private final PostService postService;
+    private final Executor senderExecutor;
+    private final int subscriberBufferSize;
+    private final Duration sendTimeout;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+    public PostEventBroadcaster(PostService postService, Executor senderExecutor, int subscriberBufferSize) {
+        this(postService, senderExecutor, subscriberBufferSize, DEFAULT_SEND_TIMEOUT);
+    }
+
+    public PostEventBroadcaster(PostService postService, Executor senderExecutor, int subscriberBufferSize,
+                                Duration sendTimeout) {
+        if (subscriberBufferSize < 1) throw new IllegalArgumentException("Subscriber buffer size must be positive");
+        if (sendTimeout.isNegative() || sendTimeout.isZero())
+            throw new IllegalArgumentException("Send timeout must be positive");
+        this.postService = postService;
+        this.senderExecutor = senderExecutor;
+        this.subscriberBufferSize = subscriberBufferSize;
+        this.sendTimeout = sendTimeout;
+    }
+
+    public void subscribe(SseEventSink eventSink, Sse sse, long lastEventId) {
+        Subscriber subscriber = new Subscriber(eventSink, sse, lastEventId);
+        subscribers.add(subscriber);
+        if (subscriber.replaying) {
+            senderExecutor.execute(() -> replay(subscriber, lastEventId));
+        }
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    @Override
+    public void onChange(PostChange change, Optional<Post> previousPost) {
+        PostChangeDto event = PostMapper.toDto(change);
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.buffer.offer(event)) {
+                scheduleDrain(subscriber);
+            } else {
+                disconnect(subscriber, "buffer overflow");
+            }
+        }
+    }
+
+    private void replay(Subscriber subscriber, long lastEventId) {
+        try {
+            long cursor = lastEventId;
+            PostChangesResponseDto page;
+            do {
+                page = postService.getChanges(cursor, REPLAY_PAGE_SIZE, 0);
+                for (PostChangeDto change : page.changes()) {
+                    if (!send(subscriber, change)) return;
+                }
+                cursor = page.nextCursor();
+            } while (page.changes().size() == REPLAY_PAGE_SIZE);
+        } catch (ChangeCursorExpiredException e) {
+            sendReset(subscriber);
+            disconnect(subscriber, "expired cursor");
+            return;
+        } catch (RuntimeException e) {
+            disconnect(subscriber, "replay failure");
+            return;
+        }
+        subscriber.replaying = false;
+        scheduleDrain(subscriber);
+    }
+
+    private void scheduleDrain(Subscriber subscriber) {
+        if (subscriber.replaying || !subscriber.draining.compareAndSet(false, true)) return;
+        try {
+            senderExecutor.execute(() -> drain(subscriber));
+        } catch (RejectedExecutionException e) {
+            subscriber.draining.set(false);
+            disconnect(subscriber, "sender rejected");
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            PostChangeDto change;
+            while ((change = subscriber.buffer.poll()) != null) {
+                if (change.sequence() <= subscriber.lastSentSequence) continue;
+                if (!send(subscriber, change)) return;
+            }
+        } finally {
+            subscriber.draining.set(false);
+        }
+        if (!subscriber.buffer.isEmpty()) scheduleDrain(subscriber);
+    }
+
+    private boolean send(Subscriber subscriber, PostChangeDto change) {
+        if (subscriber.eventSink.isClosed()) {
+            subscribers.remove(subscriber);
+            return false;
+        }
+        OutboundSseEvent event = subscriber.sse.newEventBuilder()
+                .id(String.valueOf(change.sequence()))
+                .name(change.type().name().toLowerCase())
+                .mediaType(MediaType.APPLICATION_JSON_TYPE)
+                .data(PostChangeDto.class, change)
+                .build();
+        try {
+            subscriber.eventSink.send(event).toCompletableFuture().get(sendTimeout.toMillis(), TimeUnit.MILLISECONDS);
+            subscriber.lastSentSequence = change.sequence();
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            disconnect(subscriber, "interrupted");
+            return false;
+        } catch (TimeoutException e) {
+            disconnect(subscriber, "send timeout");
+            return false;
+        } catch (ExecutionException | RuntimeException e) {
+            disconnect(subscriber, "send failure");
+            return false;
+        }
+    }
+
+    private void sendReset(Subscriber subscriber) {
+        OutboundSseEvent event = subscriber.sse.newEventBuilder()
+                .name(RESET_EVENT_NAME)
+                .data(String.class, "Changes after the Last-Event-ID are no longer retained")
+                .build();
+        try {
+            subscriber.eventSink.send(event).toCompletableFuture().get(sendTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException | RuntimeException e) {
+            LOGGER.log(Level.FINE, "Failed to send the reset event", e);
+        }
+    }
+
+    private void disconnect(Subscriber subscriber, String reason) {
+        if (!subscribers.remove(subscriber)) return;
+        subscriber.buffer.clear();
+        LOGGER.log(Level.FINE, "Disconnecting post event subscriber: {0}", reason);
+        try {
+            subscriber.eventSink.close();
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.FINE, "Failed to close post event subscriber", e);
+        }
+    }
+
+    private final class Subscriber {
+        private final SseEventSink eventSink;
+        private final Sse sse;
+        private final BlockingQueue<PostChangeDto> buffer = new ArrayBlockingQueue<>(subscriberBufferSize);
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile boolean replaying;
+        private volatile long lastSentSequence;
+
+        private Subscriber(SseEventSink eventSink, Sse sse, long lastEventId) {
+            this.eventSink = eventSink;
+            this.sse = sse;
+            this.replaying = lastEventId >= 0;
+            this.lastSentSequence = lastEventId;
+        }
+    }
+}
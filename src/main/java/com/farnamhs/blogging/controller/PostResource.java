@@ -1,23 +1,46 @@
 package com.farnamhs.blogging.controller;
 
+import com.farnamhs.blogging.dto.ImportReportDto;
+import com.farnamhs.blogging.dto.PostBatchResponseDto;
+import com.farnamhs.blogging.dto.PostChangesResponseDto;
 import com.farnamhs.blogging.dto.PostRequestDto;
 import com.farnamhs.blogging.dto.PostResponseDto;
+import com.farnamhs.blogging.dto.PostStatsDto;
+import com.farnamhs.blogging.dto.RankedPostResponseDto;
+import com.farnamhs.blogging.dto.SuggestionDto;
 import com.farnamhs.blogging.service.PostService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 import jakarta.ws.rs.*;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
 
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
+import java.util.zip.GZIPOutputStream;
 
+import static com.farnamhs.blogging.controller.BinaryJacksonProvider.*;
+import static jakarta.ws.rs.core.HttpHeaders.*;
 import static jakarta.ws.rs.core.Response.*;
 import static jakarta.ws.rs.core.Response.Status.*;
 
 @Singleton
 @Path("/posts")
 public class PostResource {
- 
+
+    public static final String APPLICATION_NDJSON = "application/x-ndjson";
+    public static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+
+    private static final ObjectWriter NDJSON_WRITER = new ObjectMapper().writerFor(PostResponseDto.class);
+    private static final String GZIP_ENCODING = "gzip";
+
     private final PostService postService;
 
     @Inject
@@ -26,17 +49,19 @@ public class PostResource {
     }
 
     @POST
-    @Produces(MediaType.APPLICATION_JSON)
-    @Consumes(MediaType.APPLICATION_JSON)
-    public Response createPost(PostRequestDto postRequestDto) {
-        PostResponseDto createdPostResponse = postService.createPost(postRequestDto);
+    @Produces({MediaType.APPLICATION_JSON, APPLICATION_CBOR, APPLICATION_SMILE})
+    @Consumes({MediaType.APPLICATION_JSON, APPLICATION_CBOR, APPLICATION_SMILE})
+    public Response createPost(@HeaderParam(IDEMPOTENCY_KEY) String idempotencyKey, PostRequestDto postRequestDto) {
+        PostResponseDto createdPostResponse = idempotencyKey == null
+                ? postService.createPost(postRequestDto)
+                : postService.createPost(postRequestDto, idempotencyKey);
         return status(CREATED).entity(createdPostResponse).build();
     }
 
     @PUT
     @Path("{id}")
-    @Produces(MediaType.APPLICATION_JSON)
-    @Consumes(MediaType.APPLICATION_JSON)
+    @Produces({MediaType.APPLICATION_JSON, APPLICATION_CBOR, APPLICATION_SMILE})
+    @Consumes({MediaType.APPLICATION_JSON, APPLICATION_CBOR, APPLICATION_SMILE})
     public Response updatePost(@PathParam("id") long id, PostRequestDto postRequestDto) {
         PostResponseDto updatedPostResponse = postService.updatePost(id, postRequestDto);
         return status(OK).entity(updatedPostResponse).build();
@@ -51,16 +76,132 @@ public class PostResource {
 
     @GET
     @Path("{id}")
-    @Produces(MediaType.APPLICATION_JSON)
-    public Response getPost(@PathParam("id") long id) {
-        PostResponseDto postResponse = postService.getPost(id);
+    @Produces({MediaType.APPLICATION_JSON, APPLICATION_CBOR, APPLICATION_SMILE})
+    public Response getPost(@PathParam("id") long id, @QueryParam("fields") @DefaultValue("") String fields) {
+        PostResponseDto postResponse = fields.isBlank() ? postService.getPost(id) : postService.getPost(id, fields);
         return ok(postResponse).build();
     }
 
     @GET
-    @Produces(MediaType.APPLICATION_JSON)
-    public Response searchPosts(@QueryParam("term") @DefaultValue("") String searchTerm) {
-        List<PostResponseDto> searchedPostsResponse = postService.searchPosts(searchTerm);
+    @Produces({MediaType.APPLICATION_JSON, APPLICATION_CBOR, APPLICATION_SMILE})
+    public Response searchPosts(@QueryParam("term") @DefaultValue("") String searchTerm,
+                                @QueryParam("fields") @DefaultValue("") String fields,
+                                @QueryParam("ids") String ids) {
+        if (ids != null) return getPosts(ids, searchTerm, fields);
+        List<PostResponseDto> searchedPostsResponse = fields.isBlank()
+                ? postService.searchPosts(searchTerm)
+                : postService.searchPosts(searchTerm, fields);
         return ok(searchedPostsResponse).build();
     }
+
+    @GET
+    @Path("search")
+    @Produces({MediaType.APPLICATION_JSON, APPLICATION_CBOR, APPLICATION_SMILE})
+    public Response rankPosts(@QueryParam("q") @DefaultValue("") String query,
+                              @QueryParam("limit") @DefaultValue("10") int limit,
+                              @QueryParam("fuzzy") @DefaultValue("false") boolean fuzzy) {
+        List<RankedPostResponseDto> rankedPostsResponse = postService.rankPosts(query, limit, fuzzy);
+        return ok(rankedPostsResponse).build();
+    }
+
+    @GET
+    @Path("suggest")
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response suggestPosts(@QueryParam("prefix") @DefaultValue("") String prefix,
+                                 @QueryParam("limit") @DefaultValue("10") int limit) {
+        List<SuggestionDto> suggestionsResponse = postService.suggestPosts(prefix, limit);
+        return ok(suggestionsResponse).build();
+    }
+
+    @GET
+    @Path("changes")
+    @Produces({MediaType.APPLICATION_JSON, APPLICATION_CBOR, APPLICATION_SMILE})
+    public Response getChanges(@QueryParam("since") @DefaultValue("0") long since,
+                               @QueryParam("limit") @DefaultValue("100") int limit,
+                               @QueryParam("wait") @DefaultValue("0") int waitSeconds) {
+        PostChangesResponseDto changesResponse = postService.getChanges(since, limit, waitSeconds);
+        return ok(changesResponse).build();
+    }
+
+    @GET
+    @Path("export")
+    @Produces(APPLICATION_NDJSON)
+    public Response exportPosts(@HeaderParam(ACCEPT_ENCODING) @DefaultValue("") String acceptEncoding) {
+        boolean isGzipped = acceptsGzip(acceptEncoding);
+        StreamingOutput exportOutput = outputStream -> writeExport(isGzipped ? new GZIPOutputStream(outputStream) : outputStream);
+        ResponseBuilder response = ok(exportOutput).header(VARY, ACCEPT_ENCODING);
+        if (isGzipped) response.header(CONTENT_ENCODING, GZIP_ENCODING);
+        return response.build();
+    }
+
+    @POST
+    @Path("import")
+    @Produces(MediaType.APPLICATION_JSON)
+    @Consumes(APPLICATION_NDJSON)
+    public Response importPosts(@HeaderParam(IDEMPOTENCY_KEY) String idempotencyKey, InputStream inputStream) {
+        ImportReportDto importReport = idempotencyKey == null
+                ? postService.importPosts(inputStream)
+                : postService.importPosts(inputStream, idempotencyKey);
+        return ok(importReport).build();
+    }
+
+    @GET
+    @Path("stats")
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response getStats() {
+        PostStatsDto statsResponse = postService.getStats();
+        return ok(statsResponse).build();
+    }
+
+    private Response getPosts(String ids, String searchTerm, String fields) {
+        if (!searchTerm.isBlank() || !fields.isBlank())
+            throw new IllegalArgumentException("Post ids cannot be combined with a search term or fields");
+        PostBatchResponseDto postsResponse = postService.getPosts(ids);
+        return ok(postsResponse).build();
+    }
+
+    private void writeExport(OutputStream outputStream) throws IOException {
+        OutputStream bufferedOutputStream = new BufferedOutputStream(outputStream);
+        try {
+            postService.exportPosts(post -> writeLine(bufferedOutputStream, post));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        bufferedOutputStream.flush();
+        if (outputStream instanceof GZIPOutputStream gzipOutputStream) gzipOutputStream.finish();
+    }
+
+    private static void writeLine(OutputStream outputStream, PostResponseDto post) {
+        try {
+            outputStream.write(NDJSON_WRITER.writeValueAsBytes(post));
+            outputStream.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        double gzipQuality = -1;
+        double wildcardQuality = -1;
+        for (String encoding : acceptEncoding.split(",")) {
+            String[] parts = encoding.split(";");
+            String coding = parts[0].strip();
+            if (coding.equalsIgnoreCase(GZIP_ENCODING)) gzipQuality = qualityOf(parts);
+            else if (coding.equals("*")) wildcardQuality = qualityOf(parts);
+        }
+        return (gzipQuality >= 0 ? gzipQuality : wildcardQuality) > 0;
+    }
+
+    private static double qualityOf(String[] encodingParts) {
+        for (int i = 1; i < encodingParts.length; i++) {
+            String parameter = encodingParts[i].strip();
+            if (!parameter.regionMatches(true, 0, "q=", 0, 2)) continue;
+            try {
+                return Double.parseDouble(parameter.substring(2).strip());
+            } catch (NumberFormatException e) {
+                return 0;
+            }
+        }
+        return 1;
+    }
 }
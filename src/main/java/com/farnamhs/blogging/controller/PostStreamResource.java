@@ -0,0 +1,30 @@
+package com.farnamhs.blogging.controller;
+
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.sse.Sse;
+import jakarta.ws.rs.sse.SseEventSink;
+
+import static jakarta.ws.rs.core.HttpHeaders.*;
+
+@Singleton
+@Path("/posts/stream")
+public class PostStreamResource {
+
+    private final PostEventBroadcaster eventBroadcaster;
+
+    @Inject
+    public PostStreamResource(PostEventBroadcaster eventBroadcaster) {
+        this.eventBroadcaster = eventBroadcaster;
+    }
+
+    @GET
+    @Produces(MediaType.SERVER_SENT_EVENTS)
+    public void streamPosts(@Context SseEventSink eventSink, @Context Sse sse,
+                            @HeaderParam(LAST_EVENT_ID_HEADER) @DefaultValue("-1") long lastEventId) {
+        eventBroadcaster.subscribe(eventSink, sse, lastEventId);
+    }
+}
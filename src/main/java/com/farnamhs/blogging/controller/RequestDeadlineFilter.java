@@ -0,0 +1,67 @@
+package com.farnamhs.blogging.controller;
+
+import com.farnamhs.blogging.util.RequestDeadline;
+import jakarta.ws.rs.container.*;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.ext.Provider;
+import jakarta.ws.rs.ext.WriterInterceptor;
+import jakarta.ws.rs.ext.WriterInterceptorContext;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+
+@Provider
+public class RequestDeadlineFilter implements ContainerRequestFilter, ContainerResponseFilter, WriterInterceptor {
+
+    public static final String REQUEST_TIMEOUT = "Request-Timeout";
+
+    private final Duration defaultTimeout;
+    private final Duration maximumTimeout;
+    private final Map<String, Duration> endpointTimeouts;
+
+    @Context
+    private ResourceInfo resourceInfo;
+
+    public RequestDeadlineFilter(Duration defaultTimeout, Duration maximumTimeout, Map<String, Duration> endpointTimeouts) {
+        this.defaultTimeout = defaultTimeout;
+        this.maximumTimeout = maximumTimeout;
+        this.endpointTimeouts = Map.copyOf(endpointTimeouts);
+    }
+
+    @Override
+    public void filter(ContainerRequestContext requestContext) {
+        if (resourceInfo.getResourceMethod() == null) return;
+        String resourceMethod = resourceInfo.getResourceClass().getSimpleName() + "." + resourceInfo.getResourceMethod().getName();
+        Duration timeout = endpointTimeouts.getOrDefault(resourceMethod, defaultTimeout);
+        String requestedTimeout = requestContext.getHeaderString(REQUEST_TIMEOUT);
+        if (requestedTimeout != null) timeout = parseRequestedTimeout(requestedTimeout);
+        if (!timeout.isZero()) RequestDeadline.start(timeout);
+    }
+
+    @Override
+    public void filter(ContainerRequestContext requestContext, ContainerResponseContext responseContext) {
+        if (!responseContext.hasEntity()) RequestDeadline.clear();
+    }
+
+    @Override
+    public void aroundWriteTo(WriterInterceptorContext context) throws IOException {
+        try {
+            context.proceed();
+        } finally {
+            RequestDeadline.clear();
+        }
+    }
+
+    private Duration parseRequestedTimeout(String requestedTimeout) {
+        long timeoutMillis;
+        try {
+            timeoutMillis = Long.parseLong(requestedTimeout.strip());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(REQUEST_TIMEOUT + " must be a number of milliseconds");
+        }
+        if (timeoutMillis < 1) throw new IllegalArgumentException(REQUEST_TIMEOUT + " must be POSITIVE");
+        Duration timeout = Duration.ofMillis(timeoutMillis);
+        return timeout.compareTo(maximumTimeout) > 0 ? maximumTimeout : timeout;
+    }
+}
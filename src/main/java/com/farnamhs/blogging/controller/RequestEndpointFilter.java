@@ -0,0 +1,58 @@
+package com.farnamhs.blogging.controller;
+
+import com.farnamhs.blogging.jfr.RequestEvent;
+import com.farnamhs.blogging.util.RequestEndpoint;
+import jakarta.ws.rs.container.*;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.ext.Provider;
+import jakarta.ws.rs.ext.WriterInterceptor;
+import jakarta.ws.rs.ext.WriterInterceptorContext;
+
+import java.io.IOException;
+
+@Provider
+public class RequestEndpointFilter implements ContainerRequestFilter, ContainerResponseFilter, WriterInterceptor {
+
+    private static final String REQUEST_EVENT_PROPERTY = RequestEvent.class.getName();
+    private static final String STATUS_PROPERTY = RequestEndpointFilter.class.getName() + ".status";
+
+    @Context
+    private ResourceInfo resourceInfo;
+
+    @Override
+    public void filter(ContainerRequestContext requestContext) {
+        if (resourceInfo.getResourceMethod() == null) return;
+        String resourceMethod = resourceInfo.getResourceClass().getSimpleName() + "." + resourceInfo.getResourceMethod().getName();
+        RequestEndpoint.set(requestContext.getMethod() + " " + resourceMethod);
+        if (!RequestEvent.isRecording()) return;
+        RequestEvent event = RequestEvent.start(requestContext.getMethod(), resourceMethod,
+                requestContext.getUriInfo().getPathParameters().getFirst("id"));
+        if (event.isEnabled()) requestContext.setProperty(REQUEST_EVENT_PROPERTY, event);
+    }
+
+    @Override
+    public void filter(ContainerRequestContext requestContext, ContainerResponseContext responseContext) {
+        if (responseContext.hasEntity()) {
+            requestContext.setProperty(STATUS_PROPERTY, responseContext.getStatus());
+            return;
+        }
+        RequestEndpoint.clear();
+        endRequestEvent(requestContext.getProperty(REQUEST_EVENT_PROPERTY), responseContext.getStatus());
+    }
+
+    @Override
+    public void aroundWriteTo(WriterInterceptorContext context) throws IOException {
+        try {
+            context.proceed();
+        } finally {
+            RequestEndpoint.clear();
+            if (context.getProperty(STATUS_PROPERTY) instanceof Integer status) {
+                endRequestEvent(context.getProperty(REQUEST_EVENT_PROPERTY), status);
+            }
+        }
+    }
+
+    private static void endRequestEvent(Object event, int status) {
+        if (event instanceof RequestEvent requestEvent) requestEvent.finish(status);
+    }
+}
@@ -0,0 +1,182 @@
+package com.farnamhs.blogging.dao;
+
+import com.farnamhs.blogging.entity.Post;
+import com.farnamhs.blogging.entity.PostChange;
+import com.farnamhs.blogging.entity.PostCounts;
+import com.farnamhs.blogging.entity.PostField;
+import com.farnamhs.blogging.entity.ProjectedPost;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+public class BatchingPostDao implements PostDao, BatchingPostDaoMBean {
+
+    public static final String OBJECT_NAME = "com.farnamhs.blogging:type=BatchingPostDao";
+
+    private final PostDao postDao;
+    private final long windowNanos;
+    private final int maxBatchSize;
+    private final Object lock = new Object();
+    private final AtomicLong lookups = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+    private Map<Long, CompletableFuture<Optional<Post>>> pendingBatch;
+
+    public BatchingPostDao(PostDao postDao, Duration window, int maxBatchSize) {
+        if (window.isNegative() || window.isZero()) throw new IllegalArgumentException("Batch window must be positive");
+        if (maxBatchSize < 1) throw new IllegalArgumentException("Maximum batch size must be positive");
+        this.postDao = postDao;
+        this.windowNanos = window.toNanos();
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    @Override
+    public Optional<Post> findById(long id) {
+        lookups.incrementAndGet();
+        Map<Long, CompletableFuture<Optional<Post>>> batch;
+        CompletableFuture<Optional<Post>> lookup;
+        boolean leader;
+        synchronized (lock) {
+            leader = pendingBatch == null;
+            if (leader) pendingBatch = new LinkedHashMap<>();
+            batch = pendingBatch;
+            lookup = batch.computeIfAbsent(id, postId -> new CompletableFuture<>());
+            if (batch.size() >= maxBatchSize) {
+                pendingBatch = null;
+                lock.notifyAll();
+            }
+        }
+        if (leader) {
+            awaitBatch(batch);
+            load(batch);
+        }
+        return await(lookup);
+    }
+
+    private void awaitBatch(Map<Long, CompletableFuture<Optional<Post>>> batch) {
+        synchronized (lock) {
+            long deadline = System.nanoTime() + windowNanos;
+            try {
+                long remaining;
+                while (pendingBatch == batch && (remaining = deadline - System.nanoTime()) > 0)
+                    TimeUnit.NANOSECONDS.timedWait(lock, remaining);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                if (pendingBatch == batch) pendingBatch = null;
+            }
+        }
+    }
+
+    private void load(Map<Long, CompletableFuture<Optional<Post>>> batch) {
+        batches.incrementAndGet();
+        try {
+            Map<Long, Post> postsById = postDao.findByIds(new ArrayList<>(batch.keySet())).stream()
+                    .collect(Collectors.toMap(Post::getId, Function.identity()));
+            batch.forEach((postId, lookup) -> lookup.complete(Optional.ofNullable(postsById.get(postId))));
+        } catch (RuntimeException e) {
+            batch.values().forEach(lookup -> lookup.completeExceptionally(e));
+        }
+    }
+
+    private static Optional<Post> await(CompletableFuture<Optional<Post>> lookup) {
+        try {
+            return lookup.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            throw e;
+        }
+    }
+
+    @Override
+    public long getLookups() {
+        return lookups.get();
+    }
+
+    @Override
+    public long getBatches() {
+        return batches.get();
+    }
+
+    @Override
+    public double getAverageBatchSize() {
+        long batchCount = batches.get();
+        return batchCount == 0 ? 0 : (double) lookups.get() / batchCount;
+    }
+
+    @Override
+    public Post save(Post post) {
+        return postDao.save(post);
+    }
+
+    @Override
+    public List<Post> saveAll(List<Post> posts) {
+        return postDao.saveAll(posts);
+    }
+
+    @Override
+    public Optional<Post> update(Post post) {
+        return postDao.update(post);
+    }
+
+    @Override
+    public boolean deleteById(long id) {
+        return postDao.deleteById(id);
+    }
+
+    @Override
+    public Optional<ProjectedPost> findById(long id, Set<PostField> fields) {
+        return postDao.findById(id, fields);
+    }
+
+    @Override
+    public Optional<Post> findLazyById(long id) {
+        return postDao.findLazyById(id);
+    }
+
+    @Override
+    public List<Post> findByIds(List<Long> ids) {
+        return postDao.findByIds(ids);
+    }
+
+    @Override
+    public List<Post> findBySearchTerm(String searchTerm) {
+        return postDao.findBySearchTerm(searchTerm);
+    }
+
+    @Override
+    public List<ProjectedPost> findBySearchTerm(String searchTerm, Set<PostField> fields) {
+        return postDao.findBySearchTerm(searchTerm, fields);
+    }
+
+    @Override
+    public List<PostChange> findChangesSince(long sequence, int limit) {
+        return postDao.findChangesSince(sequence, limit);
+    }
+
+    @Override
+    public long findOldestChangeSequence() {
+        return postDao.findOldestChangeSequence();
+    }
+
+    @Override
+    public void forEachPost(Consumer<Post> action) {
+        postDao.forEachPost(action);
+    }
+
+    @Override
+    public PostCounts countPosts() {
+        return postDao.countPosts();
+    }
+}
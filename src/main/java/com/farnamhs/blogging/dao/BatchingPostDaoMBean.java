@@ -0,0 +1,10 @@
+package com.farnamhs.blogging.dao;
+
+public interface BatchingPostDaoMBean {
+
+    long getLookups();
+
+    long getBatches();
+
+    double getAverageBatchSize();
+}
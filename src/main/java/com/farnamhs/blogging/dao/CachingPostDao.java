@@ -0,0 +1,135 @@
+package com.farnamhs.blogging.dao;
+
+import com.farnamhs.blogging.cache.PostCache;
+import com.farnamhs.blogging.cache.SearchResultCache;
+import com.farnamhs.blogging.entity.Post;
+import com.farnamhs.blogging.entity.PostChange;
+import com.farnamhs.blogging.entity.PostCounts;
+import com.farnamhs.blogging.entity.PostField;
+import com.farnamhs.blogging.entity.ProjectedPost;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+
+public class CachingPostDao implements PostDao {
+
+    private final PostDao postDao;
+    private final SearchResultCache searchResultCache;
+    private final PostCache postCache;
+
+    public CachingPostDao(PostDao postDao, SearchResultCache searchResultCache, PostCache postCache) {
+        this.postDao = postDao;
+        this.searchResultCache = searchResultCache;
+        this.postCache = postCache;
+    }
+
+    @Override
+    public Post save(Post post) {
+        try {
+            return postDao.save(post);
+        } finally {
+            searchResultCache.invalidateAll();
+        }
+    }
+
+    @Override
+    public List<Post> saveAll(List<Post> posts) {
+        try {
+            return postDao.saveAll(posts);
+        } finally {
+            searchResultCache.invalidateAll();
+        }
+    }
+
+    @Override
+    public Optional<Post> update(Post post) {
+        try {
+            return postDao.update(post);
+        } finally {
+            postCache.invalidate(post.getId());
+            searchResultCache.invalidateAll();
+        }
+    }
+
+    @Override
+    public boolean deleteById(long id) {
+        try {
+            return postDao.deleteById(id);
+        } finally {
+            postCache.invalidate(id);
+            searchResultCache.invalidateAll();
+        }
+    }
+
+    @Override
+    public Optional<Post> findById(long id) {
+        Optional<Post> cachedPost = postCache.get(id);
+        if (cachedPost.isPresent()) return cachedPost;
+
+        long version = postCache.currentVersion();
+        Optional<Post> post = postDao.findById(id);
+        post.ifPresent(foundPost -> postCache.put(id, version, foundPost));
+        return post;
+    }
+
+    @Override
+    public Optional<Post> findLazyById(long id) {
+        return postDao.findLazyById(id);
+    }
+
+    @Override
+    public List<Post> findByIds(List<Long> ids) {
+        return postDao.findByIds(ids);
+    }
+
+    @Override
+    public Optional<ProjectedPost> findById(long id, Set<PostField> fields) {
+        Optional<Post> cachedPost = postCache.get(id);
+        if (cachedPost.isPresent()) return cachedPost.map(post -> ProjectedPost.of(post, fields));
+        return postDao.findById(id, fields);
+    }
+
+    @Override
+    public List<Post> findBySearchTerm(String searchTerm) {
+        Optional<List<Post>> cachedPosts = searchResultCache.get(searchTerm);
+        if (cachedPosts.isPresent()) return cachedPosts.get();
+
+        long version = searchResultCache.currentVersion();
+        List<Post> posts = postDao.findBySearchTerm(searchTerm);
+        searchResultCache.put(searchTerm, version, posts);
+        return posts;
+    }
+
+    @Override
+    public List<ProjectedPost> findBySearchTerm(String searchTerm, Set<PostField> fields) {
+        Optional<List<Post>> cachedPosts = searchResultCache.get(searchTerm);
+        if (cachedPosts.isPresent()) {
+            return cachedPosts.get().stream()
+                    .map(post -> ProjectedPost.of(post, fields))
+                    .toList();
+        }
+        return postDao.findBySearchTerm(searchTerm, fields);
+    }
+
+    @Override
+    public List<PostChange> findChangesSince(long sequence, int limit) {
+        return postDao.findChangesSince(sequence, limit);
+    }
+
+    @Override
+    public long findOldestChangeSequence() {
+        return postDao.findOldestChangeSequence();
+    }
+
+    @Override
+    public void forEachPost(Consumer<Post> action) {
+        postDao.forEachPost(action);
+    }
+
+    @Override
+    public PostCounts countPosts() {
+        return postDao.countPosts();
+    }
+}
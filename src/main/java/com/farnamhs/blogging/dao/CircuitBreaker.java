@@ -0,0 +1,190 @@
+package com.farnamhs.blogging.dao;
+
+import com.farnamhs.blogging.exception.DatabaseException;
+import com.farnamhs.blogging.exception.DatabaseUnavailableException;
+import com.farnamhs.blogging.exception.DeadlineExceededException;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+public class CircuitBreaker implements CircuitBreakerMBean {
+
+    public static final String OBJECT_NAME = "com.farnamhs.blogging:type=CircuitBreaker";
+
+    private static final Logger LOGGER = Logger.getLogger(CircuitBreaker.class.getName());
+    private static final Duration HALF_OPEN_RETRY_AFTER = Duration.ofSeconds(1);
+
+    private enum State {CLOSED, OPEN, HALF_OPEN}
+
+    private final Clock clock;
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final Duration slowCallThreshold;
+    private final double slowCallRateThreshold;
+    private final Duration openDuration;
+    private final int halfOpenProbes;
+    private final boolean[] failedCalls;
+    private final boolean[] slowCalls;
+    private final AtomicLong openedCount = new AtomicLong();
+    private final AtomicLong rejectedCalls = new AtomicLong();
+    private int recordedCalls;
+    private int nextCall;
+    private int failures;
+    private int slowCallCount;
+    private State state = State.CLOSED;
+    private long generation;
+    private Instant openedAt;
+    private int probesInFlight;
+    private int succeededProbes;
+
+    public CircuitBreaker(Clock clock, int windowSize, int minimumCalls, double failureRateThreshold,
+                          Duration slowCallThreshold, double slowCallRateThreshold, Duration openDuration,
+                          int halfOpenProbes) {
+        if (windowSize < 1) throw new IllegalArgumentException("Circuit breaker window size must be positive");
+        if (minimumCalls < 1 || minimumCalls > windowSize)
+            throw new IllegalArgumentException("Circuit breaker minimum calls must be between 1 and the window size");
+        if (failureRateThreshold <= 0 || failureRateThreshold > 1 || slowCallRateThreshold <= 0 || slowCallRateThreshold > 1)
+            throw new IllegalArgumentException("Circuit breaker rate thresholds must be between 0 and 1");
+        if (slowCallThreshold.isNegative() || slowCallThreshold.isZero() || openDuration.isNegative() || openDuration.isZero())
+            throw new IllegalArgumentException("Circuit breaker durations must be positive");
+        if (halfOpenProbes < 1) throw new IllegalArgumentException("Circuit breaker half-open probes must be positive");
+        this.clock = clock;
+        this.minimumCalls = minimumCalls;
+        this.failureRateThreshold = failureRateThreshold;
+        this.slowCallThreshold = slowCallThreshold;
+        this.slowCallRateThreshold = slowCallRateThreshold;
+        this.openDuration = openDuration;
+        this.halfOpenProbes = halfOpenProbes;
+        this.failedCalls = new boolean[windowSize];
+        this.slowCalls = new boolean[windowSize];
+    }
+
+    public <T> T execute(Supplier<T> call) {
+        return execute(call, true);
+    }
+
+    public <T> T executeIgnoringLatency(Supplier<T> call) {
+        return execute(call, false);
+    }
+
+    private <T> T execute(Supplier<T> call, boolean timed) {
+        long permittedGeneration = acquirePermission();
+        Instant startedAt = clock.instant();
+        boolean failed = false;
+        try {
+            return call.get();
+        } catch (DatabaseException | DeadlineExceededException e) {
+            failed = true;
+            throw e;
+        } finally {
+            boolean slow = timed && Duration.between(startedAt, clock.instant()).compareTo(slowCallThreshold) >= 0;
+            onCallCompleted(permittedGeneration, failed, slow);
+        }
+    }
+
+    private synchronized long acquirePermission() {
+        if (state == State.OPEN) {
+            Duration openFor = Duration.between(openedAt, clock.instant());
+            if (openFor.compareTo(openDuration) < 0) {
+                rejectedCalls.incrementAndGet();
+                throw new DatabaseUnavailableException("Database is unavailable", openDuration.minus(openFor));
+            }
+            transitionTo(State.HALF_OPEN);
+        }
+        if (state == State.HALF_OPEN) {
+            if (probesInFlight + succeededProbes >= halfOpenProbes) {
+                rejectedCalls.incrementAndGet();
+                throw new DatabaseUnavailableException("Database is unavailable", HALF_OPEN_RETRY_AFTER);
+            }
+            probesInFlight++;
+        }
+        return generation;
+    }
+
+    private synchronized void onCallCompleted(long permittedGeneration, boolean failed, boolean slow) {
+        if (permittedGeneration != generation) return;
+        if (state == State.HALF_OPEN) {
+            probesInFlight--;
+            if (failed || slow) {
+                open();
+            } else if (++succeededProbes >= halfOpenProbes) {
+                transitionTo(State.CLOSED);
+            }
+            return;
+        }
+        record(failed, slow);
+        if (recordedCalls >= minimumCalls && (failureRate() >= failureRateThreshold || slowCallRate() >= slowCallRateThreshold))
+            open();
+    }
+
+    private void record(boolean failed, boolean slow) {
+        if (recordedCalls == failedCalls.length) {
+            if (failedCalls[nextCall]) failures--;
+            if (slowCalls[nextCall]) slowCallCount--;
+        } else {
+            recordedCalls++;
+        }
+        failedCalls[nextCall] = failed;
+        slowCalls[nextCall] = slow;
+        if (failed) failures++;
+        if (slow) slowCallCount++;
+        nextCall = (nextCall + 1) % failedCalls.length;
+    }
+
+    private void open() {
+        openedAt = clock.instant();
+        openedCount.incrementAndGet();
+        transitionTo(State.OPEN);
+    }
+
+    private void transitionTo(State newState) {
+        LOGGER.log(newState == State.OPEN ? Level.WARNING : Level.INFO,
+                "Database circuit breaker changed from {0} to {1}", new Object[]{state, newState});
+        state = newState;
+        generation++;
+        probesInFlight = 0;
+        succeededProbes = 0;
+        recordedCalls = 0;
+        nextCall = 0;
+        failures = 0;
+        slowCallCount = 0;
+    }
+
+    private double failureRate() {
+        return recordedCalls == 0 ? 0 : (double) failures / recordedCalls;
+    }
+
+    private double slowCallRate() {
+        return recordedCalls == 0 ? 0 : (double) slowCallCount / recordedCalls;
+    }
+
+    @Override
+    public synchronized String getState() {
+        return state.name();
+    }
+
+    @Override
+    public synchronized double getFailureRate() {
+        return failureRate();
+    }
+
+    @Override
+    public synchronized double getSlowCallRate() {
+        return slowCallRate();
+    }
+
+    @Override
+    public long getOpenedCount() {
+        return openedCount.get();
+    }
+
+    @Override
+    public long getRejectedCalls() {
+        return rejectedCalls.get();
+    }
+}
@@ -0,0 +1,14 @@
+package com.farnamhs.blogging.dao;
+
+public interface CircuitBreakerMBean {
+
+    String getState();
+
+    double getFailureRate();
+
+    double getSlowCallRate();
+
+    long getOpenedCount();
+
+    long getRejectedCalls();
+}
@@ -0,0 +1,108 @@
+package com.farnamhs.blogging.dao;
+
+import com.farnamhs.blogging.entity.Post;
+import com.farnamhs.blogging.entity.PostChange;
+import com.farnamhs.blogging.entity.PostCounts;
+import com.farnamhs.blogging.entity.PostField;
+import com.farnamhs.blogging.entity.ProjectedPost;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+
+public class CircuitBreakingPostDao implements PostDao {
+
+    private final PostDao postDao;
+    private final CircuitBreaker circuitBreaker;
+
+    public CircuitBreakingPostDao(PostDao postDao, CircuitBreaker circuitBreaker) {
+        this.postDao = postDao;
+        this.circuitBreaker = circuitBreaker;
+    }
+
+    @Override
+    public Post save(Post post) {
+        return circuitBreaker.execute(() -> postDao.save(post));
+    }
+
+    @Override
+    public List<Post> saveAll(List<Post> posts) {
+        return circuitBreaker.execute(() -> postDao.saveAll(posts));
+    }
+
+    @Override
+    public Optional<Post> update(Post post) {
+        return circuitBreaker.execute(() -> postDao.update(post));
+    }
+
+    @Override
+    public boolean deleteById(long id) {
+        return circuitBreaker.execute(() -> postDao.deleteById(id));
+    }
+
+    @Override
+    public Optional<Post> findById(long id) {
+        return circuitBreaker.execute(() -> postDao.findById(id));
+    }
+
+    @Override
+    public Optional<ProjectedPost> findById(long id, Set<PostField> fields) {
+        return circuitBreaker.execute(() -> postDao.findById(id, fields));
+    }
+
+    @Override
+    public Optional<Post> findLazyById(long id) {
+        return circuitBreaker.execute(() -> postDao.findLazyById(id)).map(this::withGuardedLoaders);
+    }
+
+    @Override
+    public List<Post> findByIds(List<Long> ids) {
+        return circuitBreaker.execute(() -> postDao.findByIds(ids));
+    }
+
+    @Override
+    public List<Post> findBySearchTerm(String searchTerm) {
+        return circuitBreaker.execute(() -> postDao.findBySearchTerm(searchTerm));
+    }
+
+    @Override
+    public List<ProjectedPost> findBySearchTerm(String searchTerm, Set<PostField> fields) {
+        return circuitBreaker.execute(() -> postDao.findBySearchTerm(searchTerm, fields));
+    }
+
+    @Override
+    public List<PostChange> findChangesSince(long sequence, int limit) {
+        return circuitBreaker.execute(() -> postDao.findChangesSince(sequence, limit));
+    }
+
+    @Override
+    public long findOldestChangeSequence() {
+        return circuitBreaker.execute(() -> postDao.findOldestChangeSequence());
+    }
+
+    @Override
+    public void forEachPost(Consumer<Post> action) {
+        circuitBreaker.executeIgnoringLatency(() -> {
+            postDao.forEachPost(action);
+            return null;
+        });
+    }
+
+    @Override
+    public PostCounts countPosts() {
+        return circuitBreaker.execute(() -> postDao.countPosts());
+    }
+
+    private Post withGuardedLoaders(Post post) {
+        return Post.lazy(
+                post.getId(),
+                post.getTitle(),
+                () -> circuitBreaker.execute(post::getContent),
+                post.getCategory(),
+                () -> circuitBreaker.execute(post::getTags),
+                post.getCreatedAt(),
+                post.getUpdatedAt()
+        );
+    }
+}
@@ -0,0 +1,34 @@
+package com.farnamhs.blogging.dao;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+public class LazyLoadMetrics implements LazyLoadMetricsMBean {
+
+    public static final String OBJECT_NAME = "com.farnamhs.blogging:type=LazyLoadMetrics";
+
+    private final AtomicLong deferredLoads = new AtomicLong();
+    private final AtomicLong performedLoads = new AtomicLong();
+
+    void recordDeferred(int loads) {
+        deferredLoads.addAndGet(loads);
+    }
+
+    void recordPerformed() {
+        performedLoads.incrementAndGet();
+    }
+
+    @Override
+    public long getDeferredLoads() {
+        return deferredLoads.get();
+    }
+
+    @Override
+    public long getPerformedLoads() {
+        return performedLoads.get();
+    }
+
+    @Override
+    public long getSkippedLoads() {
+        return Math.max(0, deferredLoads.get() - performedLoads.get());
+    }
+}
@@ -0,0 +1,10 @@
+package com.farnamhs.blogging.dao;
+
+public interface LazyLoadMetricsMBean {
+
+    long getDeferredLoads();
+
+    long getPerformedLoads();
+
+    long getSkippedLoads();
+}
@@ -0,0 +1,12 @@
+package com.farnamhs.blogging.dao;
+
+import com.farnamhs.blogging.entity.Post;
+import com.farnamhs.blogging.entity.PostChange;
+
+import java.util.Optional;
+
+@FunctionalInterface
+public interface PostChangeListener {
+
+    void onChange(PostChange change, Optional<Post> previousPost);
+}
@@ -0,0 +1,12 @@
+package com.farnamhs.blogging.dao;
+
+import com.farnamhs.blogging.entity.ChangedPost;
+
+import java.util.List;
+
+public interface PostChangeLogDao {
+
+    long findLatestChangeSequence();
+
+    List<ChangedPost> findChangedPostsSince(long sequence, int limit);
+}
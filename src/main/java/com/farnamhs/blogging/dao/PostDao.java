@@ -1,19 +1,43 @@
 package com.farnamhs.blogging.dao;
 
 import com.farnamhs.blogging.entity.Post;
+import com.farnamhs.blogging.entity.PostChange;
+import com.farnamhs.blogging.entity.PostCounts;
+import com.farnamhs.blogging.entity.PostField;
+import com.farnamhs.blogging.entity.ProjectedPost;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 
 public interface PostDao {
 
     Post save(Post post);
 
+    List<Post> saveAll(List<Post> posts);
+
     Optional<Post> update(Post post);
 
     boolean deleteById(long id);
 
     Optional<Post> findById(long id);
 
+    Optional<ProjectedPost> findById(long id, Set<PostField> fields);
+
+    Optional<Post> findLazyById(long id);
+
+    List<Post> findByIds(List<Long> ids);
+
     List<Post> findBySearchTerm(String searchTerm);
+
+    List<ProjectedPost> findBySearchTerm(String searchTerm, Set<PostField> fields);
+
+    List<PostChange> findChangesSince(long sequence, int limit);
+
+    long findOldestChangeSequence();
+
+    void forEachPost(Consumer<Post> action);
+
+    PostCounts countPosts();
 }
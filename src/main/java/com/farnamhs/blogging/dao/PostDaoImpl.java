@@ -1,123 +1,569 @@
 package com.farnamhs.blogging.dao;
 
+import com.farnamhs.blogging.entity.ChangedPost;
 import com.farnamhs.blogging.entity.Post;
+import com.farnamhs.blogging.entity.PostChange;
+import com.farnamhs.blogging.entity.PostChangeType;
+import com.farnamhs.blogging.entity.PostCounts;
+import com.farnamhs.blogging.entity.PostField;
+import com.farnamhs.blogging.entity.ProjectedPost;
+import com.farnamhs.blogging.entity.TombstoneStats;
 import com.farnamhs.blogging.exception.DatabaseException;
+import com.farnamhs.blogging.exception.DeadlineExceededException;
+import com.farnamhs.blogging.jfr.DaoOperationEvent;
+import com.farnamhs.blogging.util.RequestDeadline;
 
 import java.sql.*;
+import java.time.Clock;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static java.sql.PreparedStatement.*;
 
-public class PostDaoImpl implements PostDao {
+public class PostDaoImpl implements PostDao, PostPurgeDao, PostChangeLogDao {
+
+    private static final Logger LOGGER = Logger.getLogger(PostDaoImpl.class.getName());
 
     private static final String INSERT_POST_SQL = "INSERT INTO posts" +
             " (title, content, category, created_at, updated_at) VALUES (?, ?, ?, ?, ?)";
     private static final String INSERT_POST_TAG_SQL = "INSERT INTO post_tags" +
             " (post_id, tag_name) VALUES (?, ?)";
     private static final String UPDATE_POST_SQL = "UPDATE posts" +
-            " SET title = ?, content = ?, category = ?, updated_at = ? WHERE id = ?";
-    private static final String DELETE_POST_SQL = "DELETE FROM posts" +
-            " WHERE id = ?";
+            " SET title = ?, content = ?, category = ?, updated_at = ? WHERE id = ? AND deleted_at IS NULL";
+    private static final String SOFT_DELETE_POST_SQL = "UPDATE posts" +
+            " SET deleted_at = ? WHERE id = ? AND deleted_at IS NULL";
     private static final String DELETE_POST_TAGS_SQL = "DELETE FROM post_tags" +
             " WHERE post_id = ?";
     private static final String SELECT_POST_SQL = "SELECT * FROM posts" +
-            " WHERE id = ?";
+            " WHERE id = ? AND deleted_at IS NULL";
     private static final String SELECT_POSTS_LIKE_SQL = "SELECT * FROM posts" +
-            " WHERE title LIKE ? OR content LIKE ? OR category LIKE ?";
+            " WHERE deleted_at IS NULL AND (title LIKE ? OR content LIKE ? OR category LIKE ?)";
+    private static final String SELECT_POSTS_BY_IDS_SQL = "SELECT * FROM posts" +
+            " WHERE id IN (%s) AND deleted_at IS NULL";
     private static final String SELECT_POST_TAGS_NAMES = "SELECT tag_name FROM post_tags" +
             " WHERE post_id = ?";
+    private static final String SELECT_POST_FIELDS_SQL = "SELECT %s FROM posts" +
+            " WHERE id = ? AND deleted_at IS NULL";
+    private static final String SELECT_POSTS_FIELDS_LIKE_SQL = "SELECT %s FROM posts" +
+            " WHERE deleted_at IS NULL AND (title LIKE ? OR content LIKE ? OR category LIKE ?)";
+    private static final Set<PostField> LAZY_POST_FIELDS =
+            EnumSet.of(PostField.TITLE, PostField.CATEGORY, PostField.CREATED_AT, PostField.UPDATED_AT);
+    private static final int LAZY_FIELD_COUNT = 2;
+    private static final Map<String, Set<Integer>> REDACTED_PARAMETERS = Map.of(
+            "INSERT_POST_SQL", Set.of(2),
+            "UPDATE_POST_SQL", Set.of(2)
+    );
+    private static final Duration DEFAULT_SLOW_STATEMENT_THRESHOLD = Duration.ofMillis(500);
+    private static final int MAX_IN_LIST_SIZE = 1000;
+    private static final String SELECT_POSTS_TAGS_NAMES = "SELECT post_id, tag_name FROM post_tags" +
+            " WHERE post_id IN (%s) ORDER BY post_id, tag_name";
+    private static final String SELECT_ALL_POSTS_SQL = "SELECT * FROM posts" +
+            " WHERE deleted_at IS NULL ORDER BY id";
+    private static final String SELECT_ALL_POST_TAGS_SQL = "SELECT post_id, tag_name FROM post_tags" +
+            " ORDER BY post_id, tag_name";
+    private static final int STREAM_FETCH_SIZE = 1000;
+    private static final String MYSQL_URL_PREFIX = "jdbc:mysql:";
+    private static final String MYSQL_CURSOR_FETCH_PROPERTY = "useCursorFetch";
+    private static final String COUNT_POSTS_SQL = "SELECT COUNT(*) FROM posts" +
+            " WHERE deleted_at IS NULL";
+    private static final String COUNT_POSTS_BY_CATEGORY_SQL = "SELECT category, COUNT(*) FROM posts" +
+            " WHERE deleted_at IS NULL GROUP BY category";
+    private static final String COUNT_POSTS_BY_TAG_SQL = "SELECT t.tag_name, COUNT(*) FROM post_tags t" +
+            " JOIN posts p ON p.id = t.post_id WHERE p.deleted_at IS NULL GROUP BY t.tag_name";
+    private static final String RESERVE_CHANGE_SEQUENCES_SQL = "UPDATE post_change_sequence" +
+            " SET last_seq = last_seq + ? WHERE id = 1";
+    private static final String SELECT_CHANGE_SEQUENCE_SQL = "SELECT last_seq FROM post_change_sequence" +
+            " WHERE id = 1";
+    private static final String INSERT_POST_CHANGE_SQL = "INSERT INTO post_changes" +
+            " (seq, post_id, change_type, changed_at) VALUES (?, ?, ?, ?)";
+    private static final String SELECT_POST_CHANGES_SQL = "SELECT c.seq, c.post_id, c.change_type, c.changed_at," +
+            " p.id, p.title, p.content, p.category, p.created_at, p.updated_at FROM post_changes c" +
+            " LEFT JOIN posts p ON p.id = c.post_id AND p.deleted_at IS NULL WHERE c.seq > ? ORDER BY c.seq LIMIT ?";
+    private static final String SELECT_CHANGED_POST_IDS_SQL = "SELECT seq, post_id FROM post_changes" +
+            " WHERE seq > ? ORDER BY seq LIMIT ?";
+    private static final String SELECT_TOMBSTONED_POST_IDS_SQL = "SELECT id FROM posts" +
+            " WHERE deleted_at IS NOT NULL ORDER BY deleted_at, id LIMIT ?";
+    private static final String PURGE_POSTS_SQL = "DELETE FROM posts" +
+            " WHERE id IN (%s) AND deleted_at IS NOT NULL";
+    private static final String SELECT_TOMBSTONE_STATS_SQL = "SELECT COUNT(*), MIN(deleted_at) FROM posts" +
+            " WHERE deleted_at IS NOT NULL";
+    private static final String SELECT_OLDEST_CHANGES_SQL = "SELECT seq, changed_at FROM post_changes" +
+            " ORDER BY seq LIMIT ?";
+    private static final String PURGE_CHANGES_SQL = "DELETE FROM post_changes" +
+            " WHERE seq <= ?";
+    private static final String SELECT_OLDEST_CHANGE_SEQUENCE_SQL = "SELECT COALESCE((SELECT MIN(seq) FROM post_changes)," +
+            " last_seq + 1) FROM post_change_sequence WHERE id = 1";
 
     private final String url;
+    private final Clock clock;
+    private final LazyLoadMetrics lazyLoadMetrics;
+    private final StatementProfiler statementProfiler;
+    private final List<PostChangeListener> changeListeners = new CopyOnWriteArrayList<>();
 
     public PostDaoImpl(String url) {
-        this.url = url;
+        this(url, Clock.systemUTC());
+    }
+
+    public PostDaoImpl(String url, Clock clock) {
+        this(url, clock, new LazyLoadMetrics());
+    }
+
+    public PostDaoImpl(String url, Clock clock, LazyLoadMetrics lazyLoadMetrics) {
+        this(url, clock, lazyLoadMetrics, new StatementProfiler(DEFAULT_SLOW_STATEMENT_THRESHOLD));
+    }
+
+    public PostDaoImpl(String url, Clock clock, LazyLoadMetrics lazyLoadMetrics, StatementProfiler statementProfiler) {
+        this.url = withCursorFetch(url);
+        this.clock = clock;
+        this.lazyLoadMetrics = lazyLoadMetrics;
+        this.statementProfiler = statementProfiler;
+    }
+
+    private static String withCursorFetch(String url) {
+        if (!url.startsWith(MYSQL_URL_PREFIX) || url.contains(MYSQL_CURSOR_FETCH_PROPERTY)) return url;
+        return url + (url.contains("?") ? "&" : "?") + MYSQL_CURSOR_FETCH_PROPERTY + "=true";
+    }
+
+    public void addChangeListener(PostChangeListener changeListener) {
+        changeListeners.add(changeListener);
+    }
+
+    private Connection getConnection(DaoOperationEvent event) throws SQLException {
+        remainingQueryTimeoutSeconds();
+        if (!event.isEnabled()) return DriverManager.getConnection(url);
+        long startedAt = System.nanoTime();
+        Connection connection = DriverManager.getConnection(url);
+        event.addConnectionWait(System.nanoTime() - startedAt);
+        return connection;
+    }
+
+    private PreparedStatement profiled(String sqlId, PreparedStatement statement) throws SQLException {
+        try {
+            OptionalInt queryTimeoutSeconds = remainingQueryTimeoutSeconds();
+            if (queryTimeoutSeconds.isPresent()) statement.setQueryTimeout(queryTimeoutSeconds.getAsInt());
+        } catch (RuntimeException | SQLException e) {
+            statement.close();
+            throw e;
+        }
+        return statementProfiler.profile(sqlId, statement, REDACTED_PARAMETERS.getOrDefault(sqlId, Set.of()));
     }
 
-    private Connection getConnection() throws SQLException {
-        return DriverManager.getConnection(url);
+    private static OptionalInt remainingQueryTimeoutSeconds() {
+        Optional<Duration> remaining = RequestDeadline.remaining();
+        if (remaining.isEmpty()) return OptionalInt.empty();
+        if (remaining.get().isNegative() || remaining.get().isZero())
+            throw new DeadlineExceededException("Request deadline exceeded");
+        return OptionalInt.of((int) Math.min(Integer.MAX_VALUE, (remaining.get().toMillis() + 999) / 1000));
+    }
+
+    private static RuntimeException databaseException(String message, SQLException e) {
+        if (e instanceof SQLTimeoutException) return new DeadlineExceededException("Request deadline exceeded", e);
+        return new DatabaseException(message, e);
     }
 
     @Override
     public Post save(Post post) {
-        try (Connection connection = getConnection()) {
+        DaoOperationEvent event = DaoOperationEvent.start("save");
+        try (Connection connection = getConnection(event)) {
             connection.setAutoCommit(false);
 
             long postId = insertPost(connection, post);
             insertPostTags(connection, postId, post.getTags());
             Post savedPost = fetchPost(connection, postId).orElseThrow();
+            PostChange change = insertPostChange(connection, savedPost.getId(), PostChangeType.CREATED,
+                    savedPost.getUpdatedAt(), savedPost);
 
             connection.commit();
 
+            notifyChangeListeners(change, Optional.empty());
+            event.addRows(1);
             return savedPost;
         } catch (NoSuchElementException e) {
             throw new DatabaseException("Unable to find the saved post", e);
         } catch (SQLException e) {
-            throw new DatabaseException("Failed to save the post", e);
+            throw databaseException("Failed to save the post", e);
+        } finally {
+            event.finish();
+        }
+    }
+
+    @Override
+    public List<Post> saveAll(List<Post> posts) {
+        if (posts.isEmpty()) return List.of();
+        DaoOperationEvent event = DaoOperationEvent.start("saveAll");
+        try (Connection connection = getConnection(event)) {
+            connection.setAutoCommit(false);
+
+            List<Post> savedPosts = insertPosts(connection, posts);
+            insertPostsTags(connection, savedPosts);
+            List<PostChange> changes = insertPostChanges(connection, savedPosts);
+
+            connection.commit();
+
+            changes.forEach(change -> notifyChangeListeners(change, Optional.empty()));
+            event.addRows(savedPosts.size());
+            return savedPosts;
+        } catch (SQLException e) {
+            throw databaseException("Failed to save the posts", e);
+        } finally {
+            event.finish();
         }
     }
 
     @Override
     public Optional<Post> update(Post post) {
-        try (Connection connection = getConnection()) {
+        DaoOperationEvent event = DaoOperationEvent.start("update");
+        try (Connection connection = getConnection(event)) {
             connection.setAutoCommit(false);
 
+            Optional<Post> previousPost = fetchPost(connection, post.getId());
+            if (previousPost.isEmpty()) return Optional.empty();
             boolean isAffected = updatePost(connection, post);
             if (!isAffected) return Optional.empty();
             deletePostTags(connection, post.getId());
             insertPostTags(connection, post.getId(), post.getTags());
             Optional<Post> updatedPost = fetchPost(connection, post.getId());
             if (updatedPost.isEmpty()) throw new DatabaseException("Unable to find the updated post");
+            PostChange change = insertPostChange(connection, post.getId(), PostChangeType.UPDATED,
+                    updatedPost.get().getUpdatedAt(), updatedPost.get());
 
             connection.commit();
 
+            notifyChangeListeners(change, previousPost);
+            event.addRows(1);
             return updatedPost;
         } catch (SQLException e) {
-            throw new DatabaseException("Failed to update the post", e);
+            throw databaseException("Failed to update the post", e);
+        } finally {
+            event.finish();
         }
     }
 
     @Override
     public boolean deleteById(long id) {
-        try (Connection connection = getConnection()) {
-            return deletePost(connection, id);
+        DaoOperationEvent event = DaoOperationEvent.start("deleteById");
+        try (Connection connection = getConnection(event)) {
+            connection.setAutoCommit(false);
+
+            Optional<Post> deletedPost = fetchPost(connection, id);
+            Instant deletedAt = Instant.now(clock);
+            boolean isDeleted = deletePost(connection, id, deletedAt);
+            if (!isDeleted) return false;
+            PostChange change = insertPostChange(connection, id, PostChangeType.DELETED, deletedAt, null);
+
+            connection.commit();
+
+            notifyChangeListeners(change, deletedPost);
+            event.addRows(1);
+            return true;
         } catch (SQLException e) {
-            throw new DatabaseException("Failed to delete the post", e);
+            throw databaseException("Failed to delete the post", e);
+        } finally {
+            event.finish();
         }
     }
 
     @Override
     public Optional<Post> findById(long id) {
-        try (Connection connection = getConnection()) {
+        DaoOperationEvent event = DaoOperationEvent.start("findById");
+        try (Connection connection = getConnection(event)) {
             connection.setAutoCommit(false);
 
             Optional<Post> post = fetchPost(connection, id);
 
             connection.commit();
 
+            event.addRows(post.isPresent() ? 1 : 0);
+            return post;
+        } catch (SQLException e) {
+            throw databaseException("Failed to find the post", e);
+        } finally {
+            event.finish();
+        }
+    }
+
+    @Override
+    public Optional<ProjectedPost> findById(long id, Set<PostField> fields) {
+        DaoOperationEvent event = DaoOperationEvent.start("findProjectedById");
+        try (Connection connection = getConnection(event)) {
+            connection.setAutoCommit(false);
+
+            Optional<ProjectedPost> post = fetchProjectedPost(connection, id, fields);
+
+            connection.commit();
+
+            event.addRows(post.isPresent() ? 1 : 0);
             return post;
         } catch (SQLException e) {
-            throw new DatabaseException("Failed to find the post", e);
+            throw databaseException("Failed to find the post", e);
+        } finally {
+            event.finish();
+        }
+    }
+
+    @Override
+    public Optional<Post> findLazyById(long id) {
+        Optional<ProjectedPost> post = findById(id, LAZY_POST_FIELDS);
+        post.ifPresent(projectedPost -> lazyLoadMetrics.recordDeferred(LAZY_FIELD_COUNT));
+        return post.map(projectedPost -> Post.lazy(
+                projectedPost.id(),
+                projectedPost.title(),
+                () -> loadField(projectedPost.id(), PostField.CONTENT).content(),
+                projectedPost.category(),
+                () -> loadField(projectedPost.id(), PostField.TAGS).tags(),
+                projectedPost.createdAt(),
+                projectedPost.updatedAt()
+        ));
+    }
+
+    @Override
+    public List<Post> findByIds(List<Long> ids) {
+        if (ids.isEmpty()) return List.of();
+        DaoOperationEvent event = DaoOperationEvent.start("findByIds");
+        try (Connection connection = getConnection(event)) {
+            connection.setAutoCommit(false);
+
+            List<Post> posts = fetchPostsByIds(connection, ids);
+
+            connection.commit();
+
+            event.addRows(posts.size());
+            return posts;
+        } catch (SQLException e) {
+            throw databaseException("Failed to find the posts", e);
+        } finally {
+            event.finish();
         }
     }
 
     @Override
     public List<Post> findBySearchTerm(String searchTerm) {
-        try (Connection connection = getConnection()) {
+        DaoOperationEvent event = DaoOperationEvent.start("findBySearchTerm");
+        try (Connection connection = getConnection(event)) {
             connection.setAutoCommit(false);
 
             List<Post> posts = fetchPosts(connection, searchTerm);
 
             connection.commit();
 
+            event.addRows(posts.size());
             return posts;
         } catch (SQLException e) {
-            throw new DatabaseException("Failed to find the posts", e);
+            throw databaseException("Failed to find the posts", e);
+        } finally {
+            event.finish();
+        }
+    }
+
+    @Override
+    public List<ProjectedPost> findBySearchTerm(String searchTerm, Set<PostField> fields) {
+        DaoOperationEvent event = DaoOperationEvent.start("findProjectedBySearchTerm");
+        try (Connection connection = getConnection(event)) {
+            connection.setAutoCommit(false);
+
+            List<ProjectedPost> posts = fetchProjectedPosts(connection, searchTerm, fields);
+
+            connection.commit();
+
+            event.addRows(posts.size());
+            return posts;
+        } catch (SQLException e) {
+            throw databaseException("Failed to find the posts", e);
+        } finally {
+            event.finish();
+        }
+    }
+
+    @Override
+    public List<PostChange> findChangesSince(long sequence, int limit) {
+        DaoOperationEvent event = DaoOperationEvent.start("findChangesSince");
+        try (Connection connection = getConnection(event)) {
+            connection.setAutoCommit(false);
+
+            List<PostChange> changes = fetchChanges(connection, sequence, limit);
+
+            connection.commit();
+
+            event.addRows(changes.size());
+            return changes;
+        } catch (SQLException e) {
+            throw databaseException("Failed to find the post changes", e);
+        } finally {
+            event.finish();
+        }
+    }
+
+    @Override
+    public long findOldestChangeSequence() {
+        DaoOperationEvent event = DaoOperationEvent.start("findOldestChangeSequence");
+        try (Connection connection = getConnection(event);
+             PreparedStatement selectStatement = profiled("SELECT_OLDEST_CHANGE_SEQUENCE_SQL",
+                     connection.prepareStatement(SELECT_OLDEST_CHANGE_SEQUENCE_SQL));
+             ResultSet resultSet = selectStatement.executeQuery()) {
+            if (!resultSet.next()) throw new DatabaseException("Unable to find the post change sequence");
+            event.addRows(1);
+            return resultSet.getLong(1);
+        } catch (SQLException e) {
+            throw databaseException("Failed to read the oldest post change sequence", e);
+        } finally {
+            event.finish();
+        }
+    }
+
+    @Override
+    public long findLatestChangeSequence() {
+        DaoOperationEvent event = DaoOperationEvent.start("findLatestChangeSequence");
+        try (Connection connection = getConnection(event);
+             PreparedStatement selectStatement = profiled("SELECT_CHANGE_SEQUENCE_SQL",
+                     connection.prepareStatement(SELECT_CHANGE_SEQUENCE_SQL));
+             ResultSet resultSet = selectStatement.executeQuery()) {
+            if (!resultSet.next()) throw new DatabaseException("Unable to find the post change sequence");
+            event.addRows(1);
+            return resultSet.getLong(1);
+        } catch (SQLException e) {
+            throw databaseException("Failed to read the post change sequence", e);
+        } finally {
+            event.finish();
+        }
+    }
+
+    @Override
+    public List<ChangedPost> findChangedPostsSince(long sequence, int limit) {
+        DaoOperationEvent event = DaoOperationEvent.start("findChangedPostsSince");
+        try (Connection connection = getConnection(event);
+             PreparedStatement selectStatement = profiled("SELECT_CHANGED_POST_IDS_SQL",
+                     connection.prepareStatement(SELECT_CHANGED_POST_IDS_SQL))) {
+            selectStatement.setLong(1, sequence);
+            selectStatement.setInt(2, limit);
+            List<ChangedPost> changedPosts = new ArrayList<>();
+            try (ResultSet resultSet = selectStatement.executeQuery()) {
+                while (resultSet.next())
+                    changedPosts.add(new ChangedPost(resultSet.getLong("seq"), resultSet.getLong("post_id")));
+            }
+            event.addRows(changedPosts.size());
+            return changedPosts;
+        } catch (SQLException e) {
+            throw databaseException("Failed to find the changed posts", e);
+        } finally {
+            event.finish();
+        }
+    }
+
+    @Override
+    public void forEachPost(Consumer<Post> action) {
+        DaoOperationEvent event = DaoOperationEvent.start("forEachPost");
+        try (Connection connection = getConnection(event)) {
+            connection.setAutoCommit(false);
+            connection.setReadOnly(true);
+
+            streamPosts(connection, event.isEnabled() ? post -> {
+                event.addRows(1);
+                action.accept(post);
+            } : action);
+
+            connection.commit();
+        } catch (SQLException e) {
+            throw databaseException("Failed to stream the posts", e);
+        } finally {
+            event.finish();
+        }
+    }
+
+    @Override
+    public PostCounts countPosts() {
+        DaoOperationEvent event = DaoOperationEvent.start("countPosts");
+        try (Connection connection = getConnection(event)) {
+            connection.setAutoCommit(false);
+            connection.setReadOnly(true);
+
+            PostCounts counts = new PostCounts(
+                    selectCount(connection),
+                    selectGroupCounts(connection, "COUNT_POSTS_BY_CATEGORY_SQL", COUNT_POSTS_BY_CATEGORY_SQL),
+                    selectGroupCounts(connection, "COUNT_POSTS_BY_TAG_SQL", COUNT_POSTS_BY_TAG_SQL)
+            );
+
+            connection.commit();
+
+            event.addRows(1 + counts.byCategory().size() + counts.byTag().size());
+            return counts;
+        } catch (SQLException e) {
+            throw databaseException("Failed to count the posts", e);
+        } finally {
+            event.finish();
+        }
+    }
+
+    @Override
+    public int purgeDeletedPosts(int limit) {
+        if (limit < 1) throw new IllegalArgumentException("Purge limit must be positive");
+        DaoOperationEvent event = DaoOperationEvent.start("purgeDeletedPosts");
+        try (Connection connection = getConnection(event)) {
+            connection.setAutoCommit(false);
+
+            List<Long> postIds = selectTombstonedPostIds(connection, Math.min(limit, MAX_IN_LIST_SIZE));
+            int purged = postIds.isEmpty() ? 0 : purgePosts(connection, postIds);
+
+            connection.commit();
+
+            event.addRows(purged);
+            return purged;
+        } catch (SQLException e) {
+            throw databaseException("Failed to purge the deleted posts", e);
+        } finally {
+            event.finish();
+        }
+    }
+
+    @Override
+    public int purgeChangesBefore(Instant cutoff, int limit) {
+        if (limit < 1) throw new IllegalArgumentException("Purge limit must be positive");
+        DaoOperationEvent event = DaoOperationEvent.start("purgeChangesBefore");
+        try (Connection connection = getConnection(event)) {
+            connection.setAutoCommit(false);
+
+            long lastSequence = selectLastExpiredChangeSequence(connection, cutoff, limit);
+            int purged = lastSequence == 0 ? 0 : purgeChanges(connection, lastSequence);
+
+            connection.commit();
+
+            event.addRows(purged);
+            return purged;
+        } catch (SQLException e) {
+            throw databaseException("Failed to purge the expired post changes", e);
+        } finally {
+            event.finish();
+        }
+    }
+
+    @Override
+    public TombstoneStats getTombstoneStats() {
+        DaoOperationEvent event = DaoOperationEvent.start("getTombstoneStats");
+        try (Connection connection = getConnection(event);
+             PreparedStatement selectStatement = profiled("SELECT_TOMBSTONE_STATS_SQL",
+                     connection.prepareStatement(SELECT_TOMBSTONE_STATS_SQL));
+             ResultSet resultSet = selectStatement.executeQuery()) {
+            resultSet.next();
+            Timestamp oldestDeletedAt = resultSet.getTimestamp(2);
+            event.addRows(1);
+            return new TombstoneStats(resultSet.getLong(1),
+                    Optional.ofNullable(oldestDeletedAt).map(Timestamp::toInstant));
+        } catch (SQLException e) {
+            throw databaseException("Failed to read the deleted posts", e);
+        } finally {
+            event.finish();
         }
     }
 
     private long insertPost(Connection connection, Post post) throws SQLException {
-        try (PreparedStatement insertStatement = connection.prepareStatement(INSERT_POST_SQL, RETURN_GENERATED_KEYS)) {
+        try (PreparedStatement insertStatement = profiled("INSERT_POST_SQL",
+                connection.prepareStatement(INSERT_POST_SQL, RETURN_GENERATED_KEYS))) {
             insertStatement.setString(1, post.getTitle());
             insertStatement.setString(2, post.getContent());
             insertStatement.setString(3, post.getCategory());
@@ -131,8 +577,47 @@ public class PostDaoImpl implements PostDao {
         }
     }
 
+    private List<Post> insertPosts(Connection connection, List<Post> posts) throws SQLException {
+        try (PreparedStatement insertStatement = profiled("INSERT_POST_SQL",
+                connection.prepareStatement(INSERT_POST_SQL, RETURN_GENERATED_KEYS))) {
+            for (Post post : posts) {
+                insertStatement.setString(1, post.getTitle());
+                insertStatement.setString(2, post.getContent());
+                insertStatement.setString(3, post.getCategory());
+                insertStatement.setObject(4, post.getCreatedAt());
+                insertStatement.setObject(5, post.getUpdatedAt());
+                insertStatement.addBatch();
+            }
+            insertStatement.executeBatch();
+            List<Post> savedPosts = new ArrayList<>(posts.size());
+            try (ResultSet generatedKeys = insertStatement.getGeneratedKeys()) {
+                for (Post post : posts) {
+                    if (!generatedKeys.next()) throw new DatabaseException("Unable to find the saved posts");
+                    savedPosts.add(new Post(generatedKeys.getLong(1), post.getTitle(), post.getContent(),
+                            post.getCategory(), post.getTags(), post.getCreatedAt(), post.getUpdatedAt()));
+                }
+            }
+            return savedPosts;
+        }
+    }
+
+    private void insertPostsTags(Connection connection, List<Post> posts) throws SQLException {
+        try (PreparedStatement insertStatement = profiled("INSERT_POST_TAG_SQL",
+                connection.prepareStatement(INSERT_POST_TAG_SQL))) {
+            for (Post post : posts) {
+                for (String tag : post.getTags()) {
+                    insertStatement.setLong(1, post.getId());
+                    insertStatement.setString(2, tag);
+                    insertStatement.addBatch();
+                }
+            }
+            insertStatement.executeBatch();
+        }
+    }
+
     private void insertPostTags(Connection connection, long postId, List<String> tags) throws SQLException {
-        try (PreparedStatement insertStatement = connection.prepareStatement(INSERT_POST_TAG_SQL)) {
+        try (PreparedStatement insertStatement = profiled("INSERT_POST_TAG_SQL",
+                connection.prepareStatement(INSERT_POST_TAG_SQL))) {
             for (String tag : tags) {
                 insertStatement.setLong(1, postId);
                 insertStatement.setString(2, tag);
@@ -143,7 +628,7 @@ public class PostDaoImpl implements PostDao {
     }
 
     private boolean updatePost(Connection connection, Post updatedPost) throws SQLException {
-        try (PreparedStatement updateStatement = connection.prepareStatement(UPDATE_POST_SQL)) {
+        try (PreparedStatement updateStatement = profiled("UPDATE_POST_SQL", connection.prepareStatement(UPDATE_POST_SQL))) {
             updateStatement.setString(1, updatedPost.getTitle());
             updateStatement.setString(2, updatedPost.getContent());
             updateStatement.setString(3, updatedPost.getCategory());
@@ -154,21 +639,70 @@ public class PostDaoImpl implements PostDao {
     }
 
     private void deletePostTags(Connection connection, long postId) throws SQLException {
-        try (PreparedStatement deleteStatement = connection.prepareStatement(DELETE_POST_TAGS_SQL)) {
+        try (PreparedStatement deleteStatement = profiled("DELETE_POST_TAGS_SQL",
+                connection.prepareStatement(DELETE_POST_TAGS_SQL))) {
             deleteStatement.setLong(1, postId);
             deleteStatement.execute();
         }
     }
 
-    private boolean deletePost(Connection connection, long postId) throws SQLException {
-        try (PreparedStatement deleteStatement = connection.prepareStatement(DELETE_POST_SQL)) {
-            deleteStatement.setLong(1, postId);
+    private boolean deletePost(Connection connection, long postId, Instant deletedAt) throws SQLException {
+        try (PreparedStatement deleteStatement = profiled("SOFT_DELETE_POST_SQL",
+                connection.prepareStatement(SOFT_DELETE_POST_SQL))) {
+            deleteStatement.setObject(1, deletedAt);
+            deleteStatement.setLong(2, postId);
             return deleteStatement.executeUpdate() == 1;
         }
     }
 
+    private List<Long> selectTombstonedPostIds(Connection connection, int limit) throws SQLException {
+        try (PreparedStatement selectStatement = profiled("SELECT_TOMBSTONED_POST_IDS_SQL",
+                connection.prepareStatement(SELECT_TOMBSTONED_POST_IDS_SQL))) {
+            selectStatement.setInt(1, limit);
+            List<Long> postIds = new ArrayList<>();
+            try (ResultSet resultSet = selectStatement.executeQuery()) {
+                while (resultSet.next())
+                    postIds.add(resultSet.getLong(1));
+            }
+            return postIds;
+        }
+    }
+
+    private long selectLastExpiredChangeSequence(Connection connection, Instant cutoff, int limit) throws SQLException {
+        try (PreparedStatement selectStatement = profiled("SELECT_OLDEST_CHANGES_SQL",
+                connection.prepareStatement(SELECT_OLDEST_CHANGES_SQL))) {
+            selectStatement.setInt(1, limit);
+            long lastSequence = 0;
+            try (ResultSet resultSet = selectStatement.executeQuery()) {
+                while (resultSet.next() && resultSet.getTimestamp(2).toInstant().isBefore(cutoff))
+                    lastSequence = resultSet.getLong(1);
+            }
+            return lastSequence;
+        }
+    }
+
+    private int purgeChanges(Connection connection, long lastSequence) throws SQLException {
+        try (PreparedStatement deleteStatement = profiled("PURGE_CHANGES_SQL",
+                connection.prepareStatement(PURGE_CHANGES_SQL))) {
+            deleteStatement.setLong(1, lastSequence);
+            return deleteStatement.executeUpdate();
+        }
+    }
+
+    private int purgePosts(Connection connection, List<Long> postIds) throws SQLException {
+        String placeholders = postIds.stream().map(postId -> "?").collect(Collectors.joining(", "));
+        try (PreparedStatement deleteStatement = profiled("PURGE_POSTS_SQL",
+                connection.prepareStatement(PURGE_POSTS_SQL.formatted(placeholders)))) {
+            int index = 1;
+            for (long postId : postIds)
+                deleteStatement.setLong(index++, postId);
+            return deleteStatement.executeUpdate();
+        }
+    }
+
     private List<String> selectPostTags(Connection connection, long postId) throws SQLException {
-        try (PreparedStatement selectStatement = connection.prepareStatement(SELECT_POST_TAGS_NAMES)) {
+        try (PreparedStatement selectStatement = profiled("SELECT_POST_TAGS_NAMES",
+                connection.prepareStatement(SELECT_POST_TAGS_NAMES))) {
             selectStatement.setLong(1, postId);
             try (ResultSet resultSet = selectStatement.executeQuery()) {
                 List<String> tags = new LinkedList<>();
@@ -180,7 +714,7 @@ public class PostDaoImpl implements PostDao {
     }
 
     private Optional<Post> fetchPost(Connection connection, long postId) throws SQLException {
-        try (PreparedStatement selectStatement = connection.prepareStatement(SELECT_POST_SQL)) {
+        try (PreparedStatement selectStatement = profiled("SELECT_POST_SQL", connection.prepareStatement(SELECT_POST_SQL))) {
             selectStatement.setLong(1, postId);
             try (ResultSet resultSet = selectStatement.executeQuery()) {
                 if (resultSet.next()) {
@@ -193,20 +727,271 @@ public class PostDaoImpl implements PostDao {
     }
 
     private List<Post> fetchPosts(Connection connection, String term) throws SQLException {
-        try (PreparedStatement selectStatement = connection.prepareStatement(SELECT_POSTS_LIKE_SQL)) {
+        try (PreparedStatement selectStatement = profiled("SELECT_POSTS_LIKE_SQL",
+                connection.prepareStatement(SELECT_POSTS_LIKE_SQL))) {
             String likeTerm = "%" + term + "%";
             selectStatement.setString(1, likeTerm);
             selectStatement.setString(2, likeTerm);
             selectStatement.setString(3, likeTerm);
+            List<Post> posts = new ArrayList<>();
             try (ResultSet resultSet = selectStatement.executeQuery()) {
-                List<Post> posts = new LinkedList<>();
                 while (resultSet.next())
-                    posts.add(extractPost(resultSet, selectPostTags(connection, resultSet.getLong("id"))));
-                return posts;
+                    posts.add(extractPost(resultSet, List.of()));
             }
+            Map<Long, List<String>> tagsByPostId = selectPostsTags(connection, posts.stream().map(Post::getId).toList());
+            return posts.stream()
+                    .map(post -> withTags(post, tagsByPostId.getOrDefault(post.getId(), List.of())))
+                    .toList();
         }
     }
 
+    private List<Post> fetchPostsByIds(Connection connection, List<Long> ids) throws SQLException {
+        List<Long> distinctIds = ids.stream().distinct().toList();
+        Map<Long, Post> postsById = new HashMap<>();
+        for (int from = 0; from < distinctIds.size(); from += MAX_IN_LIST_SIZE) {
+            List<Long> chunk = distinctIds.subList(from, Math.min(from + MAX_IN_LIST_SIZE, distinctIds.size()));
+            String placeholders = chunk.stream().map(postId -> "?").collect(Collectors.joining(", "));
+            try (PreparedStatement selectStatement = profiled("SELECT_POSTS_BY_IDS_SQL",
+                    connection.prepareStatement(SELECT_POSTS_BY_IDS_SQL.formatted(placeholders)))) {
+                int index = 1;
+                for (long postId : chunk)
+                    selectStatement.setLong(index++, postId);
+                try (ResultSet resultSet = selectStatement.executeQuery()) {
+                    while (resultSet.next()) {
+                        Post post = extractPost(resultSet, List.of());
+                        postsById.put(post.getId(), post);
+                    }
+                }
+            }
+        }
+        Map<Long, List<String>> tagsByPostId = selectPostsTags(connection, postsById.keySet());
+        return distinctIds.stream()
+                .filter(postsById::containsKey)
+                .map(postId -> withTags(postsById.get(postId), tagsByPostId.getOrDefault(postId, List.of())))
+                .toList();
+    }
+
+    private static Post withTags(Post post, List<String> tags) {
+        return new Post(post.getId(), post.getTitle(), post.getContent(), post.getCategory(), tags,
+                post.getCreatedAt(), post.getUpdatedAt());
+    }
+
+    private void streamPosts(Connection connection, Consumer<Post> action) throws SQLException {
+        try (PreparedStatement postsStatement = profiled("SELECT_ALL_POSTS_SQL", connection.prepareStatement(SELECT_ALL_POSTS_SQL,
+                ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY));
+             PreparedStatement tagsStatement = profiled("SELECT_ALL_POST_TAGS_SQL",
+                     connection.prepareStatement(SELECT_ALL_POST_TAGS_SQL,
+                     ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY))) {
+            postsStatement.setFetchSize(STREAM_FETCH_SIZE);
+            tagsStatement.setFetchSize(STREAM_FETCH_SIZE);
+            try (ResultSet postResultSet = postsStatement.executeQuery();
+                 ResultSet tagResultSet = tagsStatement.executeQuery()) {
+                boolean hasTag = tagResultSet.next();
+                while (postResultSet.next()) {
+                    long postId = postResultSet.getLong("id");
+                    while (hasTag && tagResultSet.getLong(1) < postId)
+                        hasTag = tagResultSet.next();
+                    List<String> tags = new LinkedList<>();
+                    while (hasTag && tagResultSet.getLong(1) == postId) {
+                        tags.add(tagResultSet.getString(2));
+                        hasTag = tagResultSet.next();
+                    }
+                    action.accept(extractPost(postResultSet, tags));
+                }
+            }
+        }
+    }
+
+    private ProjectedPost loadField(long postId, PostField field) {
+        lazyLoadMetrics.recordPerformed();
+        return findById(postId, EnumSet.of(field))
+                .orElseThrow(() -> new DatabaseException("Unable to find the post to load its " + field.getFieldName()));
+    }
+
+    private long selectCount(Connection connection) throws SQLException {
+        try (PreparedStatement selectStatement = profiled("COUNT_POSTS_SQL", connection.prepareStatement(COUNT_POSTS_SQL));
+             ResultSet resultSet = selectStatement.executeQuery()) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+
+    private Map<String, Long> selectGroupCounts(Connection connection, String countSqlId, String countSql) throws SQLException {
+        try (PreparedStatement selectStatement = profiled(countSqlId, connection.prepareStatement(countSql));
+             ResultSet resultSet = selectStatement.executeQuery()) {
+            Map<String, Long> counts = new HashMap<>();
+            while (resultSet.next())
+                counts.put(resultSet.getString(1), resultSet.getLong(2));
+            return counts;
+        }
+    }
+
+    private Optional<ProjectedPost> fetchProjectedPost(Connection connection, long postId, Set<PostField> fields) throws SQLException {
+        try (PreparedStatement selectStatement = profiled("SELECT_POST_FIELDS_SQL",
+                connection.prepareStatement(SELECT_POST_FIELDS_SQL.formatted(selectedColumns(fields))))) {
+            selectStatement.setLong(1, postId);
+            return extractProjectedPosts(connection, selectStatement, fields).stream().findFirst();
+        }
+    }
+
+    private List<ProjectedPost> fetchProjectedPosts(Connection connection, String term, Set<PostField> fields) throws SQLException {
+        try (PreparedStatement selectStatement = profiled("SELECT_POSTS_FIELDS_LIKE_SQL",
+                connection.prepareStatement(SELECT_POSTS_FIELDS_LIKE_SQL.formatted(selectedColumns(fields))))) {
+            String likeTerm = "%" + term + "%";
+            selectStatement.setString(1, likeTerm);
+            selectStatement.setString(2, likeTerm);
+            selectStatement.setString(3, likeTerm);
+            return extractProjectedPosts(connection, selectStatement, fields);
+        }
+    }
+
+    private List<ProjectedPost> extractProjectedPosts(Connection connection, PreparedStatement selectStatement,
+                                                      Set<PostField> fields) throws SQLException {
+        List<ProjectedPost> posts = new ArrayList<>();
+        try (ResultSet resultSet = selectStatement.executeQuery()) {
+            while (resultSet.next())
+                posts.add(extractProjectedPost(resultSet, fields));
+        }
+        if (!fields.contains(PostField.TAGS)) return posts;
+        Map<Long, List<String>> tagsByPostId = selectPostsTags(connection, posts.stream().map(ProjectedPost::id).toList());
+        return posts.stream()
+                .map(post -> new ProjectedPost(post.id(), post.title(), post.content(), post.category(),
+                        tagsByPostId.getOrDefault(post.id(), List.of()), post.createdAt(), post.updatedAt()))
+                .toList();
+    }
+
+    private static String selectedColumns(Set<PostField> fields) {
+        return Stream.concat(Stream.of("id"), fields.stream().filter(PostField::isColumn).map(PostField::getColumnName))
+                .collect(Collectors.joining(", "));
+    }
+
+    private Map<Long, List<String>> selectPostsTags(Connection connection, Collection<Long> postIds) throws SQLException {
+        Map<Long, List<String>> tagsByPostId = new HashMap<>();
+        List<Long> postIdList = List.copyOf(postIds);
+        for (int from = 0; from < postIdList.size(); from += MAX_IN_LIST_SIZE) {
+            List<Long> chunk = postIdList.subList(from, Math.min(from + MAX_IN_LIST_SIZE, postIdList.size()));
+            String placeholders = chunk.stream().map(postId -> "?").collect(Collectors.joining(", "));
+            try (PreparedStatement selectStatement = profiled("SELECT_POSTS_TAGS_NAMES",
+                    connection.prepareStatement(SELECT_POSTS_TAGS_NAMES.formatted(placeholders)))) {
+                int index = 1;
+                for (long postId : chunk)
+                    selectStatement.setLong(index++, postId);
+                try (ResultSet resultSet = selectStatement.executeQuery()) {
+                    while (resultSet.next())
+                        tagsByPostId.computeIfAbsent(resultSet.getLong(1), postId -> new LinkedList<>())
+                                .add(resultSet.getString(2));
+                }
+            }
+        }
+        return tagsByPostId;
+    }
+
+    private PostChange insertPostChange(Connection connection, long postId, PostChangeType type,
+                                        Instant changedAt, Post post) throws SQLException {
+        long sequence = reserveChangeSequences(connection, 1);
+        try (PreparedStatement insertStatement = profiled("INSERT_POST_CHANGE_SQL",
+                connection.prepareStatement(INSERT_POST_CHANGE_SQL))) {
+            insertStatement.setLong(1, sequence);
+            insertStatement.setLong(2, postId);
+            insertStatement.setString(3, type.name());
+            insertStatement.setObject(4, changedAt);
+            insertStatement.execute();
+        }
+        return new PostChange(sequence, postId, type, changedAt, post);
+    }
+
+    private List<PostChange> insertPostChanges(Connection connection, List<Post> savedPosts) throws SQLException {
+        long sequence = reserveChangeSequences(connection, savedPosts.size()) - savedPosts.size();
+        List<PostChange> changes = new ArrayList<>(savedPosts.size());
+        try (PreparedStatement insertStatement = profiled("INSERT_POST_CHANGE_SQL",
+                connection.prepareStatement(INSERT_POST_CHANGE_SQL))) {
+            for (Post post : savedPosts) {
+                PostChange change = new PostChange(++sequence, post.getId(), PostChangeType.CREATED, post.getUpdatedAt(), post);
+                insertStatement.setLong(1, change.getSequence());
+                insertStatement.setLong(2, change.getPostId());
+                insertStatement.setString(3, change.getType().name());
+                insertStatement.setObject(4, change.getChangedAt());
+                insertStatement.addBatch();
+                changes.add(change);
+            }
+            insertStatement.executeBatch();
+        }
+        return changes;
+    }
+
+    private long reserveChangeSequences(Connection connection, int count) throws SQLException {
+        try (PreparedStatement updateStatement = profiled("RESERVE_CHANGE_SEQUENCES_SQL",
+                connection.prepareStatement(RESERVE_CHANGE_SEQUENCES_SQL))) {
+            updateStatement.setInt(1, count);
+            if (updateStatement.executeUpdate() != 1)
+                throw new DatabaseException("Unable to find the post change sequence");
+        }
+        try (PreparedStatement selectStatement = profiled("SELECT_CHANGE_SEQUENCE_SQL",
+                connection.prepareStatement(SELECT_CHANGE_SEQUENCE_SQL));
+             ResultSet resultSet = selectStatement.executeQuery()) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+
+    private List<PostChange> fetchChanges(Connection connection, long sequence, int limit) throws SQLException {
+        try (PreparedStatement selectStatement = profiled("SELECT_POST_CHANGES_SQL",
+                connection.prepareStatement(SELECT_POST_CHANGES_SQL))) {
+            selectStatement.setLong(1, sequence);
+            selectStatement.setInt(2, limit);
+            List<PostChange> changes = new ArrayList<>();
+            try (ResultSet resultSet = selectStatement.executeQuery()) {
+                while (resultSet.next())
+                    changes.add(extractPostChange(resultSet));
+            }
+            Set<Long> postIds = changes.stream()
+                    .filter(change -> change.getPost().isPresent())
+                    .map(PostChange::getPostId)
+                    .collect(Collectors.toCollection(LinkedHashSet::new));
+            Map<Long, List<String>> tagsByPostId = selectPostsTags(connection, postIds);
+            return changes.stream()
+                    .map(change -> withTags(change, tagsByPostId.getOrDefault(change.getPostId(), List.of())))
+                    .toList();
+        }
+    }
+
+    private void notifyChangeListeners(PostChange change, Optional<Post> previousPost) {
+        for (PostChangeListener changeListener : changeListeners) {
+            try {
+                changeListener.onChange(change, previousPost);
+            } catch (RuntimeException e) {
+                LOGGER.log(Level.WARNING, "Post change listener failed", e);
+            }
+        }
+    }
+
+    private PostChange extractPostChange(ResultSet changeResultSet) throws SQLException {
+        long sequence = changeResultSet.getLong("seq");
+        long postId = changeResultSet.getLong("post_id");
+        PostChangeType type = PostChangeType.valueOf(changeResultSet.getString("change_type"));
+        Instant changedAt = changeResultSet.getTimestamp("changed_at").toInstant();
+        Post post = changeResultSet.getObject("id") == null ? null : extractPost(changeResultSet, List.of());
+        return new PostChange(sequence, postId, type, changedAt, post);
+    }
+
+    private PostChange withTags(PostChange change, List<String> tags) {
+        return change.getPost()
+                .map(post -> new PostChange(change.getSequence(), change.getPostId(), change.getType(), change.getChangedAt(),
+                        new Post(post.getId(), post.getTitle(), post.getContent(), post.getCategory(), tags,
+                                post.getCreatedAt(), post.getUpdatedAt())))
+                .orElse(change);
+    }
+
+    private ProjectedPost extractProjectedPost(ResultSet postResultSet, Set<PostField> fields) throws SQLException {
+        long id = postResultSet.getLong("id");
+        String title = fields.contains(PostField.TITLE) ? postResultSet.getString("title") : null;
+        String content = fields.contains(PostField.CONTENT) ? postResultSet.getString("content") : null;
+        String category = fields.contains(PostField.CATEGORY) ? postResultSet.getString("category") : null;
+        Instant createdAt = fields.contains(PostField.CREATED_AT) ? postResultSet.getTimestamp("created_at").toInstant() : null;
+        Instant updatedAt = fields.contains(PostField.UPDATED_AT) ? postResultSet.getTimestamp("updated_at").toInstant() : null;
+        return new ProjectedPost(id, title, content, category, null, createdAt, updatedAt);
+    }
+
     private Post extractPost(ResultSet postResultSet, List<String> tags) throws SQLException {
         long id = postResultSet.getLong("id");
         String title = postResultSet.getString("title");
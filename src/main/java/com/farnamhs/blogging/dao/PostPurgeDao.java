@@ -0,0 +1,14 @@
+package com.farnamhs.blogging.dao;
+
+import com.farnamhs.blogging.entity.TombstoneStats;
+
+import java.time.Instant;
+
+public interface PostPurgeDao {
+
+    int purgeDeletedPosts(int limit);
+
+    TombstoneStats getTombstoneStats();
+
+    int purgeChangesBefore(Instant cutoff, int limit);
+}
@@ -0,0 +1,234 @@
+package com.farnamhs.blogging.dao;
+
+import com.farnamhs.blogging.util.RequestEndpoint;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+public class StatementProfiler implements StatementProfilerMXBean {
+
+    public static final String OBJECT_NAME = "com.farnamhs.blogging:type=StatementProfiler";
+    public static final String SLOW_QUERY_LOGGER_NAME = "com.farnamhs.blogging.dao.SlowQueryLog";
+
+    private static final Logger SLOW_QUERY_LOGGER = Logger.getLogger(SLOW_QUERY_LOGGER_NAME);
+    private static final int SLOW_LOG_QUEUE_CAPACITY = 1000;
+    private static final int MAX_LOGGED_PARAMETER_LENGTH = 64;
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    private final long slowThresholdNanos;
+    private final Executor slowLogExecutor;
+    private final ConcurrentMap<String, Counters> countersBySqlId = new ConcurrentHashMap<>();
+    private final AtomicLong droppedSlowStatementLogs = new AtomicLong();
+
+    public StatementProfiler(Duration slowThreshold) {
+        this(slowThreshold, createSlowLogExecutor());
+    }
+
+    public StatementProfiler(Duration slowThreshold, Executor slowLogExecutor) {
+        if (slowThreshold.isNegative()) throw new IllegalArgumentException("Slow statement threshold cannot be NEGATIVE");
+        this.slowThresholdNanos = slowThreshold.toNanos();
+        this.slowLogExecutor = slowLogExecutor;
+    }
+
+    public PreparedStatement profile(String sqlId, PreparedStatement statement) {
+        return profile(sqlId, statement, Set.of());
+    }
+
+    public PreparedStatement profile(String sqlId, PreparedStatement statement, Set<Integer> redactedParameters) {
+        return (PreparedStatement) Proxy.newProxyInstance(
+                StatementProfiler.class.getClassLoader(),
+                new Class<?>[]{PreparedStatement.class},
+                new ProfiledStatement(sqlId, statement, redactedParameters)
+        );
+    }
+
+    @Override
+    public Map<String, StatementStatistics> getStatements() {
+        Map<String, StatementStatistics> statements = new TreeMap<>();
+        countersBySqlId.forEach((sqlId, counters) -> statements.put(sqlId, counters.snapshot()));
+        return statements;
+    }
+
+    @Override
+    public long getSlowStatementThresholdMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(slowThresholdNanos);
+    }
+
+    @Override
+    public long getDroppedSlowStatementLogs() {
+        return droppedSlowStatementLogs.get();
+    }
+
+    private void record(String sqlId, long elapsedNanos, long rows, Map<Integer, Object> parameters,
+                        Set<Integer> redactedParameters) {
+        int searchTermLength = searchTermLength(parameters);
+        boolean isSlow = elapsedNanos >= slowThresholdNanos;
+        countersBySqlId.computeIfAbsent(sqlId, id -> new Counters()).add(elapsedNanos, rows, isSlow, searchTermLength);
+        if (!isSlow) return;
+
+        String endpoint = RequestEndpoint.current();
+        try {
+            slowLogExecutor.execute(() -> SLOW_QUERY_LOGGER.log(Level.WARNING,
+                    "Slow statement {0} took {1} ms, rows={2}, searchTermLength={3}, endpoint={4}, parameters={5}",
+                    new Object[]{sqlId, String.format(Locale.ROOT, "%.3f", elapsedNanos / NANOS_PER_MILLI), rows,
+                            searchTermLength, endpoint, formatParameters(parameters, redactedParameters)}));
+        } catch (RejectedExecutionException e) {
+            droppedSlowStatementLogs.incrementAndGet();
+        }
+    }
+
+    private static int searchTermLength(Map<Integer, Object> parameters) {
+        return parameters.values().stream()
+                .filter(String.class::isInstance)
+                .map(String.class::cast)
+                .filter(value -> value.length() >= 2 && value.startsWith("%") && value.endsWith("%"))
+                .mapToInt(value -> value.length() - 2)
+                .max()
+                .orElse(0);
+    }
+
+    private static String formatParameters(Map<Integer, Object> parameters, Set<Integer> redactedParameters) {
+        return parameters.entrySet().stream()
+                .map(parameter -> parameter.getKey() + "=" + (redactedParameters.contains(parameter.getKey())
+                        ? "<redacted>"
+                        : formatParameter(parameter.getValue())))
+                .collect(Collectors.joining(", ", "[", "]"));
+    }
+
+    private static String formatParameter(Object value) {
+        if (!(value instanceof String text)) return String.valueOf(value);
+        if (text.length() <= MAX_LOGGED_PARAMETER_LENGTH) return "'" + text + "'";
+        return "'" + text.substring(0, MAX_LOGGED_PARAMETER_LENGTH) + "...' (" + text.length() + " chars)";
+    }
+
+    private static Executor createSlowLogExecutor() {
+        return new ThreadPoolExecutor(0, 1, 30, TimeUnit.SECONDS, new ArrayBlockingQueue<>(SLOW_LOG_QUEUE_CAPACITY),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "slow-query-logger");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private final class ProfiledStatement implements InvocationHandler {
+        private final String sqlId;
+        private final PreparedStatement delegate;
+        private final Set<Integer> redactedParameters;
+        private final Map<Integer, Object> parameters = new TreeMap<>();
+        private long elapsedNanos;
+        private long rows;
+        private boolean isExecuted;
+        private boolean isRecorded;
+
+        private ProfiledStatement(String sqlId, PreparedStatement delegate, Set<Integer> redactedParameters) {
+            this.sqlId = sqlId;
+            this.delegate = delegate;
+            this.redactedParameters = redactedParameters;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String methodName = method.getName();
+            if (methodName.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index)
+                parameters.put(index, methodName.equals("setNull") ? null : args[1]);
+            if (methodName.equals("close")) {
+                try {
+                    return StatementProfiler.invoke(delegate, method, args);
+                } finally {
+                    recordOnce();
+                }
+            }
+            if (!methodName.startsWith("execute")) return StatementProfiler.invoke(delegate, method, args);
+
+            long startedAt = System.nanoTime();
+            try {
+                Object result = StatementProfiler.invoke(delegate, method, args);
+                countRows(result);
+                return result instanceof ResultSet resultSet ? profiledResultSet(resultSet) : result;
+            } finally {
+                elapsedNanos += System.nanoTime() - startedAt;
+                isExecuted = true;
+            }
+        }
+
+        private void countRows(Object result) {
+            if (result instanceof Integer updateCount) rows += Math.max(0, updateCount);
+            else if (result instanceof Long updateCount) rows += Math.max(0, updateCount);
+            else if (result instanceof int[] updateCounts) rows += Arrays.stream(updateCounts).filter(count -> count > 0).sum();
+            else if (result instanceof long[] updateCounts) rows += Arrays.stream(updateCounts).filter(count -> count > 0).sum();
+        }
+
+        private ResultSet profiledResultSet(ResultSet resultSet) {
+            return (ResultSet) Proxy.newProxyInstance(
+                    StatementProfiler.class.getClassLoader(),
+                    new Class<?>[]{ResultSet.class},
+                    (proxy, method, args) -> {
+                        if (!method.getName().equals("next")) return StatementProfiler.invoke(resultSet, method, args);
+                        long startedAt = System.nanoTime();
+                        try {
+                            boolean hasNext = (boolean) StatementProfiler.invoke(resultSet, method, args);
+                            if (hasNext) rows++;
+                            return hasNext;
+                        } finally {
+                            elapsedNanos += System.nanoTime() - startedAt;
+                        }
+                    }
+            );
+        }
+
+        private void recordOnce() {
+            if (!isExecuted || isRecorded) return;
+            isRecorded = true;
+            record(sqlId, elapsedNanos, rows, parameters, redactedParameters);
+        }
+    }
+
+    private static final class Counters {
+        private final LongAdder executions = new LongAdder();
+        private final LongAdder slowExecutions = new LongAdder();
+        private final LongAdder rows = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+        private final LongAdder searchTermLengthTotal = new LongAdder();
+
+        private void add(long elapsedNanos, long rowCount, boolean isSlow, int searchTermLength) {
+            executions.increment();
+            if (isSlow) slowExecutions.increment();
+            rows.add(rowCount);
+            totalNanos.add(elapsedNanos);
+            maxNanos.accumulateAndGet(elapsedNanos, Math::max);
+            searchTermLengthTotal.add(searchTermLength);
+        }
+
+        private StatementStatistics snapshot() {
+            return new StatementStatistics(
+                    executions.sum(),
+                    slowExecutions.sum(),
+                    rows.sum(),
+                    totalNanos.sum() / NANOS_PER_MILLI,
+                    maxNanos.get() / NANOS_PER_MILLI,
+                    searchTermLengthTotal.sum()
+            );
+        }
+    }
+}
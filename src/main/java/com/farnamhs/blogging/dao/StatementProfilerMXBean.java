@@ -0,0 +1,12 @@
+package com.farnamhs.blogging.dao;
+
+import java.util.Map;
+
+public interface StatementProfilerMXBean {
+
+    Map<String, StatementStatistics> getStatements();
+
+    long getSlowStatementThresholdMillis();
+
+    long getDroppedSlowStatementLogs();
+}
@@ -0,0 +1,49 @@
+package com.farnamhs.blogging.dao;
+
+public class StatementStatistics {
+
+    private final long executions;
+    private final long slowExecutions;
+    private final long rows;
+    private final double totalMillis;
+    private final double maxMillis;
+    private final long searchTermLengthTotal;
+
+    public StatementStatistics(long executions, long slowExecutions, long rows, double totalMillis, double maxMillis,
+                               long searchTermLengthTotal) {
+        this.executions = executions;
+        this.slowExecutions = slowExecutions;
+        this.rows = rows;
+        this.totalMillis = totalMillis;
+        this.maxMillis = maxMillis;
+        this.searchTermLengthTotal = searchTermLengthTotal;
+    }
+
+    public long getExecutions() {
+        return executions;
+    }
+
+    public long getSlowExecutions() {
+        return slowExecutions;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    public double getTotalMillis() {
+        return totalMillis;
+    }
+
+    public double getAverageMillis() {
+        return executions == 0 ? 0 : totalMillis / executions;
+    }
+
+    public double getMaxMillis() {
+        return maxMillis;
+    }
+
+    public double getAverageSearchTermLength() {
+        return executions == 0 ? 0 : (double) searchTermLengthTotal / executions;
+    }
+}
@@ -0,0 +1,8 @@
+package com.farnamhs.blogging.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.Map;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record HealthDto(String status, Map<String, String> checks) {}
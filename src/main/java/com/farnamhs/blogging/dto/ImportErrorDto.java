@@ -0,0 +1,3 @@
+package com.farnamhs.blogging.dto;
+
+public record ImportErrorDto(long line, String message) {}
@@ -0,0 +1,5 @@
+package com.farnamhs.blogging.dto;
+
+import java.util.List;
+
+public record ImportReportDto(long processed, long imported, long failed, boolean completed, List<ImportErrorDto> errors) {}
@@ -0,0 +1,5 @@
+package com.farnamhs.blogging.dto;
+
+import java.util.List;
+
+public record PostBatchResponseDto(List<PostResponseDto> posts, List<Long> missingIds) {}
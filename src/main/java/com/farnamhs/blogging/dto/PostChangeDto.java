@@ -0,0 +1,11 @@
+package com.farnamhs.blogging.dto;
+
+import com.farnamhs.blogging.entity.PostChangeType;
+import com.farnamhs.blogging.util.InstantSerializer;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import java.time.Instant;
+
+public record PostChangeDto(long sequence, PostChangeType type, long postId,
+                            @JsonSerialize(using = InstantSerializer.class) Instant changedAt,
+                            PostResponseDto post) {}
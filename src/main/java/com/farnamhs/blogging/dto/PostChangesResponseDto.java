@@ -0,0 +1,5 @@
+package com.farnamhs.blogging.dto;
+
+import java.util.List;
+
+public record PostChangesResponseDto(List<PostChangeDto> changes, long nextCursor) {}
@@ -1,11 +1,13 @@
 package com.farnamhs.blogging.dto;
 
 import com.farnamhs.blogging.util.InstantSerializer;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 
 import java.time.Instant;
 import java.util.List;
 
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public record PostResponseDto(long id, String title, String content, String category, List<String> tags,
                               @JsonSerialize(using = InstantSerializer.class) Instant createdAt,
                               @JsonSerialize(using = InstantSerializer.class) Instant updatedAt) {}
@@ -0,0 +1,5 @@
+package com.farnamhs.blogging.dto;
+
+import java.util.Map;
+
+public record PostStatsDto(long totalPosts, Map<String, Long> categories, Map<String, Long> tags) {}
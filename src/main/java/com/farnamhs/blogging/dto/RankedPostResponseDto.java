@@ -0,0 +1,3 @@
+package com.farnamhs.blogging.dto;
+
+public record RankedPostResponseDto(double score, PostResponseDto post) {}
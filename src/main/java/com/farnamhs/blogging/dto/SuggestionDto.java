@@ -0,0 +1,3 @@
+package com.farnamhs.blogging.dto;
+
+public record SuggestionDto(String text, long popularity) {}
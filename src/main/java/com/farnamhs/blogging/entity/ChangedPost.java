@@ -0,0 +1,3 @@
+package com.farnamhs.blogging.entity;
+
+public record ChangedPost(long sequence, long postId) {}
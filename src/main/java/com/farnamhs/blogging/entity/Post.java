@@ -3,6 +3,7 @@ package com.farnamhs.blogging.entity;
 import java.time.Instant;
 import java.util.List;
 import java.util.Objects;
+import java.util.function.Supplier;
 
 import static java.util.Objects.requireNonNull;
 import static java.util.function.Predicate.not;
@@ -13,9 +14,9 @@ public class Post {
 
     private final long id;
     private final String title;
-    private final String content;
+    private final LazyValue<String> content;
     private final String category;
-    private final List<String> tags;
+    private final LazyValue<List<String>> tags;
     private final Instant createdAt;
     private final Instant updatedAt;
 
@@ -26,14 +27,37 @@ public class Post {
     public Post(long id, String title, String content, String category, List<String> tags, Instant createdAt, Instant updatedAt) {
         this.id = id;
         this.title = validateTitle(title);
-        this.content = validateContent(content);
+        this.content = LazyValue.loaded(validateContent(content));
         this.category = validateCategory(category);
-        this.tags = validateTags(tags);
+        this.tags = LazyValue.loaded(validateTags(tags));
         this.createdAt = requireNonNull(createdAt, "Created Time cannot be NULL");
         this.updatedAt = requireNonNull(updatedAt, "Updated Time cannot be NULL");
         validateTimes();
     }
 
+    private Post(long id, String title, LazyValue<String> content, String category, LazyValue<List<String>> tags,
+                 Instant createdAt, Instant updatedAt) {
+        this.id = id;
+        this.title = validateTitle(title);
+        this.content = content;
+        this.category = validateCategory(category);
+        this.tags = tags;
+        this.createdAt = requireNonNull(createdAt, "Created Time cannot be NULL");
+        this.updatedAt = requireNonNull(updatedAt, "Updated Time cannot be NULL");
+        validateTimes();
+    }
+
+    public static Post lazy(long id, String title, Supplier<String> contentLoader, String category,
+                            Supplier<List<String>> tagsLoader, Instant createdAt, Instant updatedAt) {
+        requireNonNull(contentLoader, "Content loader cannot be NULL");
+        requireNonNull(tagsLoader, "Tags loader cannot be NULL");
+        return new Post(id, title,
+                new LazyValue<>(() -> validateContent(contentLoader.get())),
+                category,
+                new LazyValue<>(() -> validateTags(tagsLoader.get())),
+                createdAt, updatedAt);
+    }
+
     public long getId() {
         return id;
     }
@@ -43,7 +67,7 @@ public class Post {
     }
 
     public String getContent() {
-        return content;
+        return content.get();
     }
 
     public String getCategory() {
@@ -51,7 +75,15 @@ public class Post {
     }
 
     public List<String> getTags() {
-        return tags;
+        return tags.get();
+    }
+
+    public boolean isContentLoaded() {
+        return content.isLoaded();
+    }
+
+    public boolean isTagsLoaded() {
+        return tags.isLoaded();
     }
 
     public Instant getCreatedAt() {
@@ -69,37 +101,37 @@ public class Post {
         Post post = (Post) o;
         return id == post.id &&
                 Objects.equals(title, post.title)
-                && Objects.equals(content, post.content)
                 && Objects.equals(category, post.category)
-                && Objects.equals(tags, post.tags)
                 && Objects.equals(createdAt, post.createdAt)
-                && Objects.equals(updatedAt, post.updatedAt);
+                && Objects.equals(updatedAt, post.updatedAt)
+                && Objects.equals(getContent(), post.getContent())
+                && Objects.equals(getTags(), post.getTags());
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(id, title, content, category, tags, createdAt, updatedAt);
+        return Objects.hash(id, title, category, createdAt, updatedAt);
     }
 
-    private String validateTitle(String title) {
+    private static String validateTitle(String title) {
         return validateString(title, "Title");
     }
 
-    private String validateContent(String content) {
+    private static String validateContent(String content) {
         return validateString(content, "Content");
     }
 
-    private String validateCategory(String category) {
+    private static String validateCategory(String category) {
         return validateString(category, "Category");
     }
 
-    private String validateString(String value, String fieldName) {
+    private static String validateString(String value, String fieldName) {
         String nonNullValue = requireNonNull(value, fieldName + " cannot be NULL");
         if (nonNullValue.isBlank()) throw new IllegalArgumentException(fieldName + " cannot be EMPTY or BLANK");
         return nonNullValue.strip();
     }
 
-    private List<String> validateTags(List<String> tags) {
+    private static List<String> validateTags(List<String> tags) {
         return requireNonNull(tags, "Tag list cannot be NULL").stream()
                 .filter(Objects::nonNull)
                 .filter(not(String::isBlank))
@@ -112,4 +144,35 @@ public class Post {
         if (updatedAt.isBefore(createdAt))
             throw new IllegalArgumentException("Updated Time cannot be before the Created Time");
     }
-}
\ No newline at end of file
+
+    private static final class LazyValue<T> {
+        private Supplier<T> loader;
+        private volatile T value;
+
+        private LazyValue(Supplier<T> loader) {
+            this.loader = loader;
+        }
+
+        private static <T> LazyValue<T> loaded(T value) {
+            LazyValue<T> lazyValue = new LazyValue<>(null);
+            lazyValue.value = value;
+            return lazyValue;
+        }
+
+        private T get() {
+            T loadedValue = value;
+            if (loadedValue != null) return loadedValue;
+            synchronized (this) {
+                if (value == null) {
+                    value = requireNonNull(loader.get());
+                    loader = null;
+                }
+                return value;
+            }
+        }
+
+        private boolean isLoaded() {
+            return value != null;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.farnamhs.blogging.entity;
+
+import java.time.Instant;
+import java.util.Objects;
+import java.util.Optional;
+
+import static java.util.Objects.requireNonNull;
+
+public class PostChange {
+
+    private final long sequence;
+    private final long postId;
+    private final PostChangeType type;
+    private final Instant changedAt;
+    private final Post post;
+
+    public PostChange(long sequence, long postId, PostChangeType type, Instant changedAt, Post post) {
+        this.sequence = sequence;
+        this.postId = postId;
+        this.type = requireNonNull(type, "Change Type cannot be NULL");
+        this.changedAt = requireNonNull(changedAt, "Changed Time cannot be NULL");
+        this.post = type == PostChangeType.DELETED ? null : post;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public long getPostId() {
+        return postId;
+    }
+
+    public PostChangeType getType() {
+        return type;
+    }
+
+    public Instant getChangedAt() {
+        return changedAt;
+    }
+
+    public Optional<Post> getPost() {
+        return Optional.ofNullable(post);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        PostChange change = (PostChange) o;
+        return sequence == change.sequence
+                && postId == change.postId
+                && type == change.type
+                && Objects.equals(changedAt, change.changedAt)
+                && Objects.equals(post, change.post);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(sequence, postId, type, changedAt, post);
+    }
+}
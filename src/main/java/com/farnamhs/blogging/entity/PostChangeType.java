@@ -0,0 +1,7 @@
+package com.farnamhs.blogging.entity;
+
+public enum PostChangeType {
+    CREATED,
+    UPDATED,
+    DELETED
+}
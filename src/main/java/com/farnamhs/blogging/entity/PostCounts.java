@@ -0,0 +1,5 @@
+package com.farnamhs.blogging.entity;
+
+import java.util.Map;
+
+public record PostCounts(long total, Map<String, Long> byCategory, Map<String, Long> byTag) {}
@@ -0,0 +1,39 @@
+package com.farnamhs.blogging.entity;
+
+import java.util.Arrays;
+
+public enum PostField {
+    TITLE("title", "title"),
+    CONTENT("content", "content"),
+    CATEGORY("category", "category"),
+    TAGS("tags", null),
+    CREATED_AT("createdAt", "created_at"),
+    UPDATED_AT("updatedAt", "updated_at");
+
+    private final String fieldName;
+    private final String columnName;
+
+    PostField(String fieldName, String columnName) {
+        this.fieldName = fieldName;
+        this.columnName = columnName;
+    }
+
+    public String getFieldName() {
+        return fieldName;
+    }
+
+    public String getColumnName() {
+        return columnName;
+    }
+
+    public boolean isColumn() {
+        return columnName != null;
+    }
+
+    public static PostField fromFieldName(String fieldName) {
+        return Arrays.stream(values())
+                .filter(field -> field.fieldName.equals(fieldName))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown post field: " + fieldName));
+    }
+}
@@ -0,0 +1,21 @@
+package com.farnamhs.blogging.entity;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+
+public record ProjectedPost(long id, String title, String content, String category, List<String> tags,
+                            Instant createdAt, Instant updatedAt) {
+
+    public static ProjectedPost of(Post post, Set<PostField> fields) {
+        return new ProjectedPost(
+                post.getId(),
+                fields.contains(PostField.TITLE) ? post.getTitle() : null,
+                fields.contains(PostField.CONTENT) ? post.getContent() : null,
+                fields.contains(PostField.CATEGORY) ? post.getCategory() : null,
+                fields.contains(PostField.TAGS) ? post.getTags() : null,
+                fields.contains(PostField.CREATED_AT) ? post.getCreatedAt() : null,
+                fields.contains(PostField.UPDATED_AT) ? post.getUpdatedAt() : null
+        );
+    }
+}
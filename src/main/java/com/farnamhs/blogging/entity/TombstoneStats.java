@@ -0,0 +1,6 @@
+package com.farnamhs.blogging.entity;
+
+import java.time.Instant;
+import java.util.Optional;
+
+public record TombstoneStats(long count, Optional<Instant> oldestDeletedAt) {}
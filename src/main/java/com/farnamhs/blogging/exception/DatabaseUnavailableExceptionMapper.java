@@ -0,0 +1,19 @@
+package com.farnamhs.blogging.exception;
+
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.ext.ExceptionMapper;
+
+import static jakarta.ws.rs.core.MediaType.*;
+import static jakarta.ws.rs.core.Response.Status.*;
+
+public class DatabaseUnavailableExceptionMapper implements ExceptionMapper<DatabaseUnavailableException> {
+    @Override
+    public Response toResponse(DatabaseUnavailableException e) {
+        return Response.status(SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, Math.max(1, (e.getRetryAfter().toMillis() + 999) / 1000))
+                .entity(e.getMessage())
+                .type(TEXT_PLAIN)
+                .build();
+    }
+}
@@ -0,0 +1,8 @@
+package com.farnamhs.blogging.exception;
+
+public class IdempotentRequestInProgressException extends RuntimeException {
+
+    public IdempotentRequestInProgressException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,17 @@
+package com.farnamhs.blogging.exception;
+
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.ext.ExceptionMapper;
+
+import static jakarta.ws.rs.core.MediaType.*;
+import static jakarta.ws.rs.core.Response.Status.*;
+
+public class IdempotentRequestInProgressExceptionMapper implements ExceptionMapper<IdempotentRequestInProgressException> {
+    @Override
+    public Response toResponse(IdempotentRequestInProgressException e) {
+        return Response.status(CONFLICT)
+                .entity(e.getMessage())
+                .type(TEXT_PLAIN)
+                .build();
+    }
+}
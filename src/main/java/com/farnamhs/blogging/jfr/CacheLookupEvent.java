@@ -0,0 +1,41 @@
+package com.farnamhs.blogging.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.farnamhs.blogging.CacheLookup")
+@Label("Cache Lookup")
+@Category({"Blogging", "Cache"})
+@Description("A lookup in one of the in-memory caches")
+public class CacheLookupEvent extends Event {
+
+    @Label("Cache")
+    private String cache;
+
+    @Label("Key")
+    private String key;
+
+    @Label("Hit")
+    private boolean hit;
+
+    public static void emit(String cache, String key, boolean hit) {
+        CacheLookupEvent event = new CacheLookupEvent();
+        if (!event.shouldCommit()) return;
+        event.cache = cache;
+        event.key = key;
+        event.hit = hit;
+        event.commit();
+    }
+
+    public static void emit(String cache, long key, boolean hit) {
+        CacheLookupEvent event = new CacheLookupEvent();
+        if (!event.shouldCommit()) return;
+        event.cache = cache;
+        event.key = Long.toString(key);
+        event.hit = hit;
+        event.commit();
+    }
+}
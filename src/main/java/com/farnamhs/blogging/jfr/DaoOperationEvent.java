@@ -0,0 +1,46 @@
+package com.farnamhs.blogging.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+@Name("com.farnamhs.blogging.DaoOperation")
+@Label("DAO Operation")
+@Category({"Blogging", "Database"})
+@Description("A PostDao operation, from acquiring its connection to committing")
+public class DaoOperationEvent extends Event {
+
+    @Label("Operation")
+    private String operation;
+
+    @Label("Rows")
+    @Description("Posts, tags or changes read or written by the operation")
+    private long rows;
+
+    @Label("Connection Wait")
+    @Timespan(Timespan.NANOSECONDS)
+    private long connectionWait;
+
+    public static DaoOperationEvent start(String operation) {
+        DaoOperationEvent event = new DaoOperationEvent();
+        if (!event.isEnabled()) return event;
+        event.operation = operation;
+        event.begin();
+        return event;
+    }
+
+    public void addConnectionWait(long waitNanos) {
+        connectionWait += waitNanos;
+    }
+
+    public void addRows(long rows) {
+        this.rows += rows;
+    }
+
+    public void finish() {
+        if (shouldCommit()) commit();
+    }
+}
@@ -0,0 +1,59 @@
+package com.farnamhs.blogging.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.farnamhs.blogging.Request")
+@Label("Request")
+@Category({"Blogging", "HTTP"})
+@Description("A request handled by a JAX-RS resource method")
+public class RequestEvent extends Event {
+
+    private static final EventType EVENT_TYPE = EventType.getEventType(RequestEvent.class);
+
+    @Label("HTTP Method")
+    private String httpMethod;
+
+    @Label("Resource Method")
+    private String resourceMethod;
+
+    @Label("Post Id")
+    @Description("The id path parameter, or -1 when the request does not target a single post")
+    private long postId = -1;
+
+    @Label("Status")
+    private int status;
+
+    public static boolean isRecording() {
+        return EVENT_TYPE.isEnabled();
+    }
+
+    public static RequestEvent start(String httpMethod, String resourceMethod, String postId) {
+        RequestEvent event = new RequestEvent();
+        if (!event.isEnabled()) return event;
+        event.httpMethod = httpMethod;
+        event.resourceMethod = resourceMethod;
+        event.postId = parsePostId(postId);
+        event.begin();
+        return event;
+    }
+
+    public void finish(int status) {
+        if (!shouldCommit()) return;
+        this.status = status;
+        commit();
+    }
+
+    private static long parsePostId(String postId) {
+        if (postId == null) return -1;
+        try {
+            return Long.parseLong(postId);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
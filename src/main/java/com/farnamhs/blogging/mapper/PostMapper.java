@@ -1,8 +1,15 @@
 package com.farnamhs.blogging.mapper;
 
+import com.farnamhs.blogging.dto.PostChangeDto;
 import com.farnamhs.blogging.dto.PostRequestDto;
 import com.farnamhs.blogging.dto.PostResponseDto;
+import com.farnamhs.blogging.dto.PostStatsDto;
+import com.farnamhs.blogging.dto.SuggestionDto;
 import com.farnamhs.blogging.entity.Post;
+import com.farnamhs.blogging.entity.PostChange;
+import com.farnamhs.blogging.entity.PostCounts;
+import com.farnamhs.blogging.entity.ProjectedPost;
+import com.farnamhs.blogging.search.Suggestion;
 
 import java.time.Instant;
 
@@ -41,4 +48,41 @@ public class PostMapper {
                 post.getUpdatedAt()
         );
     }
-}
\ No newline at end of file
+
+    public static PostResponseDto toDto(ProjectedPost post) {
+        return new PostResponseDto(
+                post.id(),
+                post.title(),
+                post.content(),
+                post.category(),
+                post.tags(),
+                post.createdAt(),
+                post.updatedAt()
+        );
+    }
+
+    public static PostChangeDto toDto(PostChange change) {
+        return new PostChangeDto(
+                change.getSequence(),
+                change.getType(),
+                change.getPostId(),
+                change.getChangedAt(),
+                change.getPost().map(PostMapper::toDto).orElse(null)
+        );
+    }
+
+    public static PostStatsDto toDto(PostCounts counts) {
+        return new PostStatsDto(
+                counts.total(),
+                counts.byCategory(),
+                counts.byTag()
+        );
+    }
+
+    public static SuggestionDto toDto(Suggestion suggestion) {
+        return new SuggestionDto(
+                suggestion.text(),
+                suggestion.popularity()
+        );
+    }
+}
@@ -0,0 +1,182 @@
+package com.farnamhs.blogging.search;
+
+import com.farnamhs.blogging.entity.Post;
+import com.farnamhs.blogging.entity.PostField;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+public class Bm25Index implements PostIndex {
+
+    private static final List<PostField> INDEXED_FIELDS =
+            List.of(PostField.TITLE, PostField.CONTENT, PostField.CATEGORY, PostField.TAGS);
+    private static final Comparator<ScoredPostId> BY_RANK = Comparator.comparingDouble(ScoredPostId::score)
+            .thenComparing(Comparator.comparingLong(ScoredPostId::postId).reversed());
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    private final double[] fieldBoosts = new double[INDEXED_FIELDS.size()];
+    private final Map<String, Map<Long, int[]>> postings = new HashMap<>();
+    private final Map<Long, Document> documents = new HashMap<>();
+    private final long[] totalFieldLengths = new long[INDEXED_FIELDS.size()];
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public Bm25Index(Map<PostField, Double> fieldBoosts) {
+        for (int field = 0; field < INDEXED_FIELDS.size(); field++) {
+            double boost = fieldBoosts.getOrDefault(INDEXED_FIELDS.get(field), 1.0);
+            if (boost < 0) throw new IllegalArgumentException("Field boost cannot be NEGATIVE");
+            this.fieldBoosts[field] = boost;
+        }
+    }
+
+    @Override
+    public void index(Post post) {
+        int[] fieldLengths = new int[INDEXED_FIELDS.size()];
+        Map<String, int[]> termFrequencies = new HashMap<>();
+        for (int field = 0; field < INDEXED_FIELDS.size(); field++) {
+            List<String> tokens = tokenize(post, INDEXED_FIELDS.get(field));
+            fieldLengths[field] = tokens.size();
+            for (String token : tokens)
+                termFrequencies.computeIfAbsent(token, term -> new int[INDEXED_FIELDS.size()])[field]++;
+        }
+
+        lock.writeLock().lock();
+        try {
+            removeDocument(post.getId());
+            termFrequencies.forEach((term, frequencies) ->
+                    postings.computeIfAbsent(term, postingTerm -> new HashMap<>()).put(post.getId(), frequencies));
+            documents.put(post.getId(), new Document(fieldLengths, termFrequencies.keySet()));
+            for (int field = 0; field < fieldLengths.length; field++)
+                totalFieldLengths[field] += fieldLengths[field];
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(long postId) {
+        lock.writeLock().lock();
+        try {
+            removeDocument(postId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            documents.clear();
+            Arrays.fill(totalFieldLengths, 0);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<ScoredPostId> search(String query, int limit) {
+        return search(new LinkedHashSet<>(Tokenizer.tokenize(query)).stream()
+                .map(term -> Map.of(term, 1.0))
+                .toList(), limit);
+    }
+
+    public List<ScoredPostId> search(List<Map<String, Double>> weightedTermAlternatives, int limit) {
+        if (limit < 1) throw new IllegalArgumentException("Search limit must be positive");
+
+        Map<Long, Double> scores = new HashMap<>();
+        lock.readLock().lock();
+        try {
+            if (documents.isEmpty()) return List.of();
+            double[] averageFieldLengths = averageFieldLengths();
+            for (Map<String, Double> alternatives : weightedTermAlternatives) {
+                Map<Long, Double> alternativeScores = new HashMap<>();
+                alternatives.forEach((term, weight) -> {
+                    Map<Long, int[]> termPostings = postings.get(term);
+                    if (termPostings == null) return;
+                    double inverseDocumentFrequency = inverseDocumentFrequency(termPostings.size());
+                    termPostings.forEach((postId, frequencies) -> alternativeScores.merge(
+                            postId,
+                            weight * termScore(inverseDocumentFrequency, frequencies, documents.get(postId), averageFieldLengths),
+                            Math::max));
+                });
+                alternativeScores.forEach((postId, score) -> scores.merge(postId, score, Double::sum));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return topScores(scores, limit);
+    }
+
+    private double termScore(double inverseDocumentFrequency, int[] frequencies, Document document, double[] averageFieldLengths) {
+        double score = 0;
+        for (int field = 0; field < frequencies.length; field++) {
+            if (frequencies[field] == 0) continue;
+            double lengthRatio = document.fieldLengths[field] / averageFieldLengths[field];
+            double saturation = frequencies[field] * (K1 + 1) / (frequencies[field] + K1 * (1 - B + B * lengthRatio));
+            score += fieldBoosts[field] * inverseDocumentFrequency * saturation;
+        }
+        return score;
+    }
+
+    private double inverseDocumentFrequency(int documentFrequency) {
+        return Math.log(1 + (documents.size() - documentFrequency + 0.5) / (documentFrequency + 0.5));
+    }
+
+    private double[] averageFieldLengths() {
+        double[] averageFieldLengths = new double[totalFieldLengths.length];
+        for (int field = 0; field < totalFieldLengths.length; field++)
+            averageFieldLengths[field] = Math.max(1.0, (double) totalFieldLengths[field] / documents.size());
+        return averageFieldLengths;
+    }
+
+    private static List<ScoredPostId> topScores(Map<Long, Double> scores, int limit) {
+        PriorityQueue<ScoredPostId> topScores = new PriorityQueue<>(Math.min(limit, scores.size()) + 1, BY_RANK);
+        scores.forEach((postId, score) -> {
+            ScoredPostId scoredPostId = new ScoredPostId(postId, score);
+            if (topScores.size() < limit) {
+                topScores.add(scoredPostId);
+            } else if (BY_RANK.compare(scoredPostId, topScores.peek()) > 0) {
+                topScores.poll();
+                topScores.add(scoredPostId);
+            }
+        });
+        List<ScoredPostId> rankedScores = new ArrayList<>(topScores);
+        rankedScores.sort(BY_RANK.reversed());
+        return rankedScores;
+    }
+
+    private void removeDocument(long postId) {
+        Document document = documents.remove(postId);
+        if (document == null) return;
+        for (String term : document.terms) {
+            Map<Long, int[]> termPostings = postings.get(term);
+            termPostings.remove(postId);
+            if (termPostings.isEmpty()) postings.remove(term);
+        }
+        for (int field = 0; field < totalFieldLengths.length; field++)
+            totalFieldLengths[field] -= document.fieldLengths[field];
+    }
+
+    private static List<String> tokenize(Post post, PostField field) {
+        return switch (field) {
+            case TITLE -> Tokenizer.tokenize(post.getTitle());
+            case CONTENT -> Tokenizer.tokenize(post.getContent());
+            case CATEGORY -> Tokenizer.tokenize(post.getCategory());
+            case TAGS -> post.getTags().stream().flatMap(tag -> Tokenizer.tokenize(tag).stream()).toList();
+            default -> List.of();
+        };
+    }
+
+    private record Document(int[] fieldLengths, Set<String> terms) {}
+}
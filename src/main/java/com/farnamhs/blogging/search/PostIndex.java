@@ -0,0 +1,12 @@
+package com.farnamhs.blogging.search;
+
+import com.farnamhs.blogging.entity.Post;
+
+interface PostIndex {
+
+    void index(Post post);
+
+    void remove(long postId);
+
+    void clear();
+}
@@ -0,0 +1,100 @@
+package com.farnamhs.blogging.search;
+
+import com.farnamhs.blogging.dao.PostChangeListener;
+import com.farnamhs.blogging.dao.PostDao;
+import com.farnamhs.blogging.entity.Post;
+import com.farnamhs.blogging.entity.PostChange;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+public class PostSearchIndex implements PostChangeListener {
+
+    private static final Logger LOGGER = Logger.getLogger(PostSearchIndex.class.getName());
+
+    private final Bm25Index bm25Index;
+    private final SuggestionIndex suggestionIndex;
+    private final TrigramIndex trigramIndex;
+    private final List<PostIndex> indexes;
+    private final Set<Long> changedDuringRebuild = new HashSet<>();
+    private boolean rebuilding;
+    private volatile boolean ready;
+
+    public PostSearchIndex(Bm25Index bm25Index, SuggestionIndex suggestionIndex, TrigramIndex trigramIndex) {
+        this.bm25Index = bm25Index;
+        this.suggestionIndex = suggestionIndex;
+        this.trigramIndex = trigramIndex;
+        this.indexes = List.of(bm25Index, suggestionIndex, trigramIndex);
+    }
+
+    @Override
+    public synchronized void onChange(PostChange change, Optional<Post> previousPost) {
+        if (rebuilding) changedDuringRebuild.add(change.getPostId());
+        change.getPost().ifPresentOrElse(
+                post -> indexes.forEach(index -> index.index(post)),
+                () -> indexes.forEach(index -> index.remove(change.getPostId()))
+        );
+    }
+
+    public void rebuild(PostDao postDao) {
+        synchronized (this) {
+            rebuilding = true;
+            changedDuringRebuild.clear();
+            indexes.forEach(PostIndex::clear);
+        }
+        try {
+            long startedAt = System.nanoTime();
+            postDao.forEachPost(this::indexUnlessChanged);
+            LOGGER.log(Level.INFO, "Built the post search index with {0} posts in {1} ms",
+                    new Object[]{bm25Index.size(), (System.nanoTime() - startedAt) / 1_000_000});
+            ready = true;
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.SEVERE, "Failed to build the post search index", e);
+            throw e;
+        } finally {
+            synchronized (this) {
+                rebuilding = false;
+                changedDuringRebuild.clear();
+            }
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public List<ScoredPostId> rank(String query, int limit) {
+        return bm25Index.search(query, limit);
+    }
+
+    public List<ScoredPostId> rankFuzzy(String query, int limit) {
+        List<Map<String, Double>> termAlternatives = new LinkedHashSet<>(Tokenizer.tokenize(query)).stream()
+                .map(this::similarTermWeights)
+                .toList();
+        return bm25Index.search(termAlternatives, limit);
+    }
+
+    public List<Suggestion> suggest(String prefix, int limit) {
+        return suggestionIndex.suggest(prefix, limit);
+    }
+
+    private Map<String, Double> similarTermWeights(String term) {
+        Map<String, Double> termWeights = new HashMap<>();
+        termWeights.put(term, 1.0);
+        trigramIndex.similarTerms(term).forEach((similarTerm, distance) ->
+                termWeights.merge(similarTerm, 1.0 / (1 + distance), Math::max));
+        return termWeights;
+    }
+
+    private synchronized void indexUnlessChanged(Post post) {
+        if (changedDuringRebuild.contains(post.getId())) return;
+        indexes.forEach(index -> index.index(post));
+    }
+}
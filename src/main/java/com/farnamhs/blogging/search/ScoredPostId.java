@@ -0,0 +1,3 @@
+package com.farnamhs.blogging.search;
+
+public record ScoredPostId(long postId, double score) {}
@@ -0,0 +1,54 @@
+package com.farnamhs.blogging.search;
+
+import com.farnamhs.blogging.dao.PostChangeLogDao;
+import com.farnamhs.blogging.dao.PostDao;
+import com.farnamhs.blogging.entity.PostChange;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+public class SearchIndexPoller {
+
+    private static final Logger LOGGER = Logger.getLogger(SearchIndexPoller.class.getName());
+    private static final long NO_WATERMARK = -1;
+
+    private final PostSearchIndex searchIndex;
+    private final PostDao postDao;
+    private final PostChangeLogDao changeLogDao;
+    private final int batchSize;
+    private volatile long watermark = NO_WATERMARK;
+
+    public SearchIndexPoller(PostSearchIndex searchIndex, PostDao postDao, PostChangeLogDao changeLogDao, int batchSize) {
+        if (batchSize < 1) throw new IllegalArgumentException("Search index batch size must be positive");
+        this.searchIndex = searchIndex;
+        this.postDao = postDao;
+        this.changeLogDao = changeLogDao;
+        this.batchSize = batchSize;
+    }
+
+    public void rebuild() {
+        long latestSequence = changeLogDao.findLatestChangeSequence();
+        searchIndex.rebuild(postDao);
+        watermark = latestSequence;
+    }
+
+    public void poll() {
+        if (watermark == NO_WATERMARK) return;
+        try {
+            List<PostChange> changes;
+            do {
+                changes = postDao.findChangesSince(watermark, batchSize);
+                changes.forEach(change -> searchIndex.onChange(change, Optional.empty()));
+                if (!changes.isEmpty()) watermark = changes.get(changes.size() - 1).getSequence();
+            } while (changes.size() == batchSize);
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.WARNING, "Failed to poll the post changes for the search index", e);
+        }
+    }
+
+    public long getWatermark() {
+        return watermark;
+    }
+}
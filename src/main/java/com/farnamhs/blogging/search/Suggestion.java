@@ -0,0 +1,3 @@
+package com.farnamhs.blogging.search;
+
+public record Suggestion(String text, long popularity) {}
@@ -0,0 +1,180 @@
+package com.farnamhs.blogging.search;
+
+import com.farnamhs.blogging.entity.Post;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+public class SuggestionIndex implements PostIndex {
+
+    private Node root = new Node();
+    private final Map<Long, List<String>> completionsByPost = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @Override
+    public void index(Post post) {
+        List<String> completions = Stream.concat(Stream.of(post.getTitle()), post.getTags().stream())
+                .distinct()
+                .toList();
+
+        lock.writeLock().lock();
+        try {
+            removeCompletions(post.getId());
+            completionsByPost.put(post.getId(), completions);
+            completions.forEach(completion -> add(completion, 1));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(long postId) {
+        lock.writeLock().lock();
+        try {
+            removeCompletions(postId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            root = new Node();
+            completionsByPost.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<Suggestion> suggest(String prefix, int limit) {
+        if (limit < 1) throw new IllegalArgumentException("Suggestion limit must be positive");
+        String key = normalize(prefix);
+
+        lock.readLock().lock();
+        try {
+            Node node = root;
+            for (int i = 0; i < key.length() && node != null; i++)
+                node = node.child(key.charAt(i));
+            return node == null ? List.of() : mostPopular(node, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static List<Suggestion> mostPopular(Node start, int limit) {
+        PriorityQueue<Candidate> candidates = new PriorityQueue<>();
+        if (start.maxPopularity > 0) candidates.add(new Candidate(start, start.maxPopularity, false));
+
+        List<Suggestion> suggestions = new ArrayList<>(limit);
+        while (!candidates.isEmpty() && suggestions.size() < limit) {
+            Candidate candidate = candidates.poll();
+            Node node = candidate.node;
+            if (candidate.completion) {
+                suggestions.add(new Suggestion(node.text, node.popularity));
+                continue;
+            }
+            if (node.popularity > 0) candidates.add(new Candidate(node, node.popularity, true));
+            for (int i = 0; i < node.childCount; i++)
+                candidates.add(new Candidate(node.children[i], node.children[i].maxPopularity, false));
+        }
+        return suggestions;
+    }
+
+    private void removeCompletions(long postId) {
+        List<String> completions = completionsByPost.remove(postId);
+        if (completions != null) completions.forEach(completion -> add(completion, -1));
+    }
+
+    private void add(String completion, int delta) {
+        String key = normalize(completion);
+        Node[] path = new Node[key.length() + 1];
+        path[0] = root;
+        for (int i = 0; i < key.length(); i++) {
+            Node child = path[i].child(key.charAt(i));
+            if (child == null) {
+                if (delta < 0) return;
+                child = path[i].addChild(key.charAt(i));
+            }
+            path[i + 1] = child;
+        }
+
+        Node terminal = path[key.length()];
+        terminal.popularity += delta;
+        if (delta > 0) terminal.text = completion;
+        if (terminal.popularity == 0) terminal.text = null;
+        for (int i = key.length(); i >= 0; i--) {
+            path[i].updateMaxPopularity();
+            if (i > 0 && path[i].isEmpty()) path[i - 1].removeChild(key.charAt(i - 1));
+        }
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.stripLeading().toLowerCase(Locale.ROOT);
+    }
+
+    private static final class Node {
+        private static final Node[] NO_CHILDREN = new Node[0];
+
+        private char[] keys = new char[0];
+        private Node[] children = NO_CHILDREN;
+        private int childCount;
+        private String text;
+        private long popularity;
+        private long maxPopularity;
+
+        private Node child(char key) {
+            int index = Arrays.binarySearch(keys, 0, childCount, key);
+            return index >= 0 ? children[index] : null;
+        }
+
+        private Node addChild(char key) {
+            int insertionPoint = -Arrays.binarySearch(keys, 0, childCount, key) - 1;
+            if (childCount == keys.length) {
+                int capacity = Math.max(2, childCount * 2);
+                keys = Arrays.copyOf(keys, capacity);
+                children = Arrays.copyOf(children, capacity);
+            }
+            System.arraycopy(keys, insertionPoint, keys, insertionPoint + 1, childCount - insertionPoint);
+            System.arraycopy(children, insertionPoint, children, insertionPoint + 1, childCount - insertionPoint);
+            Node child = new Node();
+            keys[insertionPoint] = key;
+            children[insertionPoint] = child;
+            childCount++;
+            return child;
+        }
+
+        private void removeChild(char key) {
+            int index = Arrays.binarySearch(keys, 0, childCount, key);
+            if (index < 0) return;
+            System.arraycopy(keys, index + 1, keys, index, childCount - index - 1);
+            System.arraycopy(children, index + 1, children, index, childCount - index - 1);
+            children[--childCount] = null;
+        }
+
+        private void updateMaxPopularity() {
+            long max = popularity;
+            for (int i = 0; i < childCount; i++)
+                max = Math.max(max, children[i].maxPopularity);
+            maxPopularity = max;
+        }
+
+        private boolean isEmpty() {
+            return popularity == 0 && childCount == 0;
+        }
+    }
+
+    private record Candidate(Node node, long popularity, boolean completion) implements Comparable<Candidate> {
+        @Override
+        public int compareTo(Candidate other) {
+            int byPopularity = Long.compare(other.popularity, popularity);
+            if (byPopularity != 0) return byPopularity;
+            int byCompletion = Boolean.compare(other.completion, completion);
+            if (byCompletion != 0 || !completion) return byCompletion;
+            return node.text.compareTo(other.node.text);
+        }
+    }
+}
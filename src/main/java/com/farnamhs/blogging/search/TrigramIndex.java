@@ -0,0 +1,139 @@
+package com.farnamhs.blogging.search;
+
+import com.farnamhs.blogging.entity.Post;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+public class TrigramIndex implements PostIndex {
+
+    private static final int GRAM_SIZE = 3;
+    private static final String PADDING = "  ";
+
+    private final Map<String, Set<String>> termsByTrigram = new HashMap<>();
+    private final Map<String, Integer> termPostCounts = new HashMap<>();
+    private final Map<Long, Set<String>> termsByPost = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @Override
+    public void index(Post post) {
+        Set<String> terms = new HashSet<>(Tokenizer.tokenize(post.getTitle()));
+        post.getTags().stream().map(Tokenizer::tokenize).forEach(terms::addAll);
+
+        lock.writeLock().lock();
+        try {
+            removeTerms(post.getId());
+            termsByPost.put(post.getId(), terms);
+            for (String term : terms) {
+                if (termPostCounts.merge(term, 1, Integer::sum) > 1) continue;
+                for (String trigram : trigrams(term))
+                    termsByTrigram.computeIfAbsent(trigram, key -> new HashSet<>()).add(term);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(long postId) {
+        lock.writeLock().lock();
+        try {
+            removeTerms(postId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            termsByTrigram.clear();
+            termPostCounts.clear();
+            termsByPost.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public Map<String, Integer> similarTerms(String term) {
+        int maxDistance = maxDistance(term.length());
+        Set<String> queryTrigrams = trigrams(term);
+        int minSharedTrigrams = queryTrigrams.size() - GRAM_SIZE * maxDistance;
+
+        Map<String, Integer> sharedTrigramCounts = new HashMap<>();
+        lock.readLock().lock();
+        try {
+            if (maxDistance == 0)
+                return termPostCounts.containsKey(term) ? Map.of(term, 0) : Map.of();
+            for (String trigram : queryTrigrams) {
+                for (String candidate : termsByTrigram.getOrDefault(trigram, Set.of()))
+                    if (Math.abs(candidate.length() - term.length()) <= maxDistance)
+                        sharedTrigramCounts.merge(candidate, 1, Integer::sum);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        Map<String, Integer> similarTerms = new HashMap<>();
+        sharedTrigramCounts.forEach((candidate, sharedTrigrams) -> {
+            if (sharedTrigrams < minSharedTrigrams) return;
+            int distance = boundedEditDistance(term, candidate, maxDistance);
+            if (distance <= maxDistance) similarTerms.put(candidate, distance);
+        });
+        return similarTerms;
+    }
+
+    private static int maxDistance(int termLength) {
+        if (termLength < 3) return 0;
+        return termLength < 6 ? 1 : 2;
+    }
+
+    private static int boundedEditDistance(String source, String target, int maxDistance) {
+        if (Math.abs(source.length() - target.length()) > maxDistance) return maxDistance + 1;
+        int[] previousRow = new int[target.length() + 1];
+        int[] currentRow = new int[target.length() + 1];
+        for (int column = 0; column <= target.length(); column++)
+            previousRow[column] = column;
+
+        for (int row = 1; row <= source.length(); row++) {
+            currentRow[0] = row;
+            int rowMinimum = row;
+            for (int column = 1; column <= target.length(); column++) {
+                int substitutionCost = source.charAt(row - 1) == target.charAt(column - 1) ? 0 : 1;
+                currentRow[column] = Math.min(
+                        previousRow[column - 1] + substitutionCost,
+                        Math.min(previousRow[column], currentRow[column - 1]) + 1);
+                rowMinimum = Math.min(rowMinimum, currentRow[column]);
+            }
+            if (rowMinimum > maxDistance) return maxDistance + 1;
+            int[] swappedRow = previousRow;
+            previousRow = currentRow;
+            currentRow = swappedRow;
+        }
+        return Math.min(previousRow[target.length()], maxDistance + 1);
+    }
+
+    private void removeTerms(long postId) {
+        Set<String> terms = termsByPost.remove(postId);
+        if (terms == null) return;
+        for (String term : terms) {
+            if (termPostCounts.merge(term, -1, Integer::sum) > 0) continue;
+            termPostCounts.remove(term);
+            for (String trigram : trigrams(term)) {
+                Set<String> trigramTerms = termsByTrigram.get(trigram);
+                trigramTerms.remove(term);
+                if (trigramTerms.isEmpty()) termsByTrigram.remove(trigram);
+            }
+        }
+    }
+
+    private static Set<String> trigrams(String term) {
+        String paddedTerm = PADDING + term + " ";
+        Set<String> trigrams = new HashSet<>();
+        for (int i = 0; i + GRAM_SIZE <= paddedTerm.length(); i++)
+            trigrams.add(paddedTerm.substring(i, i + GRAM_SIZE));
+        return trigrams;
+    }
+}
@@ -0,0 +1,29 @@
+package com.farnamhs.blogging.service;
+
+import com.farnamhs.blogging.dao.PostChangeListener;
+import com.farnamhs.blogging.entity.Post;
+import com.farnamhs.blogging.entity.PostChange;
+
+import java.time.Duration;
+import java.util.Optional;
+
+public class PostChangeNotifier implements PostChangeListener {
+
+    private long latestSequence;
+
+    @Override
+    public synchronized void onChange(PostChange change, Optional<Post> previousPost) {
+        latestSequence = Math.max(latestSequence, change.getSequence());
+        notifyAll();
+    }
+
+    public synchronized boolean awaitChangeAfter(long sequence, Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        long remaining = timeout.toNanos();
+        while (latestSequence <= sequence && remaining > 0) {
+            wait(Math.max(1, remaining / 1_000_000));
+            remaining = deadline - System.nanoTime();
+        }
+        return latestSequence > sequence;
+    }
+}
@@ -0,0 +1,178 @@
+package com.farnamhs.blogging.service;
+
+import com.farnamhs.blogging.dao.PostDao;
+import com.farnamhs.blogging.dto.ImportErrorDto;
+import com.farnamhs.blogging.dto.ImportReportDto;
+import com.farnamhs.blogging.dto.PostRequestDto;
+import com.farnamhs.blogging.entity.Post;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import static com.farnamhs.blogging.mapper.PostMapper.toEntity;
+import static java.time.Instant.now;
+import static java.util.Objects.requireNonNull;
+
+public class PostImporter {
+
+    private static final Logger LOGGER = Logger.getLogger(PostImporter.class.getName());
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper()
+            .enable(DeserializationFeature.FAIL_ON_TRAILING_TOKENS);
+    private static final List<ImportedLine> END_OF_IMPORT = List.of();
+    private static final int MAX_REPORTED_ERRORS = 100;
+    private static final long ENQUEUE_TIMEOUT_MILLIS = 100;
+
+    private final Clock clock;
+    private final PostDao postDao;
+    private final int batchSize;
+    private final int queueCapacity;
+    private final Executor writerExecutor;
+
+    public PostImporter(Clock clock, PostDao postDao) {
+        this(clock, postDao, 500, 4, runnable -> {
+            Thread thread = new Thread(runnable, "post-import-writer");
+            thread.setDaemon(true);
+            thread.start();
+        });
+    }
+
+    public PostImporter(Clock clock, PostDao postDao, int batchSize, int queueCapacity, Executor writerExecutor) {
+        if (batchSize < 1) throw new IllegalArgumentException("Import batch size must be positive");
+        if (queueCapacity < 1) throw new IllegalArgumentException("Import queue capacity must be positive");
+        this.clock = clock;
+        this.postDao = postDao;
+        this.batchSize = batchSize;
+        this.queueCapacity = queueCapacity;
+        this.writerExecutor = writerExecutor;
+    }
+
+    public ImportReportDto importPosts(InputStream inputStream) {
+        requireNonNull(inputStream, "Imported Post Data cannot be null");
+        ImportProgress progress = new ImportProgress();
+        BlockingQueue<List<ImportedLine>> batches = new ArrayBlockingQueue<>(queueCapacity);
+        CompletableFuture<Void> writer = CompletableFuture.runAsync(() -> writeBatches(batches, progress), writerExecutor);
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8))) {
+            readLines(reader, batches, writer, progress);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read the imported posts", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            progress.abort();
+        } finally {
+            finish(batches, writer);
+        }
+        return progress.toReport();
+    }
+
+    private void readLines(BufferedReader reader, BlockingQueue<List<ImportedLine>> batches,
+                           CompletableFuture<Void> writer, ImportProgress progress) throws IOException, InterruptedException {
+        List<ImportedLine> batch = new ArrayList<>(batchSize);
+        long line = 0;
+        String json;
+        while ((json = reader.readLine()) != null) {
+            line++;
+            if (json.isBlank()) continue;
+            progress.processed.incrementAndGet();
+            try {
+                PostRequestDto postRequestDto = OBJECT_MAPPER.readValue(json, PostRequestDto.class);
+                Post post = toEntity(requireNonNull(postRequestDto, "Requested Post Data cannot be null"), now(clock));
+                batch.add(new ImportedLine(line, post));
+            } catch (JsonParseException e) {
+                progress.fail(line, "Malformed JSON: " + e.getOriginalMessage());
+            } catch (JsonProcessingException e) {
+                progress.fail(line, e.getOriginalMessage());
+            } catch (IllegalArgumentException | NullPointerException e) {
+                progress.fail(line, e.getMessage());
+            }
+            if (batch.size() == batchSize) {
+                if (!enqueue(batches, batch, writer)) return;
+                batch = new ArrayList<>(batchSize);
+            }
+        }
+        if (!batch.isEmpty()) enqueue(batches, batch, writer);
+    }
+
+    private boolean enqueue(BlockingQueue<List<ImportedLine>> batches, List<ImportedLine> batch,
+                            CompletableFuture<Void> writer) throws InterruptedException {
+        while (!batches.offer(batch, ENQUEUE_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+            if (writer.isDone()) return false;
+        }
+        return true;
+    }
+
+    private void finish(BlockingQueue<List<ImportedLine>> batches, CompletableFuture<Void> writer) {
+        try {
+            enqueue(batches, END_OF_IMPORT, writer);
+            writer.join();
+        } catch (InterruptedException e) {
+            batches.clear();
+            batches.offer(END_OF_IMPORT);
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void writeBatches(BlockingQueue<List<ImportedLine>> batches, ImportProgress progress) {
+        try {
+            List<ImportedLine> batch;
+            while ((batch = batches.take()) != END_OF_IMPORT) {
+                writeBatch(batch, progress);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void writeBatch(List<ImportedLine> batch, ImportProgress progress) {
+        try {
+            postDao.saveAll(batch.stream().map(ImportedLine::post).toList());
+            progress.imported.addAndGet(batch.size());
+            LOGGER.log(Level.INFO, "Imported {0} of {1} processed posts",
+                    new Object[]{progress.imported.get(), progress.processed.get()});
+        } catch (RuntimeException e) {
+            for (ImportedLine importedLine : batch)
+                progress.fail(importedLine.line(), e.getMessage());
+        }
+    }
+
+    private record ImportedLine(long line, Post post) {}
+
+    private static final class ImportProgress {
+        private final AtomicLong processed = new AtomicLong();
+        private final AtomicLong imported = new AtomicLong();
+        private final AtomicLong failed = new AtomicLong();
+        private final List<ImportErrorDto> errors = new ArrayList<>();
+        private volatile boolean aborted;
+
+        private void fail(long line, String message) {
+            failed.incrementAndGet();
+            synchronized (errors) {
+                if (errors.size() < MAX_REPORTED_ERRORS) errors.add(new ImportErrorDto(line, message));
+            }
+        }
+
+        private void abort() {
+            aborted = true;
+        }
+
+        private ImportReportDto toReport() {
+            synchronized (errors) {
+                return new ImportReportDto(processed.get(), imported.get(), failed.get(), !aborted, List.copyOf(errors));
+            }
+        }
+    }
+}
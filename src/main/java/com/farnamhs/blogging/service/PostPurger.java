@@ -0,0 +1,122 @@
+package com.farnamhs.blogging.service;
+
+import com.farnamhs.blogging.dao.PostPurgeDao;
+import com.farnamhs.blogging.entity.TombstoneStats;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+public class PostPurger implements PostPurgerMBean {
+
+    public static final String OBJECT_NAME = "com.farnamhs.blogging:type=PostPurger";
+
+    private static final Logger LOGGER = Logger.getLogger(PostPurger.class.getName());
+
+    private final PostPurgeDao purgeDao;
+    private final Clock clock;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final Duration batchPause;
+    private final Duration changeRetention;
+    private final AtomicLong purgedPosts = new AtomicLong();
+    private final AtomicLong purgedChanges = new AtomicLong();
+    private final AtomicLong purgeRuns = new AtomicLong();
+    private final AtomicLong failedRuns = new AtomicLong();
+    private volatile long lastRunMillis;
+    private volatile TombstoneStats tombstoneStats = new TombstoneStats(0, Optional.empty());
+
+    public PostPurger(PostPurgeDao purgeDao, Clock clock, int batchSize, int maxBatchesPerRun, Duration batchPause,
+                      Duration changeRetention) {
+        if (batchSize < 1) throw new IllegalArgumentException("Purge batch size must be positive");
+        if (maxBatchesPerRun < 1) throw new IllegalArgumentException("Purge batches per run must be positive");
+        if (batchPause.isNegative()) throw new IllegalArgumentException("Purge batch pause cannot be negative");
+        if (changeRetention.isNegative() || changeRetention.isZero())
+            throw new IllegalArgumentException("Change retention must be positive");
+        this.purgeDao = purgeDao;
+        this.clock = clock;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.batchPause = batchPause;
+        this.changeRetention = changeRetention;
+    }
+
+    public void purge() {
+        long startedAt = System.nanoTime();
+        try {
+            for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+                if (batch > 0 && !pause()) return;
+                int purged = purgeDao.purgeDeletedPosts(batchSize);
+                purgedPosts.addAndGet(purged);
+                if (purged < batchSize) break;
+            }
+            tombstoneStats = purgeDao.getTombstoneStats();
+            Instant changeCutoff = Instant.now(clock).minus(changeRetention);
+            for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+                if (batch > 0 && !pause()) return;
+                int purged = purgeDao.purgeChangesBefore(changeCutoff, batchSize);
+                purgedChanges.addAndGet(purged);
+                if (purged < batchSize) break;
+            }
+            purgeRuns.incrementAndGet();
+        } catch (RuntimeException e) {
+            failedRuns.incrementAndGet();
+            LOGGER.log(Level.WARNING, "Failed to purge the deleted posts", e);
+        } finally {
+            lastRunMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+        }
+    }
+
+    @Override
+    public long getPendingPosts() {
+        return tombstoneStats.count();
+    }
+
+    @Override
+    public long getPurgeLagSeconds() {
+        return tombstoneStats.oldestDeletedAt()
+                .map(oldestDeletedAt -> Math.max(0, Duration.between(oldestDeletedAt, Instant.now(clock)).toSeconds()))
+                .orElse(0L);
+    }
+
+    @Override
+    public long getPurgedPosts() {
+        return purgedPosts.get();
+    }
+
+    @Override
+    public long getPurgedChanges() {
+        return purgedChanges.get();
+    }
+
+    @Override
+    public long getPurgeRuns() {
+        return purgeRuns.get();
+    }
+
+    @Override
+    public long getFailedRuns() {
+        return failedRuns.get();
+    }
+
+    @Override
+    public long getLastRunMillis() {
+        return lastRunMillis;
+    }
+
+    private boolean pause() {
+        if (batchPause.isZero()) return true;
+        try {
+            Thread.sleep(batchPause.toMillis());
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
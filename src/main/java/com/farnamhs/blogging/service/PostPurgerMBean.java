@@ -0,0 +1,18 @@
+package com.farnamhs.blogging.service;
+
+public interface PostPurgerMBean {
+
+    long getPendingPosts();
+
+    long getPurgeLagSeconds();
+
+    long getPurgedPosts();
+
+    long getPurgedChanges();
+
+    long getPurgeRuns();
+
+    long getFailedRuns();
+
+    long getLastRunMillis();
+}
@@ -1,19 +1,49 @@
 package com.farnamhs.blogging.service;
 
+import com.farnamhs.blogging.dto.ImportReportDto;
+import com.farnamhs.blogging.dto.PostBatchResponseDto;
+import com.farnamhs.blogging.dto.PostChangesResponseDto;
 import com.farnamhs.blogging.dto.PostRequestDto;
 import com.farnamhs.blogging.dto.PostResponseDto;
+import com.farnamhs.blogging.dto.PostStatsDto;
+import com.farnamhs.blogging.dto.RankedPostResponseDto;
+import com.farnamhs.blogging.dto.SuggestionDto;
 
+import java.io.InputStream;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface PostService {
 
     PostResponseDto createPost(PostRequestDto postRequestDto);
 
+    PostResponseDto createPost(PostRequestDto postRequestDto, String idempotencyKey);
+
     PostResponseDto updatePost(long id, PostRequestDto postRequestDto);
 
     void deletePost(long id);
 
     PostResponseDto getPost(long id);
 
+    PostResponseDto getPost(long id, String fields);
+
+    PostBatchResponseDto getPosts(String ids);
+
     List<PostResponseDto> searchPosts(String searchTerm);
+
+    List<PostResponseDto> searchPosts(String searchTerm, String fields);
+
+    List<RankedPostResponseDto> rankPosts(String query, int limit, boolean fuzzy);
+
+    List<SuggestionDto> suggestPosts(String prefix, int limit);
+
+    PostChangesResponseDto getChanges(long since, int limit, int waitSeconds);
+
+    void exportPosts(Consumer<PostResponseDto> consumer);
+
+    ImportReportDto importPosts(InputStream inputStream);
+
+    ImportReportDto importPosts(InputStream inputStream, String idempotencyKey);
+
+    PostStatsDto getStats();
 }
@@ -1,14 +1,45 @@
 package com.farnamhs.blogging.service;
 
+import com.farnamhs.blogging.cache.IdempotencyStore;
 import com.farnamhs.blogging.dao.PostDao;
+import com.farnamhs.blogging.dto.ImportReportDto;
+import com.farnamhs.blogging.dto.PostBatchResponseDto;
+import com.farnamhs.blogging.dto.PostChangesResponseDto;
 import com.farnamhs.blogging.dto.PostRequestDto;
 import com.farnamhs.blogging.dto.PostResponseDto;
+import com.farnamhs.blogging.dto.PostStatsDto;
+import com.farnamhs.blogging.dto.RankedPostResponseDto;
+import com.farnamhs.blogging.dto.SuggestionDto;
 import com.farnamhs.blogging.entity.Post;
+import com.farnamhs.blogging.entity.PostChange;
+import com.farnamhs.blogging.entity.PostField;
+import com.farnamhs.blogging.exception.ChangeCursorExpiredException;
 import com.farnamhs.blogging.exception.PostNotFoundException;
 import com.farnamhs.blogging.mapper.PostMapper;
+import com.farnamhs.blogging.search.Bm25Index;
+import com.farnamhs.blogging.search.PostSearchIndex;
+import com.farnamhs.blogging.search.ScoredPostId;
+import com.farnamhs.blogging.search.SuggestionIndex;
+import com.farnamhs.blogging.search.TrigramIndex;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.time.Clock;
+import java.time.Duration;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
 
 import static java.time.Instant.now;
 import static java.util.Objects.requireNonNull;
@@ -17,12 +48,52 @@ import static com.farnamhs.blogging.mapper.PostMapper.toEntity;
 
 public class PostServiceImpl implements PostService {
 
+    private static final Logger LOGGER = Logger.getLogger(PostServiceImpl.class.getName());
+    private static final int MAX_CHANGES_LIMIT = 1000;
+    private static final int MAX_CHANGES_WAIT_SECONDS = 30;
+    private static final Duration CHANGES_POLL_INTERVAL = Duration.ofSeconds(1);
+    private static final int MAX_RANKED_LIMIT = 100;
+    private static final int MAX_SUGGESTION_LIMIT = 50;
+    private static final int MAX_BATCH_IDS = 100;
+    private static final int MAX_IDEMPOTENCY_KEY_LENGTH = 255;
+    private static final Duration DEFAULT_IDEMPOTENCY_TTL = Duration.ofHours(24);
+    private static final int DEFAULT_IDEMPOTENCY_MAXIMUM_SIZE = 10_000;
+    private static final Duration DEFAULT_IDEMPOTENCY_WAIT_TIMEOUT = Duration.ofSeconds(30);
+
     private final Clock clock;
     private final PostDao postDao;
+    private final PostChangeNotifier changeNotifier;
+    private final PostImporter postImporter;
+    private final PostStatistics postStatistics;
+    private final PostSearchIndex searchIndex;
+    private final IdempotencyStore idempotencyStore;
 
     public PostServiceImpl(Clock clock, PostDao postDao) {
+        this(clock, postDao, new PostChangeNotifier());
+    }
+
+    public PostServiceImpl(Clock clock, PostDao postDao, PostChangeNotifier changeNotifier) {
+        this(clock, postDao, changeNotifier, new PostImporter(clock, postDao), new PostStatistics(postDao),
+                new PostSearchIndex(new Bm25Index(Map.of()), new SuggestionIndex(), new TrigramIndex()));
+    }
+
+    public PostServiceImpl(Clock clock, PostDao postDao, PostChangeNotifier changeNotifier,
+                           PostImporter postImporter, PostStatistics postStatistics, PostSearchIndex searchIndex) {
+        this(clock, postDao, changeNotifier, postImporter, postStatistics, searchIndex,
+                new IdempotencyStore(clock, DEFAULT_IDEMPOTENCY_TTL, DEFAULT_IDEMPOTENCY_MAXIMUM_SIZE,
+                        DEFAULT_IDEMPOTENCY_WAIT_TIMEOUT));
+    }
+
+    public PostServiceImpl(Clock clock, PostDao postDao, PostChangeNotifier changeNotifier,
+                           PostImporter postImporter, PostStatistics postStatistics, PostSearchIndex searchIndex,
+                           IdempotencyStore idempotencyStore) {
         this.clock = clock;
         this.postDao = postDao;
+        this.changeNotifier = changeNotifier;
+        this.postImporter = postImporter;
+        this.postStatistics = postStatistics;
+        this.searchIndex = searchIndex;
+        this.idempotencyStore = idempotencyStore;
     }
 
     @Override
@@ -34,11 +105,20 @@ public class PostServiceImpl implements PostService {
         return toDto(savedPost);
     }
 
+    @Override
+    public PostResponseDto createPost(PostRequestDto postRequestDto, String idempotencyKey) {
+        validateIdempotencyKey(idempotencyKey);
+        validatePostRequest(postRequestDto);
+
+        return idempotencyStore.execute("createPost:" + idempotencyKey, RequestFingerprint.of(postRequestDto),
+                () -> createPost(postRequestDto));
+    }
+
     @Override
     public PostResponseDto updatePost(long id, PostRequestDto postRequestDto) {
         validatePostRequest(postRequestDto);
 
-        final Post existedPost = fetchPostFromDao(id);
+        final Post existedPost = postDao.findLazyById(id).orElseThrow(PostNotFoundException::new);
         final Post updatedPost = postDao.update(toEntity(postRequestDto, existedPost, now(clock)))
                 .orElseThrow(PostNotFoundException::new);
 
@@ -57,6 +137,25 @@ public class PostServiceImpl implements PostService {
         return toDto(fetchPostFromDao(id));
     }
 
+    @Override
+    public PostResponseDto getPost(long id, String fields) {
+        final Set<PostField> postFields = parseFields(fields);
+
+        return toDto(postDao.findById(id, postFields).orElseThrow(PostNotFoundException::new));
+    }
+
+    @Override
+    public PostBatchResponseDto getPosts(String ids) {
+        final List<Long> postIds = parseIds(ids);
+
+        List<Post> posts = postDao.findByIds(postIds);
+        Set<Long> foundIds = posts.stream().map(Post::getId).collect(Collectors.toSet());
+        return new PostBatchResponseDto(
+                posts.stream().map(PostMapper::toDto).toList(),
+                postIds.stream().filter(postId -> !foundIds.contains(postId)).toList()
+        );
+    }
+
     @Override
     public List<PostResponseDto> searchPosts(String searchTerm) {
         return postDao.findBySearchTerm(searchTerm).stream()
@@ -64,14 +163,187 @@ public class PostServiceImpl implements PostService {
                 .toList();
     }
 
+    @Override
+    public List<PostResponseDto> searchPosts(String searchTerm, String fields) {
+        final Set<PostField> postFields = parseFields(fields);
+
+        return postDao.findBySearchTerm(searchTerm, postFields).stream()
+                .map(PostMapper::toDto)
+                .toList();
+    }
+
+    @Override
+    public List<RankedPostResponseDto> rankPosts(String query, int limit, boolean fuzzy) {
+        validateRankRequest(query, limit);
+
+        List<ScoredPostId> scoredPostIds = fuzzy ? searchIndex.rankFuzzy(query, limit) : searchIndex.rank(query, limit);
+        Map<Long, Post> postsById = postDao.findByIds(scoredPostIds.stream().map(ScoredPostId::postId).toList()).stream()
+                .collect(Collectors.toMap(Post::getId, Function.identity()));
+        return scoredPostIds.stream()
+                .filter(scoredPostId -> postsById.containsKey(scoredPostId.postId()))
+                .map(scoredPostId -> new RankedPostResponseDto(scoredPostId.score(), toDto(postsById.get(scoredPostId.postId()))))
+                .toList();
+    }
+
+    @Override
+    public List<SuggestionDto> suggestPosts(String prefix, int limit) {
+        validateSuggestRequest(prefix, limit);
+
+        return searchIndex.suggest(prefix, limit).stream()
+                .map(PostMapper::toDto)
+                .toList();
+    }
+
+    @Override
+    public PostChangesResponseDto getChanges(long since, int limit, int waitSeconds) {
+        validateChangesRequest(since, limit, waitSeconds);
+
+        List<PostChange> changes = postDao.findChangesSince(since, limit);
+        long deadline = System.nanoTime() + Duration.ofSeconds(waitSeconds).toNanos();
+        while (changes.isEmpty() && System.nanoTime() < deadline && awaitChange(since, deadline))
+            changes = postDao.findChangesSince(since, limit);
+        if (changes.isEmpty() || changes.get(0).getSequence() != since + 1) validateCursorRetained(since);
+
+        long nextCursor = changes.isEmpty() ? since : changes.get(changes.size() - 1).getSequence();
+        return new PostChangesResponseDto(changes.stream().map(PostMapper::toDto).toList(), nextCursor);
+    }
+
+    @Override
+    public void exportPosts(Consumer<PostResponseDto> consumer) {
+        requireNonNull(consumer, "Export consumer cannot be null");
+        postDao.forEachPost(post -> consumer.accept(toDto(post)));
+    }
+
+    @Override
+    public ImportReportDto importPosts(InputStream inputStream) {
+        return postImporter.importPosts(inputStream);
+    }
+
+    @Override
+    public ImportReportDto importPosts(InputStream inputStream, String idempotencyKey) {
+        validateIdempotencyKey(idempotencyKey);
+
+        requireNonNull(inputStream, "Imported Post Data cannot be null");
+
+        Path upload = null;
+        try {
+            upload = Files.createTempFile("post-import-", ".ndjson");
+            String fingerprint;
+            try (OutputStream outputStream = Files.newOutputStream(upload)) {
+                fingerprint = RequestFingerprint.copyOf(inputStream, outputStream);
+            }
+            Path spooledUpload = upload;
+            return idempotencyStore.execute("importPosts:" + idempotencyKey, fingerprint, () -> importPosts(spooledUpload));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read the imported posts", e);
+        } finally {
+            deleteUpload(upload);
+        }
+    }
+
+    private ImportReportDto importPosts(Path upload) {
+        try (InputStream inputStream = Files.newInputStream(upload)) {
+            return importPosts(inputStream);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read the imported posts", e);
+        }
+    }
+
+    private static void deleteUpload(Path upload) {
+        if (upload == null) return;
+        try {
+            Files.deleteIfExists(upload);
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Failed to delete the spooled import " + upload, e);
+        }
+    }
+
+    @Override
+    public PostStatsDto getStats() {
+        return toDto(postStatistics.getCounts());
+    }
+
+    private boolean awaitChange(final long since, final long deadline) {
+        Duration remaining = Duration.ofNanos(deadline - System.nanoTime());
+        try {
+            changeNotifier.awaitChangeAfter(since, remaining.compareTo(CHANGES_POLL_INTERVAL) < 0 ? remaining : CHANGES_POLL_INTERVAL);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
     private Post fetchPostFromDao(final long id) {
         return postDao.findById(id).orElseThrow(PostNotFoundException::new);
     }
 
+    private static List<Long> parseIds(final String ids) {
+        requireNonNull(ids, "Requested ids cannot be null");
+        final Set<Long> postIds = new LinkedHashSet<>();
+        for (String id : ids.split(",")) {
+            String strippedId = id.strip();
+            if (strippedId.isEmpty()) continue;
+            long postId = Long.parseLong(strippedId);
+            if (postId < 1) throw new IllegalArgumentException("Post id must be POSITIVE");
+            postIds.add(postId);
+        }
+        if (postIds.isEmpty() || postIds.size() > MAX_BATCH_IDS)
+            throw new IllegalArgumentException("Between 1 and " + MAX_BATCH_IDS + " post ids must be requested");
+        return List.copyOf(postIds);
+    }
+
+    private static Set<PostField> parseFields(final String fields) {
+        requireNonNull(fields, "Requested fields cannot be null");
+        final Set<PostField> postFields = EnumSet.noneOf(PostField.class);
+        for (String fieldName : fields.split(",")) {
+            String strippedFieldName = fieldName.strip();
+            if (strippedFieldName.isEmpty() || strippedFieldName.equals("id")) continue;
+            postFields.add(PostField.fromFieldName(strippedFieldName));
+        }
+        return postFields;
+    }
+
+    private void validateCursorRetained(final long since) {
+        if (since < postDao.findOldestChangeSequence() - 1)
+            throw new ChangeCursorExpiredException("Changes after the cursor are no longer retained");
+    }
+
+    private void validateIdempotencyKey(String idempotencyKey) {
+        requireNonNull(idempotencyKey, "Idempotency key cannot be NULL");
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_IDEMPOTENCY_KEY_LENGTH)
+            throw new IllegalArgumentException("Idempotency key must be between 1 and " + MAX_IDEMPOTENCY_KEY_LENGTH + " characters");
+    }
+
     private void validatePostRequest(final PostRequestDto postRequestDto) {
         requireNonNull(postRequestDto, "Requested Post Data cannot be null");
     }
 
+    private static void validateRankRequest(final String query, final int limit) {
+        requireNonNull(query, "Search query cannot be null");
+        if (query.isBlank())
+            throw new IllegalArgumentException("Search query cannot be BLANK");
+        if (limit < 1 || limit > MAX_RANKED_LIMIT)
+            throw new IllegalArgumentException("Search limit must be between 1 and " + MAX_RANKED_LIMIT);
+    }
+
+    private static void validateSuggestRequest(final String prefix, final int limit) {
+        requireNonNull(prefix, "Suggestion prefix cannot be null");
+        if (prefix.isBlank())
+            throw new IllegalArgumentException("Suggestion prefix cannot be BLANK");
+        if (limit < 1 || limit > MAX_SUGGESTION_LIMIT)
+            throw new IllegalArgumentException("Suggestion limit must be between 1 and " + MAX_SUGGESTION_LIMIT);
+    }
+
+    private static void validateChangesRequest(final long since, final int limit, final int waitSeconds) {
+        if (since < 0)
+            throw new IllegalArgumentException("Change cursor cannot be NEGATIVE");
+        if (limit < 1 || limit > MAX_CHANGES_LIMIT)
+            throw new IllegalArgumentException("Change limit must be between 1 and " + MAX_CHANGES_LIMIT);
+        if (waitSeconds < 0 || waitSeconds > MAX_CHANGES_WAIT_SECONDS)
+            throw new IllegalArgumentException("Change wait must be between 0 and " + MAX_CHANGES_WAIT_SECONDS + " seconds");
+    }
+
     private static void validateAction(final boolean isDone) {
         if (!isDone)
             throw new PostNotFoundException();
@@ -0,0 +1,87 @@
+package com.farnamhs.blogging.service;
+
+import com.farnamhs.blogging.dao.PostChangeListener;
+import com.farnamhs.blogging.dao.PostDao;
+import com.farnamhs.blogging.entity.Post;
+import com.farnamhs.blogging.entity.PostChange;
+import com.farnamhs.blogging.entity.PostCounts;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+public class PostStatistics implements PostChangeListener {
+
+    private static final Logger LOGGER = Logger.getLogger(PostStatistics.class.getName());
+
+    private final PostDao postDao;
+    private volatile Counters counters = new Counters(new PostCounts(0, Map.of(), Map.of()));
+
+    public PostStatistics(PostDao postDao) {
+        this.postDao = postDao;
+    }
+
+    @Override
+    public void onChange(PostChange change, Optional<Post> previousPost) {
+        Counters currentCounters = counters;
+        previousPost.ifPresent(post -> currentCounters.add(post, -1));
+        change.getPost().ifPresent(post -> currentCounters.add(post, 1));
+    }
+
+    public void reconcile() {
+        try {
+            counters = new Counters(postDao.countPosts());
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.WARNING, "Failed to reconcile the post statistics", e);
+        }
+    }
+
+    public PostCounts getCounts() {
+        Counters currentCounters = counters;
+        return new PostCounts(
+                currentCounters.total.get(),
+                sortedByCount(currentCounters.byCategory),
+                sortedByCount(currentCounters.byTag)
+        );
+    }
+
+    private static Map<String, Long> sortedByCount(Map<String, Long> counts) {
+        Map<String, Long> sortedCounts = new LinkedHashMap<>();
+        counts.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+                .forEach(entry -> sortedCounts.put(entry.getKey(), entry.getValue()));
+        return Collections.unmodifiableMap(sortedCounts);
+    }
+
+    private static final class Counters {
+        private final AtomicLong total;
+        private final ConcurrentMap<String, Long> byCategory;
+        private final ConcurrentMap<String, Long> byTag;
+
+        private Counters(PostCounts counts) {
+            this.total = new AtomicLong(counts.total());
+            this.byCategory = new ConcurrentHashMap<>(counts.byCategory());
+            this.byTag = new ConcurrentHashMap<>(counts.byTag());
+        }
+
+        private void add(Post post, long delta) {
+            total.addAndGet(delta);
+            addTo(byCategory, post.getCategory(), delta);
+            for (String tag : post.getTags())
+                addTo(byTag, tag, delta);
+        }
+
+        private static void addTo(ConcurrentMap<String, Long> counts, String key, long delta) {
+            counts.compute(key, (countedKey, count) -> {
+                long newCount = (count == null ? 0 : count) + delta;
+                return newCount > 0 ? newCount : null;
+            });
+        }
+    }
+}
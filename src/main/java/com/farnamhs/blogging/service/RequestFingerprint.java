@@ -0,0 +1,45 @@
+package com.farnamhs.blogging.service;
+
+import com.farnamhs.blogging.dto.PostRequestDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+public final class RequestFingerprint {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private RequestFingerprint() {}
+
+    public static String of(PostRequestDto postRequestDto) {
+        try {
+            return HexFormat.of().formatHex(sha256().digest(OBJECT_MAPPER.writeValueAsBytes(postRequestDto)));
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException("Failed to fingerprint the post request", e);
+        }
+    }
+
+    public static String copyOf(InputStream inputStream, OutputStream copy) throws IOException {
+        MessageDigest digest = sha256();
+        try (DigestInputStream digestInputStream = new DigestInputStream(inputStream, digest)) {
+            digestInputStream.transferTo(copy);
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -2,7 +2,9 @@ package com.farnamhs.blogging.util;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Map;
 import java.util.Properties;
+import java.util.stream.Collectors;
 
 public class PropertiesReader {
 
@@ -18,4 +20,14 @@ public class PropertiesReader {
     public String getProperty(String key) {
         return properties.getProperty(key);
     }
+
+    public String getProperty(String key, String defaultValue) {
+        return properties.getProperty(key, defaultValue);
+    }
+
+    public Map<String, String> getProperties(String prefix) {
+        return properties.stringPropertyNames().stream()
+                .filter(key -> key.startsWith(prefix))
+                .collect(Collectors.toMap(key -> key.substring(prefix.length()), properties::getProperty));
+    }
 }
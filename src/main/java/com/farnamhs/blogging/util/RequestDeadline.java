@@ -0,0 +1,24 @@
+package com.farnamhs.blogging.util;
+
+import java.time.Duration;
+import java.util.Optional;
+
+public final class RequestDeadline {
+
+    private static final ThreadLocal<Long> CURRENT_DEADLINE = new ThreadLocal<>();
+
+    private RequestDeadline() {}
+
+    public static void start(Duration timeout) {
+        CURRENT_DEADLINE.set(System.nanoTime() + timeout.toNanos());
+    }
+
+    public static Optional<Duration> remaining() {
+        Long deadline = CURRENT_DEADLINE.get();
+        return deadline == null ? Optional.empty() : Optional.of(Duration.ofNanos(deadline - System.nanoTime()));
+    }
+
+    public static void clear() {
+        CURRENT_DEADLINE.remove();
+    }
+}
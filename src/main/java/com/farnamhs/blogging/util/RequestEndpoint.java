@@ -0,0 +1,23 @@
+package com.farnamhs.blogging.util;
+
+public final class RequestEndpoint {
+
+    public static final String UNKNOWN = "-";
+
+    private static final ThreadLocal<String> CURRENT_ENDPOINT = new ThreadLocal<>();
+
+    private RequestEndpoint() {}
+
+    public static void set(String endpoint) {
+        CURRENT_ENDPOINT.set(endpoint);
+    }
+
+    public static String current() {
+        String endpoint = CURRENT_ENDPOINT.get();
+        return endpoint == null ? UNKNOWN : endpoint;
+    }
+
+    public static void clear() {
+        CURRENT_ENDPOINT.remove();
+    }
+}
@@ -0,0 +1,17 @@
+CREATE TABLE post_change_sequence
+(
+    id       INT,
+    last_seq BIGINT NOT NULL,
+    PRIMARY KEY (id)
+);
+
+INSERT INTO post_change_sequence (id, last_seq) VALUES (1, 0);
+
+CREATE TABLE post_changes
+(
+    seq         BIGINT,
+    post_id     BIGINT      NOT NULL,
+    change_type VARCHAR(16) NOT NULL,
+    changed_at  TIMESTAMP   NOT NULL,
+    PRIMARY KEY (seq)
+);
@@ -0,0 +1,30 @@
+package com.farnamhs.blogging.integration.config;
+
+import com.farnamhs.blogging.config.Application;
+import com.farnamhs.blogging.config.StandaloneServer;
+import com.farnamhs.blogging.dao.LazyLoadMetrics;
+import org.glassfish.grizzly.http.server.HttpServer;
+import org.junit.jupiter.api.Test;
+
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ApplicationTest {
+
+    @Test
+    void must_unregister_its_mbeans_on_shutdown_so_the_application_can_be_started_again() throws Exception {
+        ObjectName lazyLoadMetricsName = new ObjectName(LazyLoadMetrics.OBJECT_NAME);
+
+        for (int deployment = 0; deployment < 2; deployment++) {
+            HttpServer httpServer = StandaloneServer.start(
+                    new Application("load-test-database.properties", "application.properties"),
+                    URI.create("http://localhost:0/"), 1, 2);
+            assertTrue(ManagementFactory.getPlatformMBeanServer().isRegistered(lazyLoadMetricsName));
+            httpServer.shutdownNow();
+            assertFalse(ManagementFactory.getPlatformMBeanServer().isRegistered(lazyLoadMetricsName));
+        }
+    }
+}
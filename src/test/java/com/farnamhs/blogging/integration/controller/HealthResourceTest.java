@@ -0,0 +1,61 @@
+package com.farnamhs.blogging.integration.controller;
+
+import com.farnamhs.blogging.config.StartupReadiness;
+import com.farnamhs.blogging.controller.HealthResource;
+import com.farnamhs.blogging.dto.HealthDto;
+import jakarta.ws.rs.core.Application;
+import jakarta.ws.rs.core.Response;
+import org.glassfish.jersey.server.ResourceConfig;
+import org.glassfish.jersey.test.JerseyTest;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static jakarta.ws.rs.core.MediaType.*;
+import static jakarta.ws.rs.core.Response.Status.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HealthResourceTest extends JerseyTest {
+
+    private StartupReadiness startupReadiness;
+
+    private CompletableFuture<Void> searchIndexRebuild;
+
+    @Override
+    protected Application configure() {
+        startupReadiness = new StartupReadiness();
+        startupReadiness.track("database", CompletableFuture.completedFuture(null));
+        searchIndexRebuild = startupReadiness.track("searchIndex", new CompletableFuture<>());
+        return new ResourceConfig().register(new HealthResource(startupReadiness));
+    }
+
+    @Test
+    void should_always_report_the_node_as_live_with_ok_status_code() {
+        Response actualResponse = target("health/live").request().get();
+
+        assertEquals(OK, actualResponse.getStatusInfo());
+        assertEquals(APPLICATION_JSON_TYPE, actualResponse.getMediaType());
+        assertEquals(new HealthDto("UP", null), actualResponse.readEntity(HealthDto.class));
+    }
+
+    @Test
+    void should_report_the_node_as_unavailable_until_startup_completes() {
+        Response actualResponse = target("health/ready").request().get();
+
+        assertEquals(SERVICE_UNAVAILABLE, actualResponse.getStatusInfo());
+        assertEquals(new HealthDto("DOWN", Map.of("database", "READY", "searchIndex", "PENDING")),
+                actualResponse.readEntity(HealthDto.class));
+    }
+
+    @Test
+    void should_report_the_node_as_ready_with_ok_status_code_once_startup_completes() {
+        searchIndexRebuild.complete(null);
+
+        Response actualResponse = target("health/ready").request().get();
+
+        assertEquals(OK, actualResponse.getStatusInfo());
+        assertEquals(new HealthDto("UP", Map.of("database", "READY", "searchIndex", "READY")),
+                actualResponse.readEntity(HealthDto.class));
+    }
+}
@@ -1,22 +1,50 @@
 package com.farnamhs.blogging.integration.controller;
 
 import com.farnamhs.blogging.controller.*;
+import com.farnamhs.blogging.dto.ImportErrorDto;
+import com.farnamhs.blogging.dto.ImportReportDto;
+import com.farnamhs.blogging.dto.PostChangeDto;
+import com.farnamhs.blogging.dto.PostChangesResponseDto;
 import com.farnamhs.blogging.dto.PostRequestDto;
+import com.farnamhs.blogging.dto.PostBatchResponseDto;
 import com.farnamhs.blogging.dto.PostResponseDto;
+import com.farnamhs.blogging.dto.PostStatsDto;
+import com.farnamhs.blogging.dto.RankedPostResponseDto;
+import com.farnamhs.blogging.dto.SuggestionDto;
+import com.farnamhs.blogging.entity.PostChangeType;
 import com.farnamhs.blogging.exception.*;
 import com.farnamhs.blogging.service.PostService;
+import com.farnamhs.blogging.util.RequestDeadline;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
 import jakarta.ws.rs.core.Application;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
 import jakarta.ws.rs.core.GenericType;
 import jakarta.ws.rs.core.Response;
 import org.glassfish.jersey.server.ResourceConfig;
 import org.glassfish.jersey.test.JerseyTest;
 import org.junit.jupiter.api.*;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.Clock;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.ZoneId;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
 
+import static com.farnamhs.blogging.controller.BinaryJacksonProvider.*;
 import static jakarta.ws.rs.client.Entity.*;
 import static jakarta.ws.rs.core.MediaType.*;
 import static jakarta.ws.rs.core.Response.Status.*;
@@ -37,7 +65,14 @@ public class PostResourceTest extends JerseyTest {
                 .register(NullPointerExceptionMapper.class)
                 .register(PostNotFoundExceptionMapper.class)
                 .register(DatabaseExceptionMapper.class)
-                .register(GlobalExceptionMapper.class);
+                .register(DeadlineExceededExceptionMapper.class)
+                .register(DatabaseUnavailableExceptionMapper.class)
+                .register(ChangeCursorExpiredExceptionMapper.class)
+                .register(new RequestDeadlineFilter(Duration.ofSeconds(10), Duration.ofSeconds(30),
+                        Map.of("PostResource.getStats", Duration.ZERO)))
+                .register(GlobalExceptionMapper.class)
+                .register(RequestEndpointFilter.class)
+                .register(BinaryJacksonProvider.class);
     }
 
     @BeforeAll
@@ -228,6 +263,104 @@ public class PostResourceTest extends JerseyTest {
         verify(postService).deletePost(9999);
     }
 
+    @Test
+    void should_pass_the_idempotency_key_of_a_create_request_to_the_service() {
+        PostRequestDto request = new PostRequestDto(
+                "My First Blog Post",
+                "This is the content of my first blog post.",
+                "Technology",
+                List.of("PROGRAMMING", "TECH")
+        );
+        PostResponseDto expectedEntityResponse = new PostResponseDto(
+                1,
+                "My First Blog Post",
+                "This is the content of my first blog post.",
+                "Technology",
+                List.of("PROGRAMMING", "TECH"),
+                Instant.now(fixedClock),
+                Instant.now(fixedClock)
+        );
+
+        when(postService.createPost(request, "retry-1")).thenReturn(expectedEntityResponse);
+        Response actualResponse = target("posts").request()
+                .header(PostResource.IDEMPOTENCY_KEY, "retry-1")
+                .post(json(request));
+
+        assertEquals(CREATED, actualResponse.getStatusInfo());
+        assertEquals(expectedEntityResponse, actualResponse.readEntity(PostResponseDto.class));
+        verify(postService).createPost(request, "retry-1");
+        verify(postService, never()).createPost(request);
+    }
+
+    @Test
+    void should_encode_the_post_in_cbor_when_the_client_accepts_it() throws IOException {
+        PostResponseDto expectedEntityResponse = new PostResponseDto(
+                1,
+                "My First Blog Post",
+                "This is the content of my first blog post.",
+                "Technology",
+                List.of("PROGRAMMING", "TECH"),
+                Instant.now(fixedClock),
+                Instant.now(fixedClock)
+        );
+
+        when(postService.getPost(1)).thenReturn(expectedEntityResponse);
+        Response actualResponse = target("posts/1").request(APPLICATION_CBOR).get();
+
+        assertEquals(OK, actualResponse.getStatusInfo());
+        assertEquals(APPLICATION_CBOR_TYPE, actualResponse.getMediaType());
+        ObjectMapper cborMapper = CBORMapper.builder().findAndAddModules().build();
+        assertEquals(expectedEntityResponse,
+                cborMapper.readValue(actualResponse.readEntity(byte[].class), PostResponseDto.class));
+    }
+
+    @Test
+    void should_accept_and_return_a_post_in_smile() throws IOException {
+        ObjectMapper smileMapper = SmileMapper.builder().findAndAddModules().build();
+        PostRequestDto request = new PostRequestDto(
+                "My First Blog Post",
+                "This is the content of my first blog post.",
+                "Technology",
+                List.of("PROGRAMMING", "TECH")
+        );
+        PostResponseDto expectedEntityResponse = new PostResponseDto(
+                1,
+                "My First Blog Post",
+                "This is the content of my first blog post.",
+                "Technology",
+                List.of("PROGRAMMING", "TECH"),
+                Instant.now(fixedClock),
+                Instant.now(fixedClock)
+        );
+
+        when(postService.createPost(request)).thenReturn(expectedEntityResponse);
+        Response actualResponse = target("posts").request(APPLICATION_SMILE)
+                .post(entity(smileMapper.writeValueAsBytes(request), APPLICATION_SMILE_TYPE));
+
+        assertEquals(CREATED, actualResponse.getStatusInfo());
+        assertEquals(APPLICATION_SMILE_TYPE, actualResponse.getMediaType());
+        assertEquals(expectedEntityResponse,
+                smileMapper.readValue(actualResponse.readEntity(byte[].class), PostResponseDto.class));
+    }
+
+    @Test
+    void should_keep_json_as_the_default_encoding_when_the_client_accepts_anything() {
+        when(postService.searchPosts("")).thenReturn(List.of());
+        Response actualResponse = target("posts").request(WILDCARD).get();
+
+        assertEquals(OK, actualResponse.getStatusInfo());
+        assertEquals(APPLICATION_JSON_TYPE, actualResponse.getMediaType());
+    }
+
+    @Test
+    void must_prevent_with_bad_request_status_code_if_the_cbor_request_body_is_malformed() {
+        Response actualResponse = target("posts").request()
+                .post(entity(new byte[]{(byte) 0xff, 0x01}, APPLICATION_CBOR_TYPE));
+
+        assertEquals(BAD_REQUEST, actualResponse.getStatusInfo());
+        verify(postService, never()).createPost(any());
+    }
+
     @Test
     void should_be_able_to_get_a_post_with_ok_status_code() {
         PostResponseDto expectedEntityResponse = new PostResponseDto(
@@ -258,6 +391,27 @@ public class PostResourceTest extends JerseyTest {
         verify(postService).getPost(9999);
     }
 
+    @Test
+    void should_record_a_request_event_with_the_resource_method_post_id_and_status_when_enabled() throws IOException {
+        when(postService.getPost(9999)).thenThrow(new PostNotFoundException());
+        Path recordingFile = Files.createTempFile("requests", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("com.farnamhs.blogging.Request");
+            recording.start();
+            target("posts/9999").request().get().close();
+            recording.stop();
+            recording.dump(recordingFile);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(recordingFile);
+        Files.delete(recordingFile);
+        assertEquals(1, events.size());
+        assertEquals("GET", events.get(0).getString("httpMethod"));
+        assertEquals("PostResource.getPost", events.get(0).getString("resourceMethod"));
+        assertEquals(9999, events.get(0).getLong("postId"));
+        assertEquals(404, events.get(0).getInt("status"));
+    }
+
     @Test
     void should_be_able_to_return_all_posts_with_ok_status_code() {
         List<PostResponseDto> expectedEntitiesResponse = List.of(
@@ -332,6 +486,68 @@ public class PostResourceTest extends JerseyTest {
         verify(postService).getPost(1);
     }
 
+    @Test
+    void must_handle_deadline_exceeded_exception_with_gateway_timeout_status_code() {
+        when(postService.getPost(1)).thenThrow(new DeadlineExceededException("Request deadline exceeded"));
+        Response actualResponse = target("posts/1").request().get();
+
+        assertEquals(GATEWAY_TIMEOUT, actualResponse.getStatusInfo());
+        assertEquals("Request deadline exceeded", actualResponse.readEntity(String.class));
+        verify(postService).getPost(1);
+    }
+
+    @Test
+    void must_carry_the_requested_timeout_capped_at_the_maximum_as_the_request_deadline() {
+        List<Optional<Duration>> remainingTimes = new ArrayList<>();
+        when(postService.getPost(1)).thenAnswer(invocation -> {
+            remainingTimes.add(RequestDeadline.remaining());
+            return new PostResponseDto(1, "Title", "Content", "Category", List.of(), null, null);
+        });
+
+        target("posts/1").request().get();
+        target("posts/1").request().header(RequestDeadlineFilter.REQUEST_TIMEOUT, "500").get();
+        target("posts/1").request().header(RequestDeadlineFilter.REQUEST_TIMEOUT, "600000").get();
+
+        assertTrue(Duration.ofSeconds(9).compareTo(remainingTimes.get(0).orElseThrow()) < 0);
+        assertTrue(Duration.ofMillis(500).compareTo(remainingTimes.get(1).orElseThrow()) >= 0);
+        assertTrue(Duration.ofSeconds(30).compareTo(remainingTimes.get(2).orElseThrow()) >= 0);
+        assertTrue(Duration.ofSeconds(10).compareTo(remainingTimes.get(2).orElseThrow()) < 0);
+    }
+
+    @Test
+    void should_not_start_a_request_deadline_for_an_endpoint_without_a_timeout() {
+        List<Optional<Duration>> remainingTimes = new ArrayList<>();
+        when(postService.getStats()).thenAnswer(invocation -> {
+            remainingTimes.add(RequestDeadline.remaining());
+            return new PostStatsDto(0, Map.of(), Map.of());
+        });
+
+        target("posts/stats").request().get();
+
+        assertEquals(List.of(Optional.empty()), remainingTimes);
+    }
+
+    @Test
+    void should_return_bad_request_if_the_requested_timeout_is_invalid() {
+        Response invalidResponse = target("posts/1").request().header(RequestDeadlineFilter.REQUEST_TIMEOUT, "soon").get();
+        Response negativeResponse = target("posts/1").request().header(RequestDeadlineFilter.REQUEST_TIMEOUT, "-5").get();
+
+        assertEquals(BAD_REQUEST, invalidResponse.getStatusInfo());
+        assertEquals(BAD_REQUEST, negativeResponse.getStatusInfo());
+        verifyNoInteractions(postService);
+    }
+
+    @Test
+    void must_handle_an_unavailable_database_with_service_unavailable_status_code_and_retry_after() {
+        when(postService.getPost(1)).thenThrow(new DatabaseUnavailableException("Database is unavailable", Duration.ofMillis(4200)));
+        Response actualResponse = target("posts/1").request().get();
+
+        assertEquals(SERVICE_UNAVAILABLE, actualResponse.getStatusInfo());
+        assertEquals("5", actualResponse.getHeaderString("Retry-After"));
+        assertEquals("Database is unavailable", actualResponse.readEntity(String.class));
+        verify(postService).getPost(1);
+    }
+
     @Test
     void must_handle_other_exceptions_with_internal_server_error_status_code() {
         when(postService.getPost(1)).thenThrow(new RuntimeException("Some unknown error!"));
@@ -341,4 +557,226 @@ public class PostResourceTest extends JerseyTest {
         assertEquals(TEXT_PLAIN_TYPE, actualResponse.getMediaType());
         verify(postService).getPost(1);
     }
-}
\ No newline at end of file
+
+    @Test
+    void should_be_able_to_return_the_changes_since_a_cursor_with_ok_status_code() {
+        PostChangesResponseDto expectedChangesResponse = new PostChangesResponseDto(
+                List.of(
+                        new PostChangeDto(
+                                4,
+                                PostChangeType.UPDATED,
+                                1,
+                                Instant.now(fixedClock),
+                                new PostResponseDto(
+                                        1,
+                                        "My Updated Blog Post",
+                                        "This is the updated content of my first blog post.",
+                                        "Technology",
+                                        List.of("PROGRAMMING", "TECH"),
+                                        Instant.now(fixedClock),
+                                        Instant.now(fixedClock)
+                                )
+                        ),
+                        new PostChangeDto(5, PostChangeType.DELETED, 2, Instant.now(fixedClock), null)
+                ),
+                5
+        );
+
+        when(postService.getChanges(3, 50, 10)).thenReturn(expectedChangesResponse);
+        Response actualResponse = target("posts/changes")
+                .queryParam("since", 3)
+                .queryParam("limit", 50)
+                .queryParam("wait", 10)
+                .request().get();
+
+        assertEquals(OK, actualResponse.getStatusInfo());
+        assertEquals(APPLICATION_JSON_TYPE, actualResponse.getMediaType());
+        assertEquals(expectedChangesResponse, actualResponse.readEntity(PostChangesResponseDto.class));
+        verify(postService).getChanges(3, 50, 10);
+    }
+
+    @Test
+    void should_return_gone_if_the_changes_after_the_cursor_are_no_longer_retained() {
+        when(postService.getChanges(3, 100, 0))
+                .thenThrow(new ChangeCursorExpiredException("Changes after the cursor are no longer retained"));
+        Response actualResponse = target("posts/changes").queryParam("since", 3).request().get();
+
+        assertEquals(GONE, actualResponse.getStatusInfo());
+        assertEquals(TEXT_PLAIN_TYPE, actualResponse.getMediaType());
+        verify(postService).getChanges(3, 100, 0);
+    }
+
+    @Test
+    void should_be_able_to_export_all_posts_as_newline_delimited_json() {
+        mockExportedPosts();
+        Response actualResponse = target("posts/export").request().get();
+
+        assertEquals(OK, actualResponse.getStatusInfo());
+        assertEquals(PostResource.APPLICATION_NDJSON, actualResponse.getMediaType().toString());
+        assertEquals(List.of(
+                "{\"id\":1,\"title\":\"First\",\"content\":\"Content\",\"category\":\"Tech\",\"tags\":[\"JAVA\"]," +
+                        "\"createdAt\":\"2024-10-03T12:03:00Z\",\"updatedAt\":\"2024-10-03T12:03:00Z\"}",
+                "{\"id\":2,\"title\":\"Second\",\"content\":\"Content\",\"category\":\"Tech\",\"tags\":[]," +
+                        "\"createdAt\":\"2024-10-03T12:03:00Z\",\"updatedAt\":\"2024-10-03T12:03:00Z\"}"
+        ), actualResponse.readEntity(String.class).lines().toList());
+    }
+
+    @Test
+    void should_gzip_the_export_if_the_client_accepts_it() throws IOException {
+        mockExportedPosts();
+        Response actualResponse = target("posts/export").request().header("Accept-Encoding", "gzip, deflate").get();
+
+        assertEquals(OK, actualResponse.getStatusInfo());
+        assertEquals("gzip", actualResponse.getHeaderString("Content-Encoding"));
+        try (InputStream inputStream = new GZIPInputStream(actualResponse.readEntity(InputStream.class))) {
+            assertEquals(2, new String(inputStream.readAllBytes(), StandardCharsets.UTF_8).lines().count());
+        }
+    }
+
+    @Test
+    void should_not_gzip_the_export_if_the_client_refuses_gzip_with_a_zero_quality() {
+        mockExportedPosts();
+        Response actualResponse = target("posts/export").request().header("Accept-Encoding", "gzip;q=0, *;q=1").get();
+
+        assertEquals(OK, actualResponse.getStatusInfo());
+        assertNull(actualResponse.getHeaderString("Content-Encoding"));
+        assertEquals(2, actualResponse.readEntity(String.class).lines().count());
+    }
+
+    @Test
+    void should_gzip_the_export_if_the_client_accepts_any_encoding() {
+        mockExportedPosts();
+        Response actualResponse = target("posts/export").request().header("Accept-Encoding", "identity;q=0.5, *;q=0.8").get();
+
+        assertEquals("gzip", actualResponse.getHeaderString("Content-Encoding"));
+    }
+
+    private void mockExportedPosts() {
+        doAnswer(invocation -> {
+            Consumer<PostResponseDto> consumer = invocation.getArgument(0);
+            consumer.accept(new PostResponseDto(1, "First", "Content", "Tech", List.of("JAVA"),
+                    Instant.now(fixedClock), Instant.now(fixedClock)));
+            consumer.accept(new PostResponseDto(2, "Second", "Content", "Tech", List.of(),
+                    Instant.now(fixedClock), Instant.now(fixedClock)));
+            return null;
+        }).when(postService).exportPosts(any());
+    }
+
+    @Test
+    void should_be_able_to_import_newline_delimited_posts_and_return_the_report_with_ok_status_code() {
+        ImportReportDto expectedReport = new ImportReportDto(2, 1, 1, true,
+                List.of(new ImportErrorDto(2, "Title cannot be EMPTY or BLANK")));
+
+        when(postService.importPosts(any())).thenReturn(expectedReport);
+        Response actualResponse = target("posts/import").request()
+                .post(entity("{\"title\":\"First\"}\n{\"title\":\" \"}", PostResource.APPLICATION_NDJSON));
+
+        assertEquals(OK, actualResponse.getStatusInfo());
+        assertEquals(APPLICATION_JSON_TYPE, actualResponse.getMediaType());
+        assertEquals(expectedReport, actualResponse.readEntity(ImportReportDto.class));
+        verify(postService).importPosts(any());
+    }
+
+    @Test
+    void should_be_able_to_return_the_post_counts_per_category_and_tag_with_ok_status_code() {
+        PostStatsDto expectedStats = new PostStatsDto(3, Map.of("Technology", 2L, "News", 1L), Map.of("JAVA", 2L));
+
+        when(postService.getStats()).thenReturn(expectedStats);
+        Response actualResponse = target("posts/stats").request().get();
+
+        assertEquals(OK, actualResponse.getStatusInfo());
+        assertEquals(APPLICATION_JSON_TYPE, actualResponse.getMediaType());
+        assertEquals(expectedStats, actualResponse.readEntity(PostStatsDto.class));
+        verify(postService).getStats();
+    }
+
+    @Test
+    void should_be_able_to_return_only_the_requested_fields_of_a_post_with_ok_status_code() {
+        PostResponseDto expectedPostResponse = new PostResponseDto(1, "My First Blog Post", null, "Technology", null, null, null);
+
+        when(postService.getPost(1, "title,category")).thenReturn(expectedPostResponse);
+        Response actualResponse = target("posts/1").queryParam("fields", "title,category").request().get();
+
+        assertEquals(OK, actualResponse.getStatusInfo());
+        assertEquals("{\"id\":1,\"title\":\"My First Blog Post\",\"category\":\"Technology\"}",
+                actualResponse.readEntity(String.class));
+        verify(postService).getPost(1, "title,category");
+    }
+
+    @Test
+    void should_be_able_to_search_only_the_requested_fields_of_posts_with_ok_status_code() {
+        List<PostResponseDto> expectedEntitiesResponse = List.of(
+                new PostResponseDto(1, "My First Blog Post", null, null, List.of("TECH"), null, null));
+
+        when(postService.searchPosts("tech", "title,tags")).thenReturn(expectedEntitiesResponse);
+        Response actualResponse = target("posts").queryParam("term", "tech").queryParam("fields", "title,tags").request().get();
+
+        assertEquals(OK, actualResponse.getStatusInfo());
+        assertIterableEquals(expectedEntitiesResponse, actualResponse.readEntity(new GenericType<List<PostResponseDto>>() {}));
+        verify(postService).searchPosts("tech", "title,tags");
+    }
+
+    @Test
+    void should_be_able_to_get_a_batch_of_posts_by_their_ids_with_ok_status_code() {
+        PostBatchResponseDto expectedPostsResponse = new PostBatchResponseDto(List.of(
+                new PostResponseDto(3, "My Third Blog Post", "Content", "Technology", List.of("TECH"), null, null)),
+                List.of(7L));
+
+        when(postService.getPosts("3,7")).thenReturn(expectedPostsResponse);
+        Response actualResponse = target("posts").queryParam("ids", "3,7").request().get();
+
+        assertEquals(OK, actualResponse.getStatusInfo());
+        assertEquals(expectedPostsResponse, actualResponse.readEntity(PostBatchResponseDto.class));
+        verify(postService).getPosts("3,7");
+    }
+
+    @Test
+    void should_return_bad_request_if_ids_are_combined_with_a_search_term() {
+        Response actualResponse = target("posts").queryParam("ids", "1").queryParam("term", "tech").request().get();
+
+        assertEquals(BAD_REQUEST, actualResponse.getStatusInfo());
+        verifyNoInteractions(postService);
+    }
+
+    @Test
+    void should_be_able_to_return_posts_ranked_by_relevance_with_their_scores() {
+        List<RankedPostResponseDto> expectedRankedPosts = List.of(new RankedPostResponseDto(2.5,
+                new PostResponseDto(1, "My First Blog Post", "Content", "Technology", List.of("TECH"), null, null)));
+
+        when(postService.rankPosts("first post", 5, false)).thenReturn(expectedRankedPosts);
+        Response actualResponse = target("posts/search").queryParam("q", "first post").queryParam("limit", 5).request().get();
+
+        assertEquals(OK, actualResponse.getStatusInfo());
+        assertIterableEquals(expectedRankedPosts, actualResponse.readEntity(new GenericType<List<RankedPostResponseDto>>() {}));
+        verify(postService).rankPosts("first post", 5, false);
+    }
+
+    @Test
+    void should_be_able_to_rank_posts_with_typo_tolerance_with_ok_status_code() {
+        when(postService.rankPosts("frist", 10, true)).thenReturn(List.of());
+        Response actualResponse = target("posts/search").queryParam("q", "frist").queryParam("fuzzy", true).request().get();
+
+        assertEquals(OK, actualResponse.getStatusInfo());
+        verify(postService).rankPosts("frist", 10, true);
+    }
+
+    @Test
+    void should_not_be_able_to_rank_posts_without_a_query_and_return_bad_request_status_code() {
+        when(postService.rankPosts("", 10, false)).thenThrow(new IllegalArgumentException("Search query cannot be BLANK"));
+        Response actualResponse = target("posts/search").request().get();
+
+        assertEquals(BAD_REQUEST, actualResponse.getStatusInfo());
+    }
+
+    @Test
+    void should_be_able_to_suggest_completions_of_a_prefix_with_ok_status_code() {
+        List<SuggestionDto> expectedSuggestions = List.of(new SuggestionDto("PROGRAMMING", 2), new SuggestionDto("My First Blog Post", 1));
+
+        when(postService.suggestPosts("p", 10)).thenReturn(expectedSuggestions);
+        Response actualResponse = target("posts/suggest").queryParam("prefix", "p").request().get();
+
+        assertEquals(OK, actualResponse.getStatusInfo());
+        assertIterableEquals(expectedSuggestions, actualResponse.readEntity(new GenericType<List<SuggestionDto>>() {}));
+        verify(postService).suggestPosts("p", 10);
+    }
+}
@@ -1,20 +1,42 @@
 package com.farnamhs.blogging.integration.dao;
 
 import com.farnamhs.blogging.config.DatabaseInitializer;
+import com.farnamhs.blogging.config.MigrationMode;
+import com.farnamhs.blogging.dao.LazyLoadMetrics;
 import com.farnamhs.blogging.dao.PostDaoImpl;
+import com.farnamhs.blogging.dao.StatementProfiler;
+import com.farnamhs.blogging.entity.ChangedPost;
 import com.farnamhs.blogging.entity.Post;
+import com.farnamhs.blogging.entity.PostChange;
+import com.farnamhs.blogging.entity.PostChangeType;
+import com.farnamhs.blogging.entity.PostCounts;
+import com.farnamhs.blogging.entity.PostField;
+import com.farnamhs.blogging.entity.ProjectedPost;
+import com.farnamhs.blogging.entity.TombstoneStats;
+import com.farnamhs.blogging.exception.DeadlineExceededException;
 import com.farnamhs.blogging.util.PropertiesReader;
+import com.farnamhs.blogging.util.RequestDeadline;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
 import org.h2.jdbcx.JdbcDataSource;
 import org.h2.tools.RunScript;
 import org.junit.jupiter.api.*;
 
 import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.time.Clock;
+import java.time.Duration;
 import java.time.Instant;
+import java.time.LocalDateTime;
 import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 
@@ -39,7 +61,7 @@ public class PostDaoImplTest {
         JdbcDataSource dataSource = new JdbcDataSource();
         dataSource.setURL(url);
         connection = dataSource.getConnection();
-        DatabaseInitializer.initialize(reader);
+        DatabaseInitializer.initialize(reader, MigrationMode.MIGRATE);
     }
 
     @BeforeEach
@@ -48,7 +70,7 @@ public class PostDaoImplTest {
                 Objects.requireNonNull(getClass().getClassLoader().getResourceAsStream("data.sql")));
         RunScript.execute(connection, dataInputStreamReader);
         dataInputStreamReader.close();
-        postDaoImpl = new PostDaoImpl(url);
+        postDaoImpl = new PostDaoImpl(url, fixedClock);
     }
 
     @AfterAll
@@ -140,6 +162,63 @@ public class PostDaoImplTest {
         assertTrue(postDaoImpl.findById(1).isEmpty());
     }
 
+    @Test
+    void must_hide_a_deleted_post_from_every_read_until_it_is_purged() {
+        postDaoImpl.deleteById(2);
+
+        assertTrue(postDaoImpl.findById(2).isEmpty());
+        assertTrue(postDaoImpl.findById(2, EnumSet.of(PostField.TITLE)).isEmpty());
+        assertEquals(List.of(1L, 3L), postDaoImpl.findBySearchTerm("Post").stream().map(Post::getId).toList());
+        List<Long> streamedPostIds = new ArrayList<>();
+        postDaoImpl.forEachPost(post -> streamedPostIds.add(post.getId()));
+        assertEquals(List.of(1L, 3L), streamedPostIds);
+        assertEquals(new PostCounts(2, Map.of("Category 1", 1L, "Category 3", 1L),
+                Map.of("TECHNOLOGY", 1L, "INTERNET", 1L)), postDaoImpl.countPosts());
+        assertTrue(postDaoImpl.update(new Post(2, "Title", "Content", "Category", List.of(),
+                Instant.now(fixedClock), Instant.now(fixedClock))).isEmpty());
+        assertFalse(postDaoImpl.deleteById(2));
+        assertEquals(new TombstoneStats(1, Optional.of(Instant.now(fixedClock))), postDaoImpl.getTombstoneStats());
+    }
+
+    @Test
+    void must_purge_only_the_changes_older_than_the_cutoff_in_batches() {
+        postDaoImpl.deleteById(1);
+        postDaoImpl.deleteById(2);
+        long changes = postDaoImpl.findChangesSince(0, 100).size();
+
+        assertEquals(0, postDaoImpl.purgeChangesBefore(Instant.now(fixedClock), 10));
+        assertEquals(1, postDaoImpl.purgeChangesBefore(Instant.now(fixedClock).plusSeconds(1), 1));
+        assertEquals(changes - 1, postDaoImpl.findChangesSince(0, 100).size());
+        assertEquals(changes - 1, postDaoImpl.purgeChangesBefore(Instant.now(fixedClock).plusSeconds(1), 10));
+        assertTrue(postDaoImpl.findChangesSince(0, 100).isEmpty());
+    }
+
+    @Test
+    void must_return_the_oldest_retained_change_sequence_or_the_next_one_if_none_are_retained() {
+        assertEquals(1, postDaoImpl.findOldestChangeSequence());
+        postDaoImpl.deleteById(1);
+        postDaoImpl.deleteById(2);
+        assertEquals(1, postDaoImpl.findOldestChangeSequence());
+
+        postDaoImpl.purgeChangesBefore(Instant.now(fixedClock).plusSeconds(1), 1);
+        assertEquals(2, postDaoImpl.findOldestChangeSequence());
+        postDaoImpl.purgeChangesBefore(Instant.now(fixedClock).plusSeconds(1), 10);
+        assertEquals(3, postDaoImpl.findOldestChangeSequence());
+    }
+
+    @Test
+    void must_purge_deleted_posts_in_batches_of_the_given_size() {
+        postDaoImpl.deleteById(1);
+        postDaoImpl.deleteById(2);
+
+        assertEquals(1, postDaoImpl.purgeDeletedPosts(1));
+        assertEquals(1, postDaoImpl.getTombstoneStats().count());
+        assertEquals(1, postDaoImpl.purgeDeletedPosts(10));
+        assertEquals(0, postDaoImpl.purgeDeletedPosts(10));
+        assertEquals(new TombstoneStats(0, Optional.empty()), postDaoImpl.getTombstoneStats());
+        assertEquals(3, postDaoImpl.findById(3).orElseThrow().getId());
+    }
+
     @Test
     void should_be_empty_if_finding_a_non_exist_post_from_the_database() {
         Optional<Post> actual = postDaoImpl.findById(9999);
@@ -166,6 +245,38 @@ public class PostDaoImplTest {
         assertEquals(expected, actual);
     }
 
+    @Test
+    void must_find_the_posts_with_their_tags_in_the_requested_order_skipping_missing_and_deleted_ones() {
+        postDaoImpl.deleteById(2);
+
+        List<Post> actual = postDaoImpl.findByIds(List.of(3L, 9999L, 2L, 1L, 3L));
+
+        assertEquals(List.of(3L, 1L), actual.stream().map(Post::getId).toList());
+        assertEquals(List.of(), actual.get(0).getTags());
+        assertEquals(List.of("INTERNET", "TECHNOLOGY"), actual.get(1).getTags());
+        assertEquals(List.of(), postDaoImpl.findByIds(List.of()));
+    }
+
+    @Test
+    void must_run_the_queries_within_the_request_deadline() {
+        RequestDeadline.start(Duration.ofSeconds(5));
+        try {
+            assertTrue(postDaoImpl.findById(1).isPresent());
+        } finally {
+            RequestDeadline.clear();
+        }
+    }
+
+    @Test
+    void should_fail_without_querying_if_the_request_deadline_has_passed() {
+        RequestDeadline.start(Duration.ofMillis(-1));
+        try {
+            assertThrows(DeadlineExceededException.class, () -> postDaoImpl.findBySearchTerm("Post"));
+        } finally {
+            RequestDeadline.clear();
+        }
+    }
+
     @Test
     void should_return_an_empty_list_if_search_term_does_not_match() {
         List<Post> actual = postDaoImpl.findBySearchTerm("NothingMatchesThisTerm");
@@ -200,4 +311,215 @@ public class PostDaoImplTest {
 
         assertIterableEquals(expected, actual);
     }
+
+    @Test
+    void must_record_created_updated_and_deleted_posts_as_changes_in_commit_order() {
+        Post savedPost = postDaoImpl.save(new Post(
+                "New Post",
+                "The content of the new post",
+                "Misc",
+                List.of("FRESH", "NEW"),
+                Instant.now(fixedClock)
+        ));
+        Post updatedPost = postDaoImpl.update(new Post(
+                2,
+                "Updated Post 2",
+                "This is the content for post 2",
+                "Category 2",
+                List.of("JAVA"),
+                Instant.parse("2023-11-17T09:11:32Z"),
+                Instant.now(fixedClock)
+        )).orElseThrow();
+        postDaoImpl.deleteById(3);
+        List<PostChange> expected = List.of(
+                new PostChange(1, savedPost.getId(), PostChangeType.CREATED, Instant.now(fixedClock), savedPost),
+                new PostChange(2, 2, PostChangeType.UPDATED, Instant.now(fixedClock), updatedPost),
+                new PostChange(3, 3, PostChangeType.DELETED, Instant.now(fixedClock), null)
+        );
+
+        List<PostChange> actual = postDaoImpl.findChangesSince(0, 10);
+
+        assertIterableEquals(expected, actual);
+    }
+
+    @Test
+    void must_page_the_changes_after_the_given_sequence() {
+        postDaoImpl.deleteById(1);
+        postDaoImpl.deleteById(2);
+        postDaoImpl.deleteById(3);
+
+        List<PostChange> actual = postDaoImpl.findChangesSince(1, 1);
+
+        assertEquals(1, actual.size());
+        assertEquals(2, actual.get(0).getSequence());
+        assertEquals(2, actual.get(0).getPostId());
+    }
+
+    @Test
+    void must_list_the_ids_of_the_changed_posts_after_the_given_sequence() {
+        postDaoImpl.deleteById(1);
+        postDaoImpl.deleteById(3);
+        postDaoImpl.deleteById(2);
+
+        assertEquals(3, postDaoImpl.findLatestChangeSequence());
+        assertEquals(List.of(new ChangedPost(2, 3), new ChangedPost(3, 2)), postDaoImpl.findChangedPostsSince(1, 10));
+        assertEquals(List.of(new ChangedPost(2, 3)), postDaoImpl.findChangedPostsSince(1, 1));
+        assertEquals(List.of(), postDaoImpl.findChangedPostsSince(3, 10));
+    }
+
+    @Test
+    void should_not_record_a_change_if_nothing_was_deleted() {
+        postDaoImpl.deleteById(9999);
+
+        assertTrue(postDaoImpl.findChangesSince(0, 10).isEmpty());
+    }
+
+    @Test
+    void must_notify_the_change_listeners_after_a_write_is_committed() {
+        List<PostChange> notifiedChanges = new ArrayList<>();
+        postDaoImpl.addChangeListener((change, previousPost) -> notifiedChanges.add(change));
+
+        postDaoImpl.deleteById(1);
+
+        assertIterableEquals(postDaoImpl.findChangesSince(0, 10), notifiedChanges);
+    }
+
+    @Test
+    void must_stream_every_post_with_its_tags_in_id_order() {
+        List<Post> expected = List.of(
+                postDaoImpl.findById(1).orElseThrow(),
+                postDaoImpl.findById(2).orElseThrow(),
+                postDaoImpl.findById(3).orElseThrow()
+        );
+        List<Post> actual = new ArrayList<>();
+
+        postDaoImpl.forEachPost(actual::add);
+
+        assertIterableEquals(expected, actual);
+    }
+
+    @Test
+    void must_be_able_to_save_a_batch_of_posts_with_their_tags_and_changes() {
+        List<Post> posts = List.of(
+                new Post("First Imported Post", "Imported content", "Import", List.of("BULK"), Instant.now(fixedClock)),
+                new Post("Second Imported Post", "Imported content", "Import", List.of(), Instant.now(fixedClock))
+        );
+
+        List<Post> actual = postDaoImpl.saveAll(posts);
+
+        assertEquals(List.of(4L, 5L), actual.stream().map(Post::getId).toList());
+        assertEquals(Optional.of(actual.get(0)), postDaoImpl.findById(4));
+        assertEquals(Optional.of(actual.get(1)), postDaoImpl.findById(5));
+        assertEquals(List.of(4L, 5L), postDaoImpl.findChangesSince(0, 10).stream().map(PostChange::getPostId).toList());
+    }
+
+    @Test
+    void must_count_the_posts_per_category_and_per_tag() {
+        PostCounts expected = new PostCounts(
+                3,
+                Map.of("Category 1", 1L, "Category 2", 1L, "Category 3", 1L),
+                Map.of("TECHNOLOGY", 1L, "INTERNET", 1L, "JAVA", 1L, "PROGRAMMING", 1L, "COMPUTER", 1L)
+        );
+
+        PostCounts actual = postDaoImpl.countPosts();
+
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    void must_pass_the_previous_state_of_an_updated_or_deleted_post_to_the_change_listeners() {
+        Post previousPost = postDaoImpl.findById(1).orElseThrow();
+        List<Optional<Post>> notifiedPreviousPosts = new ArrayList<>();
+        postDaoImpl.addChangeListener((change, post) -> notifiedPreviousPosts.add(post));
+
+        postDaoImpl.deleteById(1);
+
+        assertEquals(List.of(Optional.of(previousPost)), notifiedPreviousPosts);
+    }
+
+    @Test
+    void must_find_only_the_requested_fields_of_a_post() {
+        Optional<ProjectedPost> expected = Optional.of(new ProjectedPost(
+                1, "Updated Post 1", null, null, null, null,
+                LocalDateTime.parse("2024-09-29T07:16:32").atZone(ZoneId.systemDefault()).toInstant()));
+
+        Optional<ProjectedPost> actual = postDaoImpl.findById(1, EnumSet.of(PostField.TITLE, PostField.UPDATED_AT));
+
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    void should_be_empty_if_finding_the_fields_of_a_non_exist_post() {
+        assertTrue(postDaoImpl.findById(9999, EnumSet.of(PostField.TITLE)).isEmpty());
+    }
+
+    @Test
+    void must_search_only_the_requested_fields_and_tags_of_the_posts() {
+        List<ProjectedPost> expected = List.of(
+                new ProjectedPost(2, "New Post 2", null, "Category 2", List.of("COMPUTER", "JAVA", "PROGRAMMING"), null, null),
+                new ProjectedPost(3, "New Post 3", null, "Category 3", List.of(), null, null)
+        );
+
+        List<ProjectedPost> actual = postDaoImpl.findBySearchTerm("New",
+                EnumSet.of(PostField.TITLE, PostField.CATEGORY, PostField.TAGS));
+
+        assertIterableEquals(expected, actual);
+    }
+
+    @Test
+    void must_load_the_content_and_tags_of_a_lazy_post_only_on_first_access() {
+        LazyLoadMetrics lazyLoadMetrics = new LazyLoadMetrics();
+        PostDaoImpl lazyPostDao = new PostDaoImpl(url, fixedClock, lazyLoadMetrics);
+
+        Post post = lazyPostDao.findLazyById(1).orElseThrow();
+
+        assertEquals("Updated Post 1", post.getTitle());
+        assertFalse(post.isContentLoaded());
+        assertFalse(post.isTagsLoaded());
+        assertEquals(2, lazyLoadMetrics.getSkippedLoads());
+        assertEquals(List.of("INTERNET", "TECHNOLOGY"), post.getTags());
+        assertEquals(List.of("INTERNET", "TECHNOLOGY"), post.getTags());
+        assertTrue(post.isTagsLoaded());
+        assertFalse(post.isContentLoaded());
+        assertEquals(1, lazyLoadMetrics.getPerformedLoads());
+        assertEquals(1, lazyLoadMetrics.getSkippedLoads());
+        assertEquals(postDaoImpl.findById(1), Optional.of(post));
+    }
+
+    @Test
+    void should_be_empty_if_finding_a_non_exist_lazy_post() {
+        assertTrue(postDaoImpl.findLazyById(9999).isEmpty());
+    }
+
+    @Test
+    void must_time_and_count_every_statement_per_sql_id() {
+        StatementProfiler statementProfiler = new StatementProfiler(Duration.ofHours(1), Runnable::run);
+        PostDaoImpl profiledPostDao = new PostDaoImpl(url, fixedClock, new LazyLoadMetrics(), statementProfiler);
+
+        profiledPostDao.findBySearchTerm("New");
+
+        assertEquals(1, statementProfiler.getStatements().get("SELECT_POSTS_LIKE_SQL").getExecutions());
+        assertEquals(2, statementProfiler.getStatements().get("SELECT_POSTS_LIKE_SQL").getRows());
+        assertEquals(3.0, statementProfiler.getStatements().get("SELECT_POSTS_LIKE_SQL").getAverageSearchTermLength());
+        assertEquals(3, statementProfiler.getStatements().get("SELECT_POSTS_TAGS_NAMES").getRows());
+    }
+
+    @Test
+    void must_record_an_operation_event_with_its_rows_and_connection_wait_when_enabled() throws IOException {
+        Path recordingFile = Files.createTempFile("dao", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("com.farnamhs.blogging.DaoOperation");
+            recording.start();
+            postDaoImpl.findBySearchTerm("New");
+            recording.stop();
+            recording.dump(recordingFile);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(recordingFile);
+        Files.delete(recordingFile);
+        assertEquals(1, events.size());
+        assertEquals("findBySearchTerm", events.get(0).getString("operation"));
+        assertEquals(2, events.get(0).getLong("rows"));
+        assertTrue(events.get(0).getDuration("connectionWait").compareTo(events.get(0).getDuration()) <= 0);
+    }
 }
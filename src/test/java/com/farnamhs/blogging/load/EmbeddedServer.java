@@ -0,0 +1,39 @@
+package com.farnamhs.blogging.load;
+
+import com.farnamhs.blogging.config.Application;
+import com.farnamhs.blogging.config.StandaloneServer;
+import org.glassfish.grizzly.http.server.HttpServer;
+
+import java.io.IOException;
+import java.net.URI;
+
+public class EmbeddedServer implements AutoCloseable {
+
+    private final HttpServer httpServer;
+    private final URI baseUri;
+
+    private EmbeddedServer(HttpServer httpServer, URI baseUri) {
+        this.httpServer = httpServer;
+        this.baseUri = baseUri;
+    }
+
+    public static EmbeddedServer start(String databasePropertiesFileName) throws IOException {
+        int availableProcessors = Runtime.getRuntime().availableProcessors();
+        HttpServer httpServer = StandaloneServer.start(
+                new Application(databasePropertiesFileName, "application.properties"),
+                URI.create("http://localhost:0/"),
+                availableProcessors,
+                availableProcessors * 2
+        );
+        return new EmbeddedServer(httpServer, URI.create("http://localhost:" + StandaloneServer.getPort(httpServer) + "/api/"));
+    }
+
+    public URI getBaseUri() {
+        return baseUri;
+    }
+
+    @Override
+    public void close() {
+        httpServer.shutdownNow();
+    }
+}
@@ -0,0 +1,54 @@
+package com.farnamhs.blogging.load;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Properties;
+
+public class LoadBaseline {
+
+    private final Properties properties;
+
+    public LoadBaseline(Properties properties) {
+        this.properties = properties;
+    }
+
+    public static LoadBaseline load(Path baselineFile) throws IOException {
+        Properties properties = new Properties();
+        if (Files.exists(baselineFile)) {
+            try (InputStream inputStream = Files.newInputStream(baselineFile)) {
+                properties.load(inputStream);
+            }
+        }
+        return new LoadBaseline(properties);
+    }
+
+    public boolean isEmpty() {
+        return properties.isEmpty();
+    }
+
+    public List<String> findRegressions(LoadReport report, double tolerance) {
+        List<String> regressions = new ArrayList<>();
+        report.operations().forEach((operation, stats) -> {
+            String prefix = operation.name().toLowerCase(Locale.ROOT);
+            if (stats.errors() > 0) {
+                regressions.add(prefix + " failed " + stats.errors() + " of " + stats.requests() + " requests");
+            }
+            String throughput = properties.getProperty(prefix + ".throughput");
+            if (throughput != null && stats.throughput() < Double.parseDouble(throughput) * (1 - tolerance)) {
+                regressions.add(String.format(Locale.ROOT, "%s throughput %.1f req/s is below the baseline of %s req/s",
+                        prefix, stats.throughput(), throughput));
+            }
+            String p99 = properties.getProperty(prefix + ".p99-millis");
+            if (p99 != null && stats.p99Millis() > Double.parseDouble(p99) * (1 + tolerance)) {
+                regressions.add(String.format(Locale.ROOT, "%s p99 latency %.2f ms is above the baseline of %s ms",
+                        prefix, stats.p99Millis(), p99));
+            }
+        });
+        return regressions;
+    }
+}
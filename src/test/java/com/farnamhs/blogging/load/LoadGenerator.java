@@ -0,0 +1,105 @@
+package com.farnamhs.blogging.load;
+
+import org.HdrHistogram.Recorder;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.random.RandomGenerator;
+import java.util.random.RandomGeneratorFactory;
+
+public class LoadGenerator {
+
+    private static final long HIGHEST_TRACKABLE_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private final HttpClient httpClient;
+    private final URI baseUri;
+    private final LoadTestSettings settings;
+    private final List<Long> postIds;
+    private final Operation[] weightedOperations;
+
+    public LoadGenerator(HttpClient httpClient, URI baseUri, LoadTestSettings settings, List<Long> postIds) {
+        this.httpClient = httpClient;
+        this.baseUri = baseUri;
+        this.settings = settings;
+        this.postIds = List.copyOf(postIds);
+        this.weightedOperations = settings.mix().entrySet().stream()
+                .flatMap(entry -> Collections.nCopies(entry.getValue(), entry.getKey()).stream())
+                .toArray(Operation[]::new);
+    }
+
+    public LoadReport run(Duration duration) throws InterruptedException {
+        Map<Operation, Recorder> latencies = new EnumMap<>(Operation.class);
+        Map<Operation, LongAdder> errors = new EnumMap<>(Operation.class);
+        for (Operation operation : settings.mix().keySet()) {
+            latencies.put(operation, new Recorder(HIGHEST_TRACKABLE_LATENCY_MICROS, 3));
+            errors.put(operation, new LongAdder());
+        }
+        ExecutorService workers = Executors.newFixedThreadPool(settings.concurrency(), runnable -> {
+            Thread thread = new Thread(runnable, "load-generator");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long startedAt = System.nanoTime();
+        long deadline = startedAt + duration.toNanos();
+        long intervalNanos = settings.ratePerSecond() == 0 ? 0
+                : TimeUnit.SECONDS.toNanos(settings.concurrency()) / settings.ratePerSecond();
+        RandomGeneratorFactory<RandomGenerator> randomFactory = RandomGeneratorFactory.of("L64X128MixRandom");
+        for (int worker = 0; worker < settings.concurrency(); worker++) {
+            long firstStart = startedAt + intervalNanos * worker / settings.concurrency();
+            RandomGenerator random = randomFactory.create(worker);
+            workers.execute(() -> drive(random, firstStart, intervalNanos, deadline, latencies, errors));
+        }
+        workers.shutdown();
+        if (!workers.awaitTermination(duration.toSeconds() + 60, TimeUnit.SECONDS)) {
+            workers.shutdownNow();
+            throw new IllegalStateException("Load generator workers did not finish");
+        }
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - startedAt);
+        Map<Operation, OperationStats> stats = new EnumMap<>(Operation.class);
+        latencies.forEach((operation, recorder) -> stats.put(operation,
+                OperationStats.of(recorder.getIntervalHistogram(), errors.get(operation).sum(), elapsed)));
+        return new LoadReport(elapsed, stats);
+    }
+
+    private void drive(RandomGenerator random, long firstStart, long intervalNanos, long deadline,
+                       Map<Operation, Recorder> latencies, Map<Operation, LongAdder> errors) {
+        long intendedStart = firstStart;
+        while (true) {
+            long now = System.nanoTime();
+            if (intervalNanos == 0) {
+                intendedStart = now;
+            } else if (now < intendedStart) {
+                LockSupport.parkNanos(intendedStart - now);
+            }
+            if (intendedStart >= deadline || Thread.currentThread().isInterrupted()) return;
+            Operation operation = weightedOperations[random.nextInt(weightedOperations.length)];
+            if (send(operation, random)) {
+                long latencyMicros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - intendedStart);
+                latencies.get(operation).recordValue(Math.min(latencyMicros, HIGHEST_TRACKABLE_LATENCY_MICROS));
+            } else {
+                errors.get(operation).increment();
+            }
+            intendedStart += intervalNanos;
+        }
+    }
+
+    private boolean send(Operation operation, RandomGenerator random) {
+        try {
+            HttpResponse<Void> response = httpClient.send(operation.request(baseUri, random, postIds),
+                    HttpResponse.BodyHandlers.discarding());
+            return response.statusCode() < 400;
+        } catch (IOException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.farnamhs.blogging.load;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+
+public record LoadReport(Duration elapsed, Map<Operation, OperationStats> operations) {
+
+    public Properties toProperties() {
+        Properties properties = new Properties();
+        operations.forEach((operation, stats) -> {
+            String prefix = operation.name().toLowerCase(Locale.ROOT);
+            properties.setProperty(prefix + ".throughput", format(stats.throughput()));
+            properties.setProperty(prefix + ".p50-millis", format(stats.p50Millis()));
+            properties.setProperty(prefix + ".p99-millis", format(stats.p99Millis()));
+            properties.setProperty(prefix + ".p999-millis", format(stats.p999Millis()));
+        });
+        return properties;
+    }
+
+    public String toTable() {
+        StringBuilder table = new StringBuilder(String.format(Locale.ROOT,
+                "%-8s %10s %8s %12s %10s %10s %10s %10s%n",
+                "op", "requests", "errors", "req/s", "p50 ms", "p99 ms", "p999 ms", "max ms"));
+        operations.forEach((operation, stats) -> table.append(String.format(Locale.ROOT,
+                "%-8s %10d %8d %12.1f %10.2f %10.2f %10.2f %10.2f%n",
+                operation.name().toLowerCase(Locale.ROOT), stats.requests(), stats.errors(), stats.throughput(),
+                stats.p50Millis(), stats.p99Millis(), stats.p999Millis(), stats.maxMillis())));
+        return table.toString();
+    }
+
+    private static String format(double value) {
+        return String.format(Locale.ROOT, "%.2f", value);
+    }
+}
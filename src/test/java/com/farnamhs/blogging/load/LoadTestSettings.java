@@ -0,0 +1,57 @@
+package com.farnamhs.blogging.load;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+public record LoadTestSettings(
+        String targetUrl,
+        int concurrency,
+        int ratePerSecond,
+        Duration warmup,
+        Duration duration,
+        int seedPosts,
+        Map<Operation, Integer> mix,
+        String baselineFile,
+        double regressionTolerance,
+        String reportFile
+) {
+
+    public LoadTestSettings {
+        if (concurrency < 1) throw new IllegalArgumentException("Concurrency must be positive");
+        if (ratePerSecond < 0) throw new IllegalArgumentException("Rate cannot be negative");
+        if (seedPosts < 1) throw new IllegalArgumentException("At least one post must be seeded");
+        if (mix.values().stream().mapToInt(Integer::intValue).sum() < 1)
+            throw new IllegalArgumentException("The operation mix must have a positive weight");
+        mix = Map.copyOf(mix);
+    }
+
+    public static LoadTestSettings fromSystemProperties() {
+        return new LoadTestSettings(
+                System.getProperty("load.target-url", ""),
+                Integer.getInteger("load.concurrency", 16),
+                Integer.getInteger("load.rate", 0),
+                Duration.ofSeconds(Integer.getInteger("load.warmup-seconds", 5)),
+                Duration.ofSeconds(Integer.getInteger("load.duration-seconds", 20)),
+                Integer.getInteger("load.seed-posts", 500),
+                parseMix(System.getProperty("load.mix", "read:55,search:20,rank:10,create:5,update:10")),
+                System.getProperty("load.baseline", "load-test-baseline.properties"),
+                Double.parseDouble(System.getProperty("load.regression-tolerance", "0.25")),
+                System.getProperty("load.report-file", "target/load-test-report.properties")
+        );
+    }
+
+    public boolean isEmbedded() {
+        return targetUrl.isBlank();
+    }
+
+    static Map<Operation, Integer> parseMix(String mix) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split(":");
+            if (parts.length != 2) throw new IllegalArgumentException("Invalid operation weight: " + entry);
+            weights.put(Operation.fromName(parts[0].trim()), Integer.parseInt(parts[1].trim()));
+        }
+        return weights;
+    }
+}
@@ -0,0 +1,79 @@
+package com.farnamhs.blogging.load;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+import java.util.random.RandomGenerator;
+
+public enum Operation {
+
+    READ {
+        @Override
+        HttpRequest request(URI baseUri, RandomGenerator random, List<Long> postIds) {
+            return HttpRequest.newBuilder(baseUri.resolve("posts/" + pick(random, postIds))).GET().build();
+        }
+    },
+    SEARCH {
+        @Override
+        HttpRequest request(URI baseUri, RandomGenerator random, List<Long> postIds) {
+            return HttpRequest.newBuilder(baseUri.resolve("posts?term=" + encode(pick(random, WORDS)))).GET().build();
+        }
+    },
+    RANK {
+        @Override
+        HttpRequest request(URI baseUri, RandomGenerator random, List<Long> postIds) {
+            String query = pick(random, WORDS) + " " + pick(random, WORDS);
+            return HttpRequest.newBuilder(baseUri.resolve("posts/search?q=" + encode(query))).GET().build();
+        }
+    },
+    CREATE {
+        @Override
+        HttpRequest request(URI baseUri, RandomGenerator random, List<Long> postIds) {
+            return HttpRequest.newBuilder(baseUri.resolve("posts"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(postJson(random, random.nextInt(1_000_000))))
+                    .build();
+        }
+    },
+    UPDATE {
+        @Override
+        HttpRequest request(URI baseUri, RandomGenerator random, List<Long> postIds) {
+            long postId = pick(random, postIds);
+            return HttpRequest.newBuilder(baseUri.resolve("posts/" + postId))
+                    .header("Content-Type", "application/json")
+                    .PUT(HttpRequest.BodyPublishers.ofString(postJson(random, postId)))
+                    .build();
+        }
+    };
+
+    private static final List<String> WORDS = List.of(
+            "java", "jersey", "mysql", "cache", "search", "latency", "index", "stream", "thread", "query");
+    private static final List<String> CATEGORIES = List.of("Technology", "Databases", "Performance");
+    private static final List<String> TAGS = List.of("JAVA", "SQL", "PERF", "WEB", "OPS");
+
+    abstract HttpRequest request(URI baseUri, RandomGenerator random, List<Long> postIds);
+
+    public static Operation fromName(String name) {
+        return valueOf(name.toUpperCase(Locale.ROOT));
+    }
+
+    static String postJson(RandomGenerator random, long number) {
+        String first = pick(random, WORDS);
+        String second = pick(random, WORDS);
+        return "{\"title\":\"Post " + number + " about " + first + "\","
+                + "\"content\":\"Notes on " + first + " and " + second + " for post " + number + ".\","
+                + "\"category\":\"" + pick(random, CATEGORIES) + "\","
+                + "\"tags\":[\"" + pick(random, TAGS) + "\"]}";
+    }
+
+    private static <T> T pick(RandomGenerator random, List<T> values) {
+        return values.get(random.nextInt(values.size()));
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+}
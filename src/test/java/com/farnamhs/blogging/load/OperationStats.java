@@ -0,0 +1,26 @@
+package com.farnamhs.blogging.load;
+
+import org.HdrHistogram.Histogram;
+
+import java.time.Duration;
+
+public record OperationStats(long requests, long errors, double throughput, double p50Millis, double p99Millis,
+                             double p999Millis, double maxMillis) {
+
+    static OperationStats of(Histogram latenciesMicros, long errors, Duration elapsed) {
+        long requests = latenciesMicros.getTotalCount() + errors;
+        return new OperationStats(
+                requests,
+                errors,
+                requests / (elapsed.toNanos() / 1e9),
+                toMillis(latenciesMicros.getValueAtPercentile(50)),
+                toMillis(latenciesMicros.getValueAtPercentile(99)),
+                toMillis(latenciesMicros.getValueAtPercentile(99.9)),
+                toMillis(latenciesMicros.getMaxValue())
+        );
+    }
+
+    private static double toMillis(long micros) {
+        return micros / 1000.0;
+    }
+}
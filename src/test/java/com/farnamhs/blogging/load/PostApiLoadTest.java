@@ -0,0 +1,93 @@
+package com.farnamhs.blogging.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("load")
+public class PostApiLoadTest {
+
+    private static final Logger LOGGER = Logger.getLogger(PostApiLoadTest.class.getName());
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void must_not_regress_throughput_or_latency_against_the_baseline() throws Exception {
+        LoadTestSettings settings = LoadTestSettings.fromSystemProperties();
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        EmbeddedServer server = settings.isEmbedded() ? EmbeddedServer.start("load-test-database.properties") : null;
+        try {
+            URI baseUri = server != null ? server.getBaseUri() : URI.create(settings.targetUrl());
+            awaitReady(httpClient, baseUri);
+            List<Long> postIds = seed(httpClient, baseUri, settings.seedPosts());
+            LoadGenerator loadGenerator = new LoadGenerator(httpClient, baseUri, settings, postIds);
+
+            loadGenerator.run(settings.warmup());
+            LoadReport report = loadGenerator.run(settings.duration());
+
+            LOGGER.info(() -> "Load test against " + baseUri + " with " + settings.concurrency() + " workers"
+                    + (settings.ratePerSecond() == 0 ? "" : " at " + settings.ratePerSecond() + " req/s")
+                    + " for " + report.elapsed().toSeconds() + "s:" + System.lineSeparator() + report.toTable());
+            writeReport(report, Path.of(settings.reportFile()));
+            LoadBaseline baseline = LoadBaseline.load(Path.of(settings.baselineFile()));
+            if (baseline.isEmpty())
+                LOGGER.warning(() -> "No load test baseline at " + settings.baselineFile()
+                        + ", only failed requests are checked");
+            List<String> regressions = baseline.findRegressions(report, settings.regressionTolerance());
+            assertTrue(regressions.isEmpty(), () -> String.join(System.lineSeparator(), regressions));
+        } finally {
+            if (server != null) server.close();
+        }
+    }
+
+    private void awaitReady(HttpClient httpClient, URI baseUri) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(baseUri.resolve("health/ready")).GET().build();
+        long deadline = System.nanoTime() + Duration.ofMinutes(1).toNanos();
+        HttpResponse<String> response;
+        while ((response = httpClient.send(request, HttpResponse.BodyHandlers.ofString())).statusCode() != 200) {
+            if (System.nanoTime() > deadline) fail("The application did not become ready: " + response.body());
+            Thread.sleep(100);
+        }
+    }
+
+    private List<Long> seed(HttpClient httpClient, URI baseUri, int count) throws IOException, InterruptedException {
+        Random random = new Random(42);
+        List<Long> postIds = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            HttpRequest request = HttpRequest.newBuilder(baseUri.resolve("posts"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(Operation.postJson(random, i)))
+                    .build();
+            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            assertEquals(201, response.statusCode(), response::body);
+            postIds.add(objectMapper.readTree(response.body()).get("id").asLong());
+        }
+        return postIds;
+    }
+
+    private void writeReport(LoadReport report, Path reportFile) throws IOException {
+        if (reportFile.getParent() != null) Files.createDirectories(reportFile.getParent());
+        try (OutputStream outputStream = Files.newOutputStream(reportFile)) {
+            report.toProperties().store(outputStream, null);
+        }
+    }
+}
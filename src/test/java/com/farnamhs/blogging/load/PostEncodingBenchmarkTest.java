@@ -0,0 +1,96 @@
+package com.farnamhs.blogging.load;
+
+import com.farnamhs.blogging.dto.PostResponseDto;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.logging.Logger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("load")
+public class PostEncodingBenchmarkTest {
+
+    private static final Logger LOGGER = Logger.getLogger(PostEncodingBenchmarkTest.class.getName());
+
+    private static final int POSTS = Integer.getInteger("benchmark.posts", 500);
+    private static final int WARMUP_ROUNDS = Integer.getInteger("benchmark.warmup-rounds", 200);
+    private static final int MEASURED_ROUNDS = Integer.getInteger("benchmark.measured-rounds", 300);
+
+    private static final TypeReference<List<PostResponseDto>> POST_LIST = new TypeReference<>() {};
+
+    @Test
+    void should_encode_search_results_smaller_in_binary_formats_than_in_json() throws IOException {
+        List<PostResponseDto> posts = searchResults();
+        Map<String, ObjectMapper> mappers = new LinkedHashMap<>();
+        mappers.put("json", JsonMapper.builder().findAndAddModules().build());
+        mappers.put("cbor", CBORMapper.builder().findAndAddModules().build());
+        mappers.put("smile", SmileMapper.builder().findAndAddModules().build());
+
+        StringBuilder table = new StringBuilder(String.format(Locale.ROOT, "%-6s %10s %14s %14s%n",
+                "format", "bytes", "encode us", "decode us"));
+        Map<String, Integer> sizes = new LinkedHashMap<>();
+        for (Map.Entry<String, ObjectMapper> entry : mappers.entrySet()) {
+            ObjectWriter writer = entry.getValue().writerFor(POST_LIST);
+            ObjectReader reader = entry.getValue().readerFor(POST_LIST);
+            byte[] encoded = writer.writeValueAsBytes(posts);
+            assertEquals(posts, reader.readValue(encoded));
+            sizes.put(entry.getKey(), encoded.length);
+
+            measure(WARMUP_ROUNDS, writer, reader, posts, encoded);
+            long[] nanos = measure(MEASURED_ROUNDS, writer, reader, posts, encoded);
+            table.append(String.format(Locale.ROOT, "%-6s %10d %14.1f %14.1f%n", entry.getKey(), encoded.length,
+                    nanos[0] / 1000.0 / MEASURED_ROUNDS, nanos[1] / 1000.0 / MEASURED_ROUNDS));
+        }
+        LOGGER.info(() -> "Encoding " + POSTS + " posts:" + System.lineSeparator() + table);
+
+        assertTrue(sizes.get("cbor") < sizes.get("json"));
+        assertTrue(sizes.get("smile") < sizes.get("json"));
+    }
+
+    private static long[] measure(int rounds, ObjectWriter writer, ObjectReader reader, List<PostResponseDto> posts,
+                                  byte[] encoded) throws IOException {
+        long encodeNanos = 0;
+        long decodeNanos = 0;
+        for (int round = 0; round < rounds; round++) {
+            long startedAt = System.nanoTime();
+            writer.writeValueAsBytes(posts);
+            long encodedAt = System.nanoTime();
+            reader.readValue(encoded);
+            decodeNanos += System.nanoTime() - encodedAt;
+            encodeNanos += encodedAt - startedAt;
+        }
+        return new long[]{encodeNanos, decodeNanos};
+    }
+
+    private static List<PostResponseDto> searchResults() {
+        Random random = new Random(42);
+        Instant createdAt = Instant.parse("2024-10-03T12:03:00Z");
+        return IntStream.range(0, POSTS)
+                .mapToObj(id -> new PostResponseDto(
+                        id,
+                        "Post " + id + " about caching",
+                        "Paragraph ".repeat(20 + random.nextInt(80)) + id,
+                        List.of("Technology", "Databases", "Performance").get(random.nextInt(3)),
+                        List.of("JAVA", "SQL"),
+                        createdAt.plusSeconds(id),
+                        createdAt.plusSeconds(id * 2L)
+                ))
+                .toList();
+    }
+}
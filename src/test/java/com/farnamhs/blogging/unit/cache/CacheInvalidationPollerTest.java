@@ -0,0 +1,144 @@
+package com.farnamhs.blogging.unit.cache;
+
+import com.farnamhs.blogging.cache.CacheInvalidationPoller;
+import com.farnamhs.blogging.cache.PostCache;
+import com.farnamhs.blogging.cache.SearchResultCache;
+import com.farnamhs.blogging.dao.PostChangeLogDao;
+import com.farnamhs.blogging.entity.ChangedPost;
+import com.farnamhs.blogging.entity.Post;
+import com.farnamhs.blogging.exception.DatabaseException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class CacheInvalidationPollerTest {
+
+    private MutableClock clock;
+
+    private PostChangeLogDao changeLogDao;
+
+    private PostCache postCache;
+
+    private SearchResultCache searchResultCache;
+
+    private CacheInvalidationPoller invalidationPoller;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2024-10-03T12:03:00Z"));
+        changeLogDao = mock(PostChangeLogDao.class);
+        postCache = new PostCache(1_000_000, 100);
+        searchResultCache = new SearchResultCache(10, 10);
+        invalidationPoller = new CacheInvalidationPoller(changeLogDao, postCache, searchResultCache, clock, 3,
+                Duration.ofSeconds(5));
+    }
+
+    @Test
+    void must_start_from_the_latest_change_and_drop_what_was_cached_before() {
+        when(changeLogDao.findLatestChangeSequence()).thenReturn(7L);
+        cache(1);
+
+        invalidationPoller.poll();
+
+        assertEquals(7, invalidationPoller.getWatermark());
+        assertTrue(postCache.get(1).isEmpty());
+        verify(changeLogDao, never()).findChangedPostsSince(anyLong(), anyInt());
+    }
+
+    @Test
+    void must_evict_only_the_posts_changed_since_the_watermark() {
+        when(changeLogDao.findLatestChangeSequence()).thenReturn(7L);
+        invalidationPoller.poll();
+        cache(1);
+        cache(2);
+        searchResultCache.put("java", searchResultCache.currentVersion(), List.of(post(1)));
+        when(changeLogDao.findChangedPostsSince(7, 3)).thenReturn(List.of(new ChangedPost(8, 2), new ChangedPost(9, 2)));
+
+        invalidationPoller.poll();
+
+        assertTrue(postCache.get(1).isPresent());
+        assertTrue(postCache.get(2).isEmpty());
+        assertTrue(searchResultCache.get("java").isEmpty());
+        assertEquals(9, invalidationPoller.getWatermark());
+        assertEquals(2, invalidationPoller.getInvalidatedPosts());
+    }
+
+    @Test
+    void must_drop_everything_and_skip_to_the_latest_change_when_too_many_posts_changed() {
+        when(changeLogDao.findLatestChangeSequence()).thenReturn(7L, 50L);
+        invalidationPoller.poll();
+        cache(1);
+        when(changeLogDao.findChangedPostsSince(7, 3))
+                .thenReturn(List.of(new ChangedPost(8, 2), new ChangedPost(9, 3), new ChangedPost(10, 4)));
+
+        invalidationPoller.poll();
+
+        assertTrue(postCache.get(1).isEmpty());
+        assertEquals(50, invalidationPoller.getWatermark());
+        assertEquals(2, invalidationPoller.getFullInvalidations());
+    }
+
+    @Test
+    void must_drop_everything_if_polling_fails_for_longer_than_the_maximum_staleness() {
+        when(changeLogDao.findLatestChangeSequence()).thenReturn(7L);
+        invalidationPoller.poll();
+        cache(1);
+        when(changeLogDao.findChangedPostsSince(7, 3)).thenThrow(new DatabaseException("Failed to find the changed posts"));
+
+        clock.advance(Duration.ofSeconds(2));
+        invalidationPoller.poll();
+        assertTrue(postCache.get(1).isPresent());
+
+        clock.advance(Duration.ofSeconds(4));
+        invalidationPoller.poll();
+        assertTrue(postCache.get(1).isEmpty());
+        assertEquals(2, invalidationPoller.getFailedPolls());
+        assertEquals(6000, invalidationPoller.getStalenessMillis());
+    }
+
+    private void cache(long id) {
+        postCache.put(id, postCache.currentVersion(), post(id));
+    }
+
+    private static Post post(long id) {
+        return new Post(id, "Title", "Content", "Category", List.of("JAVA"),
+                Instant.parse("2024-10-03T12:03:00Z"), Instant.parse("2024-10-03T12:03:00Z"));
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private volatile Instant instant;
+
+        private MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        private void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package com.farnamhs.blogging.unit.cache;
+
+import com.farnamhs.blogging.cache.IdempotencyStore;
+import com.farnamhs.blogging.exception.IdempotentRequestInProgressException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IdempotencyStoreTest {
+
+    private MutableClock clock;
+
+    private IdempotencyStore idempotencyStore;
+
+    private AtomicInteger executions;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2024-10-03T12:03:00Z"));
+        idempotencyStore = new IdempotencyStore(clock, Duration.ofMinutes(10), 2, Duration.ofMillis(500));
+        executions = new AtomicInteger();
+    }
+
+    @Test
+    void must_replay_the_original_result_without_running_the_action_again() {
+        String first = idempotencyStore.execute("key", "fingerprint-1", () -> "created " + executions.incrementAndGet());
+        String replayed = idempotencyStore.execute("key", "fingerprint-1", () -> "created " + executions.incrementAndGet());
+
+        assertEquals("created 1", first);
+        assertEquals("created 1", replayed);
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    void must_reject_a_key_reused_for_a_different_request() {
+        idempotencyStore.execute("key", "fingerprint-1", executions::incrementAndGet);
+
+        assertThrows(IllegalArgumentException.class, () -> idempotencyStore.execute("key", "fingerprint-2", executions::incrementAndGet));
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    void should_run_the_action_again_once_the_key_expired() {
+        idempotencyStore.execute("key", "fingerprint-1", executions::incrementAndGet);
+        clock.advance(Duration.ofMinutes(10));
+
+        assertEquals(2, idempotencyStore.execute("key", "fingerprint-1", executions::incrementAndGet));
+    }
+
+    @Test
+    void should_not_remember_a_failed_action_so_it_can_be_retried() {
+        assertThrows(IllegalStateException.class, () -> idempotencyStore.execute("key", "fingerprint-1", () -> {
+            throw new IllegalStateException("Failed");
+        }));
+
+        assertEquals(1, idempotencyStore.execute("key", "fingerprint-1", executions::incrementAndGet));
+    }
+
+    @Test
+    void should_evict_the_oldest_key_when_the_store_is_full() {
+        idempotencyStore.execute("first", "fingerprint-1", executions::incrementAndGet);
+        idempotencyStore.execute("second", "fingerprint-1", executions::incrementAndGet);
+        idempotencyStore.execute("third", "fingerprint-1", executions::incrementAndGet);
+
+        assertEquals(2, idempotencyStore.size());
+        assertEquals(4, idempotencyStore.execute("first", "fingerprint-1", executions::incrementAndGet));
+    }
+
+    @Test
+    void must_make_a_concurrent_duplicate_wait_for_the_first_request() throws Exception {
+        CountDownLatch actionStarted = new CountDownLatch(1);
+        CountDownLatch releaseAction = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<Integer> first = executor.submit(() -> idempotencyStore.execute("key", "fingerprint-1", () -> {
+                actionStarted.countDown();
+                await(releaseAction);
+                return executions.incrementAndGet();
+            }));
+            actionStarted.await();
+            Future<Integer> duplicate = executor.submit(() -> idempotencyStore.execute("key", "fingerprint-1", executions::incrementAndGet));
+
+            assertThrows(TimeoutException.class, () -> duplicate.get(100, TimeUnit.MILLISECONDS));
+            releaseAction.countDown();
+
+            assertEquals(1, first.get(5, TimeUnit.SECONDS));
+            assertEquals(1, duplicate.get(5, TimeUnit.SECONDS));
+            assertEquals(1, executions.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void must_not_evict_a_key_whose_request_is_still_in_progress() throws Exception {
+        CountDownLatch actionStarted = new CountDownLatch(1);
+        CountDownLatch releaseAction = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<Integer> first = executor.submit(() -> idempotencyStore.execute("first", "fingerprint-1", () -> {
+                actionStarted.countDown();
+                await(releaseAction);
+                return executions.incrementAndGet();
+            }));
+            actionStarted.await();
+            idempotencyStore.execute("second", "fingerprint-1", executions::incrementAndGet);
+            idempotencyStore.execute("third", "fingerprint-1", executions::incrementAndGet);
+            releaseAction.countDown();
+            first.get(5, TimeUnit.SECONDS);
+
+            assertEquals(3, idempotencyStore.execute("first", "fingerprint-1", executions::incrementAndGet));
+            assertEquals(3, executions.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void should_stop_waiting_for_a_duplicate_after_the_wait_timeout() throws Exception {
+        CountDownLatch actionStarted = new CountDownLatch(1);
+        CountDownLatch releaseAction = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<Integer> first = executor.submit(() -> idempotencyStore.execute("key", "fingerprint-1", () -> {
+                actionStarted.countDown();
+                await(releaseAction);
+                return executions.incrementAndGet();
+            }));
+            actionStarted.await();
+
+            assertThrows(IdempotentRequestInProgressException.class,
+                    () -> idempotencyStore.execute("key", "fingerprint-1", executions::incrementAndGet));
+            releaseAction.countDown();
+            assertEquals(1, first.get(5, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private volatile Instant instant;
+
+        private MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        private void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
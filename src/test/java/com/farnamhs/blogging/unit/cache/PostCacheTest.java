@@ -0,0 +1,126 @@
+package com.farnamhs.blogging.unit.cache;
+
+import com.farnamhs.blogging.cache.PostCache;
+import com.farnamhs.blogging.entity.Post;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PostCacheTest {
+
+    private static final int CAPACITY = 100;
+
+    private long postWeight;
+
+    private PostCache postCache;
+
+    @BeforeEach
+    void setUp() {
+        postWeight = PostCache.weigh(post(1, 100));
+        postCache = new PostCache(CAPACITY * postWeight, CAPACITY);
+    }
+
+    @Test
+    void must_return_a_cached_post_until_it_is_invalidated() {
+        postCache.put(1, postCache.currentVersion(), post(1, 100));
+
+        assertEquals(Optional.of(post(1, 100)), postCache.get(1));
+        postCache.invalidate(1);
+        assertTrue(postCache.get(1).isEmpty());
+        assertEquals(1, postCache.getHitCount());
+        assertEquals(1, postCache.getMissCount());
+    }
+
+    @Test
+    void must_not_store_a_post_that_was_read_before_a_write() {
+        long version = postCache.currentVersion();
+        postCache.invalidate(2);
+
+        postCache.put(1, version, post(1, 100));
+
+        assertTrue(postCache.get(1).isEmpty());
+    }
+
+    @Test
+    void should_weigh_posts_by_their_size_and_never_exceed_the_maximum_weight() {
+        postCache.put(1, postCache.currentVersion(), post(1, (int) (CAPACITY * postWeight)));
+        for (long id = 2; id <= 2 * CAPACITY; id++)
+            postCache.put(id, postCache.currentVersion(), post(id, 100));
+
+        assertTrue(postCache.get(1).isEmpty());
+        assertTrue(postCache.getWeightedSize() <= CAPACITY * postWeight);
+        assertEquals(CAPACITY, postCache.getEntryCount());
+    }
+
+    @Test
+    void must_keep_frequently_read_posts_while_a_scan_reads_many_posts_once() {
+        List<Long> hotIds = LongStream.rangeClosed(1, CAPACITY / 2).boxed().toList();
+        for (int round = 0; round < 3; round++)
+            hotIds.forEach(this::read);
+
+        for (int i = 0; i < 10 * CAPACITY; i++) {
+            read(10_000 + i);
+            if (i % 4 == 0) read(hotIds.get(i / 4 % hotIds.size()));
+        }
+
+        long cachedHotPosts = hotIds.stream().filter(id -> postCache.get(id).isPresent()).count();
+        assertEquals(hotIds.size(), cachedHotPosts);
+    }
+
+    @Test
+    void must_hit_more_often_than_lru_on_a_trace_of_hot_reads_mixed_with_a_crawler_scan() {
+        Random random = new Random(42);
+        LruCache lruCache = new LruCache(CAPACITY);
+        int lruHits = 0;
+        int reads = 0;
+        long crawledId = 100_000;
+        for (int i = 0; i < 50_000; i++) {
+            long id = i % 2 == 0 ? 1 + (long) (2 * CAPACITY * Math.pow(random.nextDouble(), 3)) : crawledId++;
+            if (lruCache.read(id)) lruHits++;
+            read(id);
+            reads++;
+        }
+
+        double lruHitRate = (double) lruHits / reads;
+        assertTrue(postCache.getHitRate() > lruHitRate + 0.1,
+                "W-TinyLFU hit rate " + postCache.getHitRate() + " vs LRU " + lruHitRate);
+    }
+
+    private void read(long id) {
+        if (postCache.get(id).isEmpty()) postCache.put(id, postCache.currentVersion(), post(id, 100));
+    }
+
+    private static Post post(long id, int contentLength) {
+        return new Post(id, "Title", "x".repeat(contentLength), "Category", List.of("JAVA"),
+                Instant.parse("2024-10-03T12:03:00Z"), Instant.parse("2024-10-03T12:03:00Z"));
+    }
+
+    private static final class LruCache {
+
+        private final Map<Long, Boolean> entries;
+
+        private LruCache(int capacity) {
+            this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Long, Boolean> eldest) {
+                    return size() > capacity;
+                }
+            };
+        }
+
+        private boolean read(long id) {
+            if (entries.get(id) != null) return true;
+            entries.put(id, true);
+            return false;
+        }
+    }
+}
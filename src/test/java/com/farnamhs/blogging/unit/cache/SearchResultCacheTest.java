@@ -0,0 +1,115 @@
+package com.farnamhs.blogging.unit.cache;
+
+import com.farnamhs.blogging.cache.SearchResultCache;
+import com.farnamhs.blogging.entity.Post;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SearchResultCacheTest {
+
+    private SearchResultCache searchResultCache;
+
+    private List<Post> posts;
+
+    @BeforeEach
+    void setUp() {
+        searchResultCache = new SearchResultCache(2, 10);
+        posts = List.of(new Post(
+                1,
+                "Title",
+                "Content",
+                "Category",
+                List.of("JAVA"),
+                Instant.parse("2024-10-03T12:03:00Z"),
+                Instant.parse("2024-10-03T12:03:00Z")
+        ));
+    }
+
+    @Test
+    void must_return_the_cached_result_of_a_search_term_with_the_current_version() {
+        searchResultCache.put("java", searchResultCache.currentVersion(), posts);
+
+        assertEquals(Optional.of(posts), searchResultCache.get("java"));
+    }
+
+    @Test
+    void must_not_serve_a_result_after_a_write_invalidated_the_cache() {
+        searchResultCache.put("java", searchResultCache.currentVersion(), posts);
+
+        searchResultCache.invalidateAll();
+
+        assertTrue(searchResultCache.get("java").isEmpty());
+    }
+
+    @Test
+    void must_not_store_a_result_that_was_read_before_a_write() {
+        long version = searchResultCache.currentVersion();
+        searchResultCache.invalidateAll();
+
+        searchResultCache.put("java", version, posts);
+
+        assertTrue(searchResultCache.get("java").isEmpty());
+    }
+
+    @Test
+    void should_treat_a_null_search_term_as_an_empty_one() {
+        searchResultCache.put(null, searchResultCache.currentVersion(), posts);
+
+        assertEquals(Optional.of(posts), searchResultCache.get(""));
+    }
+
+    @Test
+    void should_evict_the_least_recently_used_term_when_the_cache_is_full() {
+        long version = searchResultCache.currentVersion();
+        searchResultCache.put("java", version, posts);
+        searchResultCache.put("tech", version, posts);
+        searchResultCache.get("java");
+
+        searchResultCache.put("news", version, posts);
+
+        assertEquals(2, searchResultCache.size());
+        assertTrue(searchResultCache.get("tech").isEmpty());
+        assertTrue(searchResultCache.get("java").isPresent());
+    }
+
+    @Test
+    void should_not_cache_results_bigger_than_the_maximum_result_size() {
+        SearchResultCache smallResultCache = new SearchResultCache(2, 0);
+
+        smallResultCache.put("java", smallResultCache.currentVersion(), posts);
+
+        assertTrue(smallResultCache.get("java").isEmpty());
+    }
+
+    @Test
+    void should_record_a_lookup_event_for_every_hit_and_miss_when_enabled() throws IOException {
+        searchResultCache.put("java", searchResultCache.currentVersion(), posts);
+        Path recordingFile = Files.createTempFile("cache", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("com.farnamhs.blogging.CacheLookup");
+            recording.start();
+            searchResultCache.get("java");
+            searchResultCache.get("kotlin");
+            recording.stop();
+            recording.dump(recordingFile);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(recordingFile);
+        Files.delete(recordingFile);
+        assertEquals(List.of("java", "kotlin"), events.stream().map(event -> event.getString("key")).toList());
+        assertEquals(List.of(true, false), events.stream().map(event -> event.getBoolean("hit")).toList());
+        assertTrue(events.stream().allMatch(event -> event.getString("cache").equals("searchResults")));
+    }
+}
@@ -0,0 +1,74 @@
+package com.farnamhs.blogging.unit.config;
+
+import com.farnamhs.blogging.config.ApplicationLifecycle;
+import com.farnamhs.blogging.dao.LazyLoadMetrics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.management.MBeanServer;
+import javax.management.MBeanServerFactory;
+import javax.management.ObjectName;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ApplicationLifecycleTest {
+
+    private MBeanServer mBeanServer;
+
+    private ObjectName name;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        mBeanServer = MBeanServerFactory.newMBeanServer();
+        name = new ObjectName(LazyLoadMetrics.OBJECT_NAME);
+    }
+
+    @Test
+    void must_unregister_the_registered_mbeans_on_shutdown() throws Exception {
+        ApplicationLifecycle lifecycle = new ApplicationLifecycle(mBeanServer);
+        lifecycle.registerMBean(new LazyLoadMetrics(), LazyLoadMetrics.OBJECT_NAME);
+
+        assertTrue(mBeanServer.isRegistered(name));
+        lifecycle.shutdown();
+        assertFalse(mBeanServer.isRegistered(name));
+    }
+
+    @Test
+    void should_skip_an_mbean_already_registered_by_another_application_and_leave_it_registered() throws Exception {
+        ApplicationLifecycle firstLifecycle = new ApplicationLifecycle(mBeanServer);
+        ApplicationLifecycle secondLifecycle = new ApplicationLifecycle(mBeanServer);
+        firstLifecycle.registerMBean(new LazyLoadMetrics(), LazyLoadMetrics.OBJECT_NAME);
+
+        secondLifecycle.registerMBean(new LazyLoadMetrics(), LazyLoadMetrics.OBJECT_NAME);
+        secondLifecycle.shutdown();
+
+        assertEquals(List.of(), secondLifecycle.getRegisteredMBeans());
+        assertTrue(mBeanServer.isRegistered(name));
+    }
+
+    @Test
+    void must_shut_down_the_managed_executors_on_shutdown() throws Exception {
+        ApplicationLifecycle lifecycle = new ApplicationLifecycle(mBeanServer);
+        ScheduledExecutorService scheduler = lifecycle.manage(Executors.newSingleThreadScheduledExecutor());
+        scheduler.scheduleWithFixedDelay(() -> {}, 0, 1, TimeUnit.MILLISECONDS);
+
+        lifecycle.shutdown();
+
+        assertTrue(scheduler.isTerminated());
+    }
+
+    @Test
+    void must_shut_down_an_executor_managed_after_shutdown() {
+        ApplicationLifecycle lifecycle = new ApplicationLifecycle(mBeanServer);
+        lifecycle.shutdown();
+
+        ExecutorService executor = lifecycle.manage(Executors.newSingleThreadExecutor());
+
+        assertTrue(executor.isShutdown());
+    }
+}
@@ -0,0 +1,57 @@
+package com.farnamhs.blogging.unit.config;
+
+import com.farnamhs.blogging.config.StartupReadiness;
+import com.farnamhs.blogging.config.StartupReadiness.CheckStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StartupReadinessTest {
+
+    private StartupReadiness startupReadiness;
+
+    @BeforeEach
+    void setUp() {
+        startupReadiness = new StartupReadiness();
+    }
+
+    @Test
+    void must_not_be_ready_while_a_task_is_pending() {
+        CompletableFuture<Void> database = startupReadiness.track("database", new CompletableFuture<>());
+        startupReadiness.track("searchIndex", CompletableFuture.completedFuture(null));
+
+        assertFalse(startupReadiness.isReady());
+        assertEquals(Map.of("database", CheckStatus.PENDING, "searchIndex", CheckStatus.READY), startupReadiness.getChecks());
+
+        database.complete(null);
+
+        assertTrue(startupReadiness.isReady());
+    }
+
+    @Test
+    void must_report_a_failed_task_and_its_dependents() {
+        CompletableFuture<Void> database = startupReadiness.track("database", new CompletableFuture<>());
+        startupReadiness.track("searchIndex", database.thenRun(() -> {}));
+
+        database.completeExceptionally(new IllegalStateException("Failed to initialize the database"));
+
+        assertFalse(startupReadiness.isReady());
+        assertEquals(List.of(CheckStatus.FAILED, CheckStatus.FAILED), List.copyOf(startupReadiness.getChecks().values()));
+        assertThrows(CompletionException.class, startupReadiness::awaitAll);
+    }
+
+    @Test
+    void should_be_ready_once_every_task_completed() {
+        startupReadiness.track("database", CompletableFuture.runAsync(() -> {}));
+
+        startupReadiness.awaitAll();
+
+        assertTrue(startupReadiness.isReady());
+    }
+}
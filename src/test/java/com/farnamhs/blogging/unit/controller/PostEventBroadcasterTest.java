@@ -0,0 +1,150 @@
+package com.farnamhs.blogging.unit.controller;
+
+import com.farnamhs.blogging.controller.PostEventBroadcaster;
+import com.farnamhs.blogging.dto.PostChangeDto;
+import com.farnamhs.blogging.dto.PostChangesResponseDto;
+import com.farnamhs.blogging.entity.PostChange;
+import com.farnamhs.blogging.entity.PostChangeType;
+import com.farnamhs.blogging.exception.ChangeCursorExpiredException;
+import com.farnamhs.blogging.service.PostService;
+import jakarta.ws.rs.sse.OutboundSseEvent;
+import jakarta.ws.rs.sse.Sse;
+import jakarta.ws.rs.sse.SseEventSink;
+import org.glassfish.jersey.media.sse.OutboundEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class PostEventBroadcasterTest {
+
+    private PostService postService;
+
+    private Sse sse;
+
+    private SseEventSink eventSink;
+
+    private Queue<Runnable> pendingTasks;
+
+    @BeforeEach
+    void setUp() {
+        postService = mock(PostService.class);
+        sse = mock(Sse.class);
+        when(sse.newEventBuilder()).thenAnswer(invocation -> new OutboundEvent.Builder());
+        eventSink = mock(SseEventSink.class);
+        when(eventSink.send(any())).thenReturn(CompletableFuture.completedFuture(null));
+        pendingTasks = new ArrayDeque<>();
+    }
+
+    @Test
+    void must_send_a_committed_change_to_every_subscriber() {
+        PostEventBroadcaster eventBroadcaster = new PostEventBroadcaster(postService, Runnable::run, 4);
+        SseEventSink otherEventSink = mock(SseEventSink.class);
+        when(otherEventSink.send(any())).thenReturn(CompletableFuture.completedFuture(null));
+        eventBroadcaster.subscribe(eventSink, sse, -1);
+        eventBroadcaster.subscribe(otherEventSink, sse, -1);
+
+        eventBroadcaster.onChange(deletedChange(5), Optional.empty());
+
+        assertEquals(List.of("5"), sentEventIds(eventSink));
+        assertEquals(List.of("5"), sentEventIds(otherEventSink));
+    }
+
+    @Test
+    void must_replay_the_changes_after_the_last_event_id_before_live_changes() {
+        PostEventBroadcaster eventBroadcaster = new PostEventBroadcaster(postService, pendingTasks::add, 4);
+        when(postService.getChanges(3, 500, 0)).thenReturn(new PostChangesResponseDto(
+                List.of(deletedChangeDto(4), deletedChangeDto(5)), 5));
+
+        eventBroadcaster.subscribe(eventSink, sse, 3);
+        eventBroadcaster.onChange(deletedChange(5), Optional.empty());
+        eventBroadcaster.onChange(deletedChange(6), Optional.empty());
+        runPendingTasks();
+
+        assertEquals(List.of("4", "5", "6"), sentEventIds(eventSink));
+    }
+
+    @Test
+    void must_send_a_reset_event_and_disconnect_if_the_last_event_id_is_no_longer_retained() {
+        PostEventBroadcaster eventBroadcaster = new PostEventBroadcaster(postService, pendingTasks::add, 4);
+        when(postService.getChanges(3, 500, 0))
+                .thenThrow(new ChangeCursorExpiredException("Changes after the cursor are no longer retained"));
+
+        eventBroadcaster.subscribe(eventSink, sse, 3);
+        runPendingTasks();
+
+        ArgumentCaptor<OutboundSseEvent> events = ArgumentCaptor.forClass(OutboundSseEvent.class);
+        verify(eventSink).send(events.capture());
+        assertEquals("reset", events.getValue().getName());
+        assertEquals(0, eventBroadcaster.getSubscriberCount());
+        verify(eventSink).close();
+    }
+
+    @Test
+    void must_disconnect_a_slow_subscriber_when_its_buffer_overflows() {
+        PostEventBroadcaster eventBroadcaster = new PostEventBroadcaster(postService, pendingTasks::add, 2);
+        eventBroadcaster.subscribe(eventSink, sse, -1);
+
+        eventBroadcaster.onChange(deletedChange(1), Optional.empty());
+        eventBroadcaster.onChange(deletedChange(2), Optional.empty());
+        eventBroadcaster.onChange(deletedChange(3), Optional.empty());
+
+        assertEquals(0, eventBroadcaster.getSubscriberCount());
+        verify(eventSink).close();
+    }
+
+    @Test
+    void should_disconnect_a_subscriber_whose_connection_stops_accepting_events() {
+        PostEventBroadcaster eventBroadcaster = new PostEventBroadcaster(postService, Runnable::run, 4,
+                Duration.ofMillis(50));
+        when(eventSink.send(any())).thenReturn(new CompletableFuture<>());
+        eventBroadcaster.subscribe(eventSink, sse, -1);
+
+        eventBroadcaster.onChange(deletedChange(1), Optional.empty());
+
+        assertEquals(0, eventBroadcaster.getSubscriberCount());
+        verify(eventSink).close();
+    }
+
+    @Test
+    void should_drop_a_subscriber_whose_connection_is_closed() {
+        PostEventBroadcaster eventBroadcaster = new PostEventBroadcaster(postService, Runnable::run, 4);
+        when(eventSink.isClosed()).thenReturn(true);
+        eventBroadcaster.subscribe(eventSink, sse, -1);
+
+        eventBroadcaster.onChange(deletedChange(1), Optional.empty());
+
+        assertEquals(0, eventBroadcaster.getSubscriberCount());
+        verify(eventSink, never()).send(any());
+    }
+
+    private void runPendingTasks() {
+        Runnable task;
+        while ((task = pendingTasks.poll()) != null)
+            task.run();
+    }
+
+    private List<String> sentEventIds(SseEventSink sink) {
+        ArgumentCaptor<OutboundSseEvent> events = ArgumentCaptor.forClass(OutboundSseEvent.class);
+        verify(sink, atLeastOnce()).send(events.capture());
+        return events.getAllValues().stream().map(OutboundSseEvent::getId).toList();
+    }
+
+    private static PostChange deletedChange(long sequence) {
+        return new PostChange(sequence, 1, PostChangeType.DELETED, Instant.parse("2024-10-03T12:03:00Z"), null);
+    }
+
+    private static PostChangeDto deletedChangeDto(long sequence) {
+        return new PostChangeDto(sequence, PostChangeType.DELETED, 1, Instant.parse("2024-10-03T12:03:00Z"), null);
+    }
+}
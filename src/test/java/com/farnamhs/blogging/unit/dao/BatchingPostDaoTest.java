@@ -0,0 +1,88 @@
+package com.farnamhs.blogging.unit.dao;
+
+import com.farnamhs.blogging.dao.BatchingPostDao;
+import com.farnamhs.blogging.dao.PostDao;
+import com.farnamhs.blogging.entity.Post;
+import com.farnamhs.blogging.exception.DatabaseException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class BatchingPostDaoTest {
+
+    private static PostDao postDao;
+
+    private static Post firstPost;
+
+    private static Post secondPost;
+
+    @BeforeAll
+    static void beforeAll() {
+        postDao = mock(PostDao.class);
+        firstPost = new Post(1, "First", "Content", "Category", List.of("JAVA"),
+                Instant.parse("2024-10-03T12:03:00Z"), Instant.parse("2024-10-03T12:03:00Z"));
+        secondPost = new Post(2, "Second", "Content", "Category", List.of(),
+                Instant.parse("2024-10-03T12:03:00Z"), Instant.parse("2024-10-03T12:03:00Z"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        reset(postDao);
+    }
+
+    @Test
+    void must_load_concurrent_lookups_with_a_single_query_once_the_batch_is_full() {
+        BatchingPostDao batchingPostDao = new BatchingPostDao(postDao, Duration.ofMinutes(1), 3);
+        when(postDao.findByIds(anyList())).thenReturn(List.of(secondPost, firstPost));
+        ExecutorService callers = Executors.newFixedThreadPool(3);
+        try {
+            CompletableFuture<Optional<Post>> firstLookup = CompletableFuture.supplyAsync(() -> batchingPostDao.findById(1), callers);
+            CompletableFuture<Optional<Post>> secondLookup = CompletableFuture.supplyAsync(() -> batchingPostDao.findById(2), callers);
+            CompletableFuture<Optional<Post>> missingLookup = CompletableFuture.supplyAsync(() -> batchingPostDao.findById(9), callers);
+
+            assertEquals(Optional.of(firstPost), firstLookup.join());
+            assertEquals(Optional.of(secondPost), secondLookup.join());
+            assertEquals(Optional.empty(), missingLookup.join());
+        } finally {
+            callers.shutdownNow();
+        }
+        verify(postDao, times(1)).findByIds(anyList());
+        assertEquals(1, batchingPostDao.getBatches());
+        assertEquals(3.0, batchingPostDao.getAverageBatchSize());
+    }
+
+    @Test
+    void must_load_a_partial_batch_when_the_window_closes() {
+        BatchingPostDao batchingPostDao = new BatchingPostDao(postDao, Duration.ofMillis(5), 100);
+        when(postDao.findByIds(List.of(1L))).thenReturn(List.of(firstPost));
+
+        assertEquals(Optional.of(firstPost), batchingPostDao.findById(1));
+        assertEquals(Optional.of(firstPost), batchingPostDao.findById(1));
+        verify(postDao, times(2)).findByIds(List.of(1L));
+    }
+
+    @Test
+    void must_fail_every_lookup_of_a_batch_if_its_query_fails() {
+        BatchingPostDao batchingPostDao = new BatchingPostDao(postDao, Duration.ofMillis(5), 100);
+        when(postDao.findByIds(anyList())).thenThrow(new DatabaseException("Failed to find the posts", null));
+
+        assertThrows(DatabaseException.class, () -> batchingPostDao.findById(1));
+    }
+
+    @Test
+    void should_prevent_creating_with_an_invalid_window_or_batch_size() {
+        assertThrows(IllegalArgumentException.class, () -> new BatchingPostDao(postDao, Duration.ZERO, 10));
+        assertThrows(IllegalArgumentException.class, () -> new BatchingPostDao(postDao, Duration.ofMillis(1), 0));
+    }
+}
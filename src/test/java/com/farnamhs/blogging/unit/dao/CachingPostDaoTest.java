@@ -0,0 +1,151 @@
+package com.farnamhs.blogging.unit.dao;
+
+import com.farnamhs.blogging.cache.PostCache;
+import com.farnamhs.blogging.cache.SearchResultCache;
+import com.farnamhs.blogging.dao.CachingPostDao;
+import com.farnamhs.blogging.dao.PostDao;
+import com.farnamhs.blogging.entity.Post;
+import com.farnamhs.blogging.entity.PostField;
+import com.farnamhs.blogging.entity.ProjectedPost;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class CachingPostDaoTest {
+
+    private static PostDao postDao;
+
+    private static Post post;
+
+    private CachingPostDao cachingPostDao;
+
+    @BeforeAll
+    static void beforeAll() {
+        postDao = mock(PostDao.class);
+        post = new Post(
+                1,
+                "Title",
+                "Content",
+                "Category",
+                List.of("JAVA"),
+                Instant.parse("2024-10-03T12:03:00Z"),
+                Instant.parse("2024-10-03T12:03:00Z")
+        );
+    }
+
+    @BeforeEach
+    void setUp() {
+        cachingPostDao = new CachingPostDao(postDao, new SearchResultCache(10, 10), new PostCache(1_000_000, 100));
+    }
+
+    @AfterEach
+    void tearDown() {
+        reset(postDao);
+    }
+
+    @Test
+    void must_serve_a_repeated_search_from_the_cache() {
+        when(postDao.findBySearchTerm("Title")).thenReturn(List.of(post));
+
+        cachingPostDao.findBySearchTerm("Title");
+        List<Post> actual = cachingPostDao.findBySearchTerm("Title");
+
+        assertIterableEquals(List.of(post), actual);
+        verify(postDao, times(1)).findBySearchTerm("Title");
+    }
+
+    @Test
+    void must_search_again_after_a_post_is_saved() {
+        when(postDao.findBySearchTerm("Title")).thenReturn(List.of(post));
+
+        cachingPostDao.findBySearchTerm("Title");
+        cachingPostDao.save(post);
+        cachingPostDao.findBySearchTerm("Title");
+
+        verify(postDao, times(2)).findBySearchTerm("Title");
+    }
+
+    @Test
+    void must_search_again_after_a_post_is_updated() {
+        when(postDao.findBySearchTerm("Title")).thenReturn(List.of(post));
+        when(postDao.update(post)).thenReturn(Optional.of(post));
+
+        cachingPostDao.findBySearchTerm("Title");
+        cachingPostDao.update(post);
+        cachingPostDao.findBySearchTerm("Title");
+
+        verify(postDao, times(2)).findBySearchTerm("Title");
+    }
+
+    @Test
+    void must_search_again_after_a_post_is_deleted() {
+        when(postDao.findBySearchTerm("Title")).thenReturn(List.of(post));
+        when(postDao.deleteById(1)).thenReturn(true);
+
+        cachingPostDao.findBySearchTerm("Title");
+        cachingPostDao.deleteById(1);
+        cachingPostDao.findBySearchTerm("Title");
+
+        verify(postDao, times(2)).findBySearchTerm("Title");
+    }
+
+    @Test
+    void should_invalidate_the_cache_even_if_the_write_fails() {
+        when(postDao.findBySearchTerm("Title")).thenReturn(List.of(post));
+        when(postDao.save(post)).thenThrow(new RuntimeException());
+
+        cachingPostDao.findBySearchTerm("Title");
+        assertThrows(RuntimeException.class, () -> cachingPostDao.save(post));
+        cachingPostDao.findBySearchTerm("Title");
+
+        verify(postDao, times(2)).findBySearchTerm("Title");
+    }
+
+    @Test
+    void should_project_a_cached_search_instead_of_searching_the_fields_again() {
+        when(postDao.findBySearchTerm("Title")).thenReturn(List.of(post));
+
+        cachingPostDao.findBySearchTerm("Title");
+        List<ProjectedPost> actual = cachingPostDao.findBySearchTerm("Title", EnumSet.of(PostField.TITLE));
+
+        assertIterableEquals(List.of(new ProjectedPost(1, "Title", null, null, null, null, null)), actual);
+        verify(postDao, never()).findBySearchTerm(eq("Title"), any());
+    }
+
+    @Test
+    void must_serve_a_repeated_read_of_a_post_from_the_cache() {
+        when(postDao.findById(1)).thenReturn(Optional.of(post));
+
+        cachingPostDao.findById(1);
+        Optional<Post> actual = cachingPostDao.findById(1);
+        Optional<ProjectedPost> actualFields = cachingPostDao.findById(1, EnumSet.of(PostField.TITLE));
+
+        assertEquals(Optional.of(post), actual);
+        assertEquals(Optional.of(new ProjectedPost(1, "Title", null, null, null, null, null)), actualFields);
+        verify(postDao, times(1)).findById(1);
+        verify(postDao, never()).findById(eq(1L), any());
+    }
+
+    @Test
+    void must_read_a_post_again_after_it_is_updated_or_deleted() {
+        when(postDao.findById(1)).thenReturn(Optional.of(post));
+        when(postDao.update(post)).thenReturn(Optional.of(post));
+
+        cachingPostDao.findById(1);
+        cachingPostDao.update(post);
+        cachingPostDao.findById(1);
+        cachingPostDao.deleteById(1);
+        cachingPostDao.findById(1);
+
+        verify(postDao, times(3)).findById(1);
+    }
+}
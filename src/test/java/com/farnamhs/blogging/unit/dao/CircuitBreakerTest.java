@@ -0,0 +1,186 @@
+package com.farnamhs.blogging.unit.dao;
+
+import com.farnamhs.blogging.dao.CircuitBreaker;
+import com.farnamhs.blogging.exception.DatabaseException;
+import com.farnamhs.blogging.exception.DatabaseUnavailableException;
+import com.farnamhs.blogging.exception.DeadlineExceededException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLTimeoutException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CircuitBreakerTest {
+
+    private MutableClock clock;
+
+    private CircuitBreaker circuitBreaker;
+
+    private AtomicInteger calls;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2024-10-03T12:03:00Z"));
+        circuitBreaker = new CircuitBreaker(clock, 4, 4, 0.5, Duration.ofSeconds(1), 0.75, Duration.ofSeconds(10), 2);
+        calls = new AtomicInteger();
+    }
+
+    @Test
+    void must_open_once_the_failure_rate_reaches_the_threshold_and_fail_fast_while_open() {
+        succeed();
+        succeed();
+        fail();
+        assertEquals("CLOSED", circuitBreaker.getState());
+        fail();
+
+        assertEquals("OPEN", circuitBreaker.getState());
+        DatabaseUnavailableException e = assertThrows(DatabaseUnavailableException.class, this::succeed);
+        assertEquals(Duration.ofSeconds(10), e.getRetryAfter());
+        assertEquals(4, calls.get());
+        assertEquals(1, circuitBreaker.getRejectedCalls());
+    }
+
+    @Test
+    void must_open_once_the_slow_call_rate_reaches_the_threshold() {
+        succeed();
+        for (int i = 0; i < 3; i++)
+            circuitBreaker.execute(() -> {
+                clock.advance(Duration.ofSeconds(2));
+                return calls.incrementAndGet();
+            });
+
+        assertEquals("OPEN", circuitBreaker.getState());
+    }
+
+    @Test
+    void should_not_count_the_latency_of_calls_executed_ignoring_it() {
+        for (int i = 0; i < 4; i++)
+            circuitBreaker.executeIgnoringLatency(() -> {
+                clock.advance(Duration.ofSeconds(2));
+                return calls.incrementAndGet();
+            });
+
+        assertEquals("CLOSED", circuitBreaker.getState());
+    }
+
+    @Test
+    void must_close_after_the_half_open_probes_succeed() {
+        openCircuit();
+        clock.advance(Duration.ofSeconds(10));
+
+        succeed();
+        assertEquals("HALF_OPEN", circuitBreaker.getState());
+        succeed();
+
+        assertEquals("CLOSED", circuitBreaker.getState());
+        assertEquals(0, circuitBreaker.getFailureRate());
+    }
+
+    @Test
+    void must_open_again_if_a_half_open_probe_fails() {
+        openCircuit();
+        clock.advance(Duration.ofSeconds(10));
+
+        fail();
+
+        assertEquals("OPEN", circuitBreaker.getState());
+        assertEquals(2, circuitBreaker.getOpenedCount());
+        assertThrows(DatabaseUnavailableException.class, this::succeed);
+    }
+
+    @Test
+    void should_ask_to_retry_shortly_when_every_half_open_probe_is_taken() {
+        openCircuit();
+        clock.advance(Duration.ofSeconds(10));
+
+        DatabaseUnavailableException e = circuitBreaker.execute(() -> circuitBreaker.execute(
+                () -> assertThrows(DatabaseUnavailableException.class, this::succeed)));
+
+        assertTrue(e.getRetryAfter().compareTo(Duration.ZERO) > 0);
+    }
+
+    @Test
+    void must_count_query_timeouts_as_failures() {
+        succeed();
+        succeed();
+        for (int i = 0; i < 2; i++)
+            assertThrows(DeadlineExceededException.class, () -> circuitBreaker.execute(() -> {
+                throw new DeadlineExceededException("Request deadline exceeded", new SQLTimeoutException());
+            }));
+
+        assertEquals("OPEN", circuitBreaker.getState());
+    }
+
+    @Test
+    void should_not_count_errors_other_than_database_failures() {
+        for (int i = 0; i < 4; i++)
+            assertThrows(IllegalStateException.class, () -> circuitBreaker.execute(() -> {
+                throw new IllegalStateException("Not a database failure");
+            }));
+
+        assertEquals("CLOSED", circuitBreaker.getState());
+    }
+
+    @Test
+    void should_prevent_creating_with_invalid_settings() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new CircuitBreaker(clock, 4, 5, 0.5, Duration.ofSeconds(1), 0.5, Duration.ofSeconds(1), 1));
+        assertThrows(IllegalArgumentException.class,
+                () -> new CircuitBreaker(clock, 4, 4, 1.5, Duration.ofSeconds(1), 0.5, Duration.ofSeconds(1), 1));
+        assertThrows(IllegalArgumentException.class,
+                () -> new CircuitBreaker(clock, 4, 4, 0.5, Duration.ofSeconds(1), 0.5, Duration.ZERO, 1));
+        assertThrows(IllegalArgumentException.class,
+                () -> new CircuitBreaker(clock, 4, 4, 0.5, Duration.ofSeconds(1), 0.5, Duration.ofSeconds(1), 0));
+    }
+
+    private void openCircuit() {
+        for (int i = 0; i < 4; i++) fail();
+        assertEquals("OPEN", circuitBreaker.getState());
+    }
+
+    private void succeed() {
+        circuitBreaker.execute(calls::incrementAndGet);
+    }
+
+    private void fail() {
+        assertThrows(DatabaseException.class, () -> circuitBreaker.execute(() -> {
+            calls.incrementAndGet();
+            throw new DatabaseException("Failed to connect");
+        }));
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private volatile Instant instant;
+
+        private MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        private void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
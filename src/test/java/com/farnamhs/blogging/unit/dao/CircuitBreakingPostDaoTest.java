@@ -0,0 +1,58 @@
+package com.farnamhs.blogging.unit.dao;
+
+import com.farnamhs.blogging.dao.CircuitBreaker;
+import com.farnamhs.blogging.dao.CircuitBreakingPostDao;
+import com.farnamhs.blogging.dao.PostDao;
+import com.farnamhs.blogging.entity.Post;
+import com.farnamhs.blogging.exception.DatabaseException;
+import com.farnamhs.blogging.exception.DatabaseUnavailableException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class CircuitBreakingPostDaoTest {
+
+    private static final Instant NOW = Instant.parse("2024-10-03T12:03:00Z");
+
+    private PostDao postDao;
+
+    private CircuitBreaker circuitBreaker;
+
+    private CircuitBreakingPostDao circuitBreakingPostDao;
+
+    @BeforeEach
+    void setUp() {
+        postDao = mock(PostDao.class);
+        circuitBreaker = new CircuitBreaker(Clock.fixed(NOW, ZoneOffset.UTC), 2, 2, 0.5, Duration.ofSeconds(1), 1,
+                Duration.ofSeconds(10), 1);
+        circuitBreakingPostDao = new CircuitBreakingPostDao(postDao, circuitBreaker);
+    }
+
+    @Test
+    void must_guard_the_lazy_loaders_of_a_post_with_the_circuit_breaker() {
+        AtomicInteger contentLoads = new AtomicInteger();
+        when(postDao.findLazyById(1)).thenReturn(Optional.of(Post.lazy(1, "Title", () -> {
+            contentLoads.incrementAndGet();
+            return "Content";
+        }, "Tech", List::of, NOW, NOW)));
+        Post post = circuitBreakingPostDao.findLazyById(1).orElseThrow();
+
+        assertThrows(DatabaseException.class, () -> circuitBreaker.execute(() -> {
+            throw new DatabaseException("Failed");
+        }));
+
+        assertEquals("OPEN", circuitBreaker.getState());
+        assertThrows(DatabaseUnavailableException.class, post::getContent);
+        assertEquals(0, contentLoads.get());
+    }
+}
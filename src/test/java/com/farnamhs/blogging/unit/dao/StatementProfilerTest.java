@@ -0,0 +1,139 @@
+package com.farnamhs.blogging.unit.dao;
+
+import com.farnamhs.blogging.dao.StatementProfiler;
+import com.farnamhs.blogging.dao.StatementStatistics;
+import com.farnamhs.blogging.util.RequestEndpoint;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.logging.Handler;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class StatementProfilerTest {
+
+    private final Logger slowQueryLogger = Logger.getLogger(StatementProfiler.SLOW_QUERY_LOGGER_NAME);
+
+    private final List<LogRecord> slowQueryLogs = new ArrayList<>();
+
+    private final Handler capturingHandler = new Handler() {
+        @Override
+        public void publish(LogRecord record) {
+            slowQueryLogs.add(record);
+        }
+
+        @Override
+        public void flush() {}
+
+        @Override
+        public void close() {}
+    };
+
+    @BeforeEach
+    void setUp() {
+        slowQueryLogger.addHandler(capturingHandler);
+    }
+
+    @AfterEach
+    void tearDown() {
+        slowQueryLogger.removeHandler(capturingHandler);
+        RequestEndpoint.clear();
+    }
+
+    @Test
+    void must_count_the_executions_and_rows_of_a_query_per_sql_id() throws SQLException {
+        StatementProfiler statementProfiler = new StatementProfiler(Duration.ofHours(1), Runnable::run);
+        PreparedStatement statement = mock(PreparedStatement.class);
+        ResultSet resultSet = mock(ResultSet.class);
+        when(statement.executeQuery()).thenReturn(resultSet);
+
+        for (int execution = 0; execution < 2; execution++) {
+            when(resultSet.next()).thenReturn(true, true, false);
+            try (PreparedStatement profiledStatement = statementProfiler.profile("SELECT_POSTS_LIKE_SQL", statement)) {
+                profiledStatement.setString(1, "%java%");
+                try (ResultSet profiledResultSet = profiledStatement.executeQuery()) {
+                    while (profiledResultSet.next()) profiledResultSet.getLong(1);
+                }
+            }
+        }
+
+        StatementStatistics statistics = statementProfiler.getStatements().get("SELECT_POSTS_LIKE_SQL");
+        assertEquals(2, statistics.getExecutions());
+        assertEquals(4, statistics.getRows());
+        assertEquals(4.0, statistics.getAverageSearchTermLength());
+        assertEquals(0, statistics.getSlowExecutions());
+        assertTrue(slowQueryLogs.isEmpty());
+        verify(statement, times(2)).close();
+    }
+
+    @Test
+    void must_count_the_rows_affected_by_updates_and_batches() throws SQLException {
+        StatementProfiler statementProfiler = new StatementProfiler(Duration.ofHours(1), Runnable::run);
+        PreparedStatement statement = mock(PreparedStatement.class);
+        when(statement.executeBatch()).thenReturn(new int[]{1, 1, PreparedStatement.SUCCESS_NO_INFO});
+
+        try (PreparedStatement profiledStatement = statementProfiler.profile("INSERT_POST_TAG_SQL", statement)) {
+            profiledStatement.executeBatch();
+        }
+
+        assertEquals(2, statementProfiler.getStatements().get("INSERT_POST_TAG_SQL").getRows());
+    }
+
+    @Test
+    void should_log_a_slow_statement_with_redacted_parameters_and_the_calling_endpoint() throws SQLException {
+        StatementProfiler statementProfiler = new StatementProfiler(Duration.ZERO, Runnable::run);
+        PreparedStatement statement = mock(PreparedStatement.class);
+        when(statement.executeUpdate()).thenReturn(1);
+        RequestEndpoint.set("PUT PostResource.updatePost");
+
+        try (PreparedStatement profiledStatement = statementProfiler.profile("UPDATE_POST_SQL", statement, Set.of(2))) {
+            profiledStatement.setString(1, "Title");
+            profiledStatement.setString(2, "Secret content");
+            profiledStatement.setLong(5, 7);
+            profiledStatement.executeUpdate();
+        }
+
+        assertEquals(1, statementProfiler.getStatements().get("UPDATE_POST_SQL").getSlowExecutions());
+        assertEquals(1, slowQueryLogs.size());
+        Object[] logParameters = slowQueryLogs.get(0).getParameters();
+        assertEquals("UPDATE_POST_SQL", logParameters[0]);
+        assertEquals(1L, logParameters[2]);
+        assertEquals("PUT PostResource.updatePost", logParameters[4]);
+        assertEquals("[1='Title', 2=<redacted>, 5=7]", logParameters[5]);
+    }
+
+    @Test
+    void should_not_record_a_statement_that_was_never_executed() throws SQLException {
+        StatementProfiler statementProfiler = new StatementProfiler(Duration.ZERO, Runnable::run);
+
+        statementProfiler.profile("SELECT_POST_SQL", mock(PreparedStatement.class)).close();
+
+        assertTrue(statementProfiler.getStatements().isEmpty());
+        assertTrue(slowQueryLogs.isEmpty());
+    }
+
+    @Test
+    void should_count_the_slow_statement_logs_dropped_when_the_logger_is_saturated() throws SQLException {
+        StatementProfiler statementProfiler = new StatementProfiler(Duration.ZERO, task -> {
+            throw new RejectedExecutionException();
+        });
+
+        try (PreparedStatement profiledStatement = statementProfiler.profile("DELETE_POST_SQL", mock(PreparedStatement.class))) {
+            profiledStatement.executeUpdate();
+        }
+
+        assertEquals(1, statementProfiler.getDroppedSlowStatementLogs());
+    }
+}
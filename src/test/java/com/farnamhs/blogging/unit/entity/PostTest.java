@@ -4,8 +4,10 @@ import com.farnamhs.blogging.entity.Post;
 import org.junit.jupiter.api.Test;
 
 import java.time.Instant;
+import java.util.Arrays;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static java.util.Collections.*;
 import static org.junit.jupiter.api.Assertions.*;
@@ -336,6 +338,69 @@ public class PostTest {
         assertEquals(post.getUpdatedAt(), updatedAt);
     }
 
+    @Test
+    void should_not_load_the_content_and_tags_of_a_lazy_post_until_accessed() {
+        AtomicInteger loads = new AtomicInteger();
+        Post post = Post.lazy(1, "Title", () -> "Content " + loads.incrementAndGet(), "Category",
+                () -> List.of("tag"), getFixedInstant(), getFixedInstant());
+
+        assertFalse(post.isContentLoaded());
+        assertEquals("Content 1", post.getContent());
+        assertEquals("Content 1", post.getContent());
+        assertTrue(post.isContentLoaded());
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void should_validate_the_lazy_content_and_tags_when_loaded() {
+        Post post = Post.lazy(1, "Title", () -> "  ", "Category", () -> null, getFixedInstant(), getFixedInstant());
+
+        assertThrows(IllegalArgumentException.class, post::getContent);
+        assertThrows(NullPointerException.class, post::getTags);
+    }
+
+    @Test
+    void should_normalize_the_lazy_tags_like_eager_ones() {
+        Post post = Post.lazy(1, "Title", () -> "Content", "Category",
+                () -> Arrays.asList(" java ", null, "JAVA", " "), getFixedInstant(), getFixedInstant());
+
+        assertEquals(List.of("JAVA"), post.getTags());
+    }
+
+    @Test
+    void should_validate_the_eager_fields_of_a_lazy_post_immediately() {
+        assertThrows(IllegalArgumentException.class,
+                () -> Post.lazy(1, " ", () -> "Content", "Category", List::of, getFixedInstant(), getFixedInstant()));
+    }
+
+    @Test
+    void should_hash_a_lazy_post_and_tell_apart_different_metadata_without_loading_its_content_and_tags() {
+        AtomicInteger loads = new AtomicInteger();
+        Post lazyPost = Post.lazy(1, "Title", () -> "Content " + loads.incrementAndGet(), "Category",
+                () -> List.of("tag" + loads.incrementAndGet()), getFixedInstant(), getFixedInstant());
+        Post otherPost = new Post(2, "Title", "Content 1", "Category", List.of("tag2"), getFixedInstant(), getFixedInstant());
+
+        lazyPost.hashCode();
+
+        assertNotEquals(otherPost, lazyPost);
+        assertEquals(0, loads.get());
+    }
+
+    @Test
+    void must_compare_the_content_and_tags_of_a_lazy_post_whether_or_not_they_were_loaded() {
+        Post eagerPost = new Post(1, "Title", "Content", "Category", List.of("tag"), getFixedInstant(), getFixedInstant());
+        Post otherContentPost = new Post(1, "Title", "Other content", "Category", List.of("tag"), getFixedInstant(),
+                getFixedInstant());
+        Post lazyPost = Post.lazy(1, "Title", () -> "Content", "Category", () -> List.of("tag"), getFixedInstant(),
+                getFixedInstant());
+
+        assertEquals(eagerPost, lazyPost);
+        assertEquals(eagerPost.hashCode(), lazyPost.hashCode());
+        assertNotEquals(otherContentPost, lazyPost);
+        assertNotEquals(otherContentPost, Post.lazy(1, "Title", () -> "Content", "Category", () -> List.of("tag"),
+                getFixedInstant(), getFixedInstant()));
+    }
+
     private Instant getFixedInstant() {
         return Instant.parse("2024-09-20T20:13:00Z");
     }
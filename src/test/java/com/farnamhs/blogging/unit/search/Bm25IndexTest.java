@@ -0,0 +1,107 @@
+package com.farnamhs.blogging.unit.search;
+
+import com.farnamhs.blogging.entity.Post;
+import com.farnamhs.blogging.entity.PostField;
+import com.farnamhs.blogging.search.Bm25Index;
+import com.farnamhs.blogging.search.ScoredPostId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class Bm25IndexTest {
+
+    private static final Instant NOW = Instant.parse("2024-09-21T12:50:00Z");
+
+    private Bm25Index bm25Index;
+
+    @BeforeEach
+    void setUp() {
+        bm25Index = new Bm25Index(Map.of(PostField.TITLE, 3.0, PostField.TAGS, 2.0));
+    }
+
+    @Test
+    void should_rank_a_title_match_above_a_content_match() {
+        bm25Index.index(post(1, "Cooking at home", "A few words about java and more", "Food", List.of()));
+        bm25Index.index(post(2, "Java streams", "Collectors and more", "Tech", List.of()));
+
+        List<ScoredPostId> results = bm25Index.search("java", 10);
+
+        assertEquals(List.of(2L, 1L), postIds(results));
+        assertTrue(results.get(0).score() > results.get(1).score());
+    }
+
+    @Test
+    void should_rank_posts_matching_more_terms_higher() {
+        bm25Index.index(post(1, "Java", "Content", "Tech", List.of()));
+        bm25Index.index(post(2, "Java records", "Content", "Tech", List.of()));
+        bm25Index.index(post(3, "Kotlin", "Content", "Tech", List.of()));
+
+        assertEquals(List.of(2L, 1L), postIds(bm25Index.search("JAVA, records!", 10)));
+    }
+
+    @Test
+    void should_favor_rare_terms() {
+        bm25Index.index(post(1, "Spring guide", "Content", "Tech", List.of()));
+        bm25Index.index(post(2, "Spring tips", "Content", "Tech", List.of()));
+        bm25Index.index(post(3, "Jersey guide", "Content", "Tech", List.of()));
+
+        assertEquals(3L, bm25Index.search("spring jersey", 10).get(0).postId());
+    }
+
+    @Test
+    void should_search_tags_and_category() {
+        bm25Index.index(post(1, "Title", "Content", "Travel", List.of("Photography")));
+
+        assertEquals(List.of(1L), postIds(bm25Index.search("photography", 10)));
+        assertEquals(List.of(1L), postIds(bm25Index.search("travel", 10)));
+    }
+
+    @Test
+    void must_return_only_the_top_k_results() {
+        for (long id = 1; id <= 20; id++)
+            bm25Index.index(post(id, "Java" + " java".repeat((int) id), "Content", "Tech", List.of()));
+
+        List<ScoredPostId> results = bm25Index.search("java", 3);
+
+        assertEquals(3, results.size());
+        assertEquals(List.of(20L, 19L, 18L), postIds(results));
+    }
+
+    @Test
+    void must_replace_the_terms_of_a_reindexed_post() {
+        bm25Index.index(post(1, "Java", "Content", "Tech", List.of()));
+        bm25Index.index(post(1, "Kotlin", "Content", "Tech", List.of()));
+
+        assertTrue(bm25Index.search("java", 10).isEmpty());
+        assertEquals(List.of(1L), postIds(bm25Index.search("kotlin", 10)));
+        assertEquals(1, bm25Index.size());
+    }
+
+    @Test
+    void must_forget_a_removed_post() {
+        bm25Index.index(post(1, "Java", "Content", "Tech", List.of()));
+
+        bm25Index.remove(1);
+
+        assertTrue(bm25Index.search("java", 10).isEmpty());
+        assertEquals(0, bm25Index.size());
+    }
+
+    @Test
+    void must_reject_a_non_positive_limit() {
+        assertThrows(IllegalArgumentException.class, () -> bm25Index.search("java", 0));
+    }
+
+    private static List<Long> postIds(List<ScoredPostId> results) {
+        return results.stream().map(ScoredPostId::postId).toList();
+    }
+
+    private static Post post(long id, String title, String content, String category, List<String> tags) {
+        return new Post(id, title, content, category, tags, NOW, NOW);
+    }
+}
@@ -0,0 +1,103 @@
+package com.farnamhs.blogging.unit.search;
+
+import com.farnamhs.blogging.dao.PostDao;
+import com.farnamhs.blogging.entity.Post;
+import com.farnamhs.blogging.entity.PostChange;
+import com.farnamhs.blogging.entity.PostChangeType;
+import com.farnamhs.blogging.search.Bm25Index;
+import com.farnamhs.blogging.search.PostSearchIndex;
+import com.farnamhs.blogging.search.ScoredPostId;
+import com.farnamhs.blogging.search.SuggestionIndex;
+import com.farnamhs.blogging.search.TrigramIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class PostSearchIndexTest {
+
+    private static final Instant NOW = Instant.parse("2024-09-21T12:50:00Z");
+
+    private PostDao postDao;
+
+    private PostSearchIndex searchIndex;
+
+    @BeforeEach
+    void setUp() {
+        postDao = mock(PostDao.class);
+        searchIndex = new PostSearchIndex(new Bm25Index(Map.of()), new SuggestionIndex(), new TrigramIndex());
+    }
+
+    @Test
+    void must_index_every_post_on_rebuild() {
+        streamPosts(post(1, "Java"), post(2, "Java records"));
+
+        searchIndex.rebuild(postDao);
+
+        assertTrue(searchIndex.isReady());
+        assertEquals(2, searchIndex.rank("java", 10).size());
+    }
+
+    @Test
+    void must_follow_created_updated_and_deleted_posts() {
+        searchIndex.onChange(new PostChange(1, 1, PostChangeType.CREATED, NOW, post(1, "Java")), Optional.empty());
+        searchIndex.onChange(new PostChange(2, 2, PostChangeType.CREATED, NOW, post(2, "Java")), Optional.empty());
+        searchIndex.onChange(new PostChange(3, 1, PostChangeType.UPDATED, NOW, post(1, "Kotlin")), Optional.of(post(1, "Java")));
+        searchIndex.onChange(new PostChange(4, 2, PostChangeType.DELETED, NOW, null), Optional.of(post(2, "Java")));
+
+        assertTrue(searchIndex.rank("java", 10).isEmpty());
+        assertEquals(List.of(1L), searchIndex.rank("kotlin", 10).stream().map(ScoredPostId::postId).toList());
+    }
+
+    @Test
+    void must_not_resurrect_a_post_deleted_while_rebuilding() {
+        doAnswer(invocation -> {
+            Consumer<Post> consumer = invocation.getArgument(0);
+            searchIndex.onChange(new PostChange(1, 1, PostChangeType.DELETED, NOW, null), Optional.of(post(1, "Java")));
+            consumer.accept(post(1, "Java"));
+            return null;
+        }).when(postDao).forEachPost(any());
+
+        searchIndex.rebuild(postDao);
+
+        assertTrue(searchIndex.rank("java", 10).isEmpty());
+    }
+
+    @Test
+    void should_rank_posts_despite_misspelled_terms() {
+        searchIndex.onChange(new PostChange(1, 1, PostChangeType.CREATED, NOW, post(1, "Kubernetes operators")), Optional.empty());
+        searchIndex.onChange(new PostChange(2, 2, PostChangeType.CREATED, NOW, post(2, "Kotlin coroutines")), Optional.empty());
+
+        assertTrue(searchIndex.rank("kubernets operatrs", 10).isEmpty());
+        assertEquals(List.of(1L), searchIndex.rankFuzzy("kubernets operatrs", 10).stream().map(ScoredPostId::postId).toList());
+    }
+
+    @Test
+    void should_rank_an_exact_match_above_a_fuzzy_match() {
+        searchIndex.onChange(new PostChange(1, 1, PostChangeType.CREATED, NOW, post(1, "Java")), Optional.empty());
+        searchIndex.onChange(new PostChange(2, 2, PostChangeType.CREATED, NOW, post(2, "Lava")), Optional.empty());
+
+        assertEquals(List.of(1L, 2L), searchIndex.rankFuzzy("java", 10).stream().map(ScoredPostId::postId).toList());
+    }
+
+    @SuppressWarnings("unchecked")
+    private void streamPosts(Post... posts) {
+        doAnswer(invocation -> {
+            Consumer<Post> consumer = invocation.getArgument(0);
+            for (Post post : posts) consumer.accept(post);
+            return null;
+        }).when(postDao).forEachPost(any(Consumer.class));
+    }
+
+    private static Post post(long id, String title) {
+        return new Post(id, title, "Content", "Tech", List.of(), NOW, NOW);
+    }
+}
@@ -0,0 +1,97 @@
+package com.farnamhs.blogging.unit.search;
+
+import com.farnamhs.blogging.dao.PostChangeLogDao;
+import com.farnamhs.blogging.dao.PostDao;
+import com.farnamhs.blogging.entity.Post;
+import com.farnamhs.blogging.entity.PostChange;
+import com.farnamhs.blogging.entity.PostChangeType;
+import com.farnamhs.blogging.search.Bm25Index;
+import com.farnamhs.blogging.search.PostSearchIndex;
+import com.farnamhs.blogging.search.ScoredPostId;
+import com.farnamhs.blogging.search.SearchIndexPoller;
+import com.farnamhs.blogging.search.SuggestionIndex;
+import com.farnamhs.blogging.search.TrigramIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class SearchIndexPollerTest {
+
+    private static final Instant NOW = Instant.parse("2024-09-21T12:50:00Z");
+
+    private PostDao postDao;
+
+    private PostChangeLogDao changeLogDao;
+
+    private PostSearchIndex searchIndex;
+
+    private SearchIndexPoller searchIndexPoller;
+
+    @BeforeEach
+    void setUp() {
+        postDao = mock(PostDao.class);
+        changeLogDao = mock(PostChangeLogDao.class);
+        searchIndex = new PostSearchIndex(new Bm25Index(Map.of()), new SuggestionIndex(), new TrigramIndex());
+        searchIndexPoller = new SearchIndexPoller(searchIndex, postDao, changeLogDao, 2);
+    }
+
+    @Test
+    void must_apply_the_changes_written_by_other_nodes_after_the_rebuild() {
+        when(changeLogDao.findLatestChangeSequence()).thenReturn(5L);
+        streamPosts(post(1, "Java"), post(2, "Java records"));
+        searchIndexPoller.rebuild();
+        when(postDao.findChangesSince(5, 2)).thenReturn(List.of(
+                new PostChange(6, 3, PostChangeType.CREATED, NOW, post(3, "Kotlin")),
+                new PostChange(7, 1, PostChangeType.DELETED, NOW, null)
+        ));
+        when(postDao.findChangesSince(7, 2)).thenReturn(List.of(
+                new PostChange(8, 2, PostChangeType.UPDATED, NOW, post(2, "Kotlin records"))
+        ));
+
+        searchIndexPoller.poll();
+
+        assertTrue(searchIndex.rank("java", 10).isEmpty());
+        assertEquals(List.of(2L, 3L), searchIndex.rank("kotlin", 10).stream().map(ScoredPostId::postId).sorted().toList());
+        assertEquals(8, searchIndexPoller.getWatermark());
+    }
+
+    @Test
+    void should_not_poll_before_the_index_was_built() {
+        searchIndexPoller.poll();
+
+        verify(postDao, never()).findChangesSince(anyLong(), anyInt());
+    }
+
+    @Test
+    void should_keep_the_watermark_if_polling_fails() {
+        when(changeLogDao.findLatestChangeSequence()).thenReturn(5L);
+        streamPosts();
+        searchIndexPoller.rebuild();
+        when(postDao.findChangesSince(5, 2)).thenThrow(new IllegalStateException("Database is down"));
+
+        searchIndexPoller.poll();
+
+        assertEquals(5, searchIndexPoller.getWatermark());
+    }
+
+    @SuppressWarnings("unchecked")
+    private void streamPosts(Post... posts) {
+        doAnswer(invocation -> {
+            Consumer<Post> consumer = invocation.getArgument(0);
+            for (Post post : posts) consumer.accept(post);
+            return null;
+        }).when(postDao).forEachPost(any(Consumer.class));
+    }
+
+    private static Post post(long id, String title) {
+        return new Post(id, title, "Content", "Tech", List.of(), NOW, NOW);
+    }
+}
@@ -0,0 +1,81 @@
+package com.farnamhs.blogging.unit.search;
+
+import com.farnamhs.blogging.entity.Post;
+import com.farnamhs.blogging.search.Suggestion;
+import com.farnamhs.blogging.search.SuggestionIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SuggestionIndexTest {
+
+    private static final Instant NOW = Instant.parse("2024-09-21T12:50:00Z");
+
+    private SuggestionIndex suggestionIndex;
+
+    @BeforeEach
+    void setUp() {
+        suggestionIndex = new SuggestionIndex();
+    }
+
+    @Test
+    void should_complete_titles_and_tags_ignoring_case() {
+        suggestionIndex.index(post(1, "Java Streams", List.of("jvm")));
+
+        assertEquals(List.of(new Suggestion("Java Streams", 1)), suggestionIndex.suggest("jAVA s", 10));
+        assertEquals(List.of(new Suggestion("JVM", 1)), suggestionIndex.suggest("jv", 10));
+    }
+
+    @Test
+    void should_rank_the_completions_by_popularity() {
+        suggestionIndex.index(post(1, "Java Streams", List.of("JAVA")));
+        suggestionIndex.index(post(2, "Javascript Promises", List.of("JAVA", "JAVASCRIPT")));
+        suggestionIndex.index(post(3, "Java Records", List.of("JAVASCRIPT", "JAVA")));
+
+        List<Suggestion> suggestions = suggestionIndex.suggest("ja", 2);
+
+        assertEquals(List.of(new Suggestion("JAVA", 3), new Suggestion("JAVASCRIPT", 2)), suggestions);
+    }
+
+    @Test
+    void must_return_at_most_the_limit() {
+        for (long id = 1; id <= 20; id++)
+            suggestionIndex.index(post(id, "Post " + id, List.of()));
+
+        assertEquals(5, suggestionIndex.suggest("post", 5).size());
+    }
+
+    @Test
+    void must_move_the_completions_of_an_updated_post() {
+        suggestionIndex.index(post(1, "Java Streams", List.of("JAVA")));
+        suggestionIndex.index(post(1, "Kotlin Flows", List.of("KOTLIN")));
+
+        assertTrue(suggestionIndex.suggest("ja", 10).isEmpty());
+        assertEquals(List.of(new Suggestion("KOTLIN", 1), new Suggestion("Kotlin Flows", 1)), suggestionIndex.suggest("k", 10));
+    }
+
+    @Test
+    void must_forget_the_completions_of_a_removed_post() {
+        suggestionIndex.index(post(1, "Java Streams", List.of("JAVA")));
+        suggestionIndex.index(post(2, "Java Records", List.of("JAVA")));
+
+        suggestionIndex.remove(1);
+
+        assertEquals(List.of(new Suggestion("JAVA", 1), new Suggestion("Java Records", 1)), suggestionIndex.suggest("java", 10));
+    }
+
+    @Test
+    void should_return_nothing_for_an_unknown_prefix() {
+        suggestionIndex.index(post(1, "Java Streams", List.of()));
+
+        assertTrue(suggestionIndex.suggest("python", 10).isEmpty());
+    }
+
+    private static Post post(long id, String title, List<String> tags) {
+        return new Post(id, title, "Content", "Tech", tags, NOW, NOW);
+    }
+}
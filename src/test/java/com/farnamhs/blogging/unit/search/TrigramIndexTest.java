@@ -0,0 +1,76 @@
+package com.farnamhs.blogging.unit.search;
+
+import com.farnamhs.blogging.entity.Post;
+import com.farnamhs.blogging.search.TrigramIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TrigramIndexTest {
+
+    private static final Instant NOW = Instant.parse("2024-09-21T12:50:00Z");
+
+    private TrigramIndex trigramIndex;
+
+    @BeforeEach
+    void setUp() {
+        trigramIndex = new TrigramIndex();
+        trigramIndex.index(post(1, "Kubernetes operators", List.of("Cloud Native")));
+        trigramIndex.index(post(2, "Java streams", List.of("JVM")));
+    }
+
+    @Test
+    void should_find_title_terms_within_the_allowed_edit_distance() {
+        assertEquals(Map.of("kubernetes", 1), trigramIndex.similarTerms("kubernets"));
+        assertEquals(Map.of("kubernetes", 2), trigramIndex.similarTerms("kuvernets"));
+        assertEquals(Map.of("streams", 1), trigramIndex.similarTerms("strems"));
+        assertEquals(Map.of("java", 1), trigramIndex.similarTerms("jav"));
+    }
+
+    @Test
+    void should_find_tag_terms() {
+        assertEquals(Map.of("native", 1), trigramIndex.similarTerms("natve"));
+    }
+
+    @Test
+    void should_find_an_exact_term_at_distance_zero() {
+        assertEquals(Map.of("operators", 0), trigramIndex.similarTerms("operators"));
+    }
+
+    @Test
+    void must_not_match_terms_beyond_the_allowed_edit_distance() {
+        assertTrue(trigramIndex.similarTerms("kotlin").isEmpty());
+        assertTrue(trigramIndex.similarTerms("jxvx").isEmpty());
+    }
+
+    @Test
+    void must_only_match_short_terms_exactly() {
+        assertTrue(trigramIndex.similarTerms("jv").isEmpty());
+    }
+
+    @Test
+    void must_forget_the_terms_of_a_removed_post() {
+        trigramIndex.remove(1);
+
+        assertTrue(trigramIndex.similarTerms("kubernets").isEmpty());
+        assertEquals(Map.of("java", 0), trigramIndex.similarTerms("java"));
+    }
+
+    @Test
+    void must_keep_a_term_shared_with_another_post() {
+        trigramIndex.index(post(3, "Java records", List.of()));
+
+        trigramIndex.remove(2);
+
+        assertEquals(Map.of("java", 0), trigramIndex.similarTerms("java"));
+    }
+
+    private static Post post(long id, String title, List<String> tags) {
+        return new Post(id, title, "Content", "Tech", tags, NOW, NOW);
+    }
+}
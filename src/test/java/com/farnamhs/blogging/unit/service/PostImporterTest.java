@@ -0,0 +1,144 @@
+package com.farnamhs.blogging.unit.service;
+
+import com.farnamhs.blogging.dao.PostDao;
+import com.farnamhs.blogging.dto.ImportErrorDto;
+import com.farnamhs.blogging.dto.ImportReportDto;
+import com.farnamhs.blogging.entity.Post;
+import com.farnamhs.blogging.exception.DatabaseException;
+import com.farnamhs.blogging.service.PostImporter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class PostImporterTest {
+
+    private static Clock fixedClock;
+
+    private static PostDao postDao;
+
+    private PostImporter postImporter;
+
+    @BeforeAll
+    static void beforeAll() {
+        postDao = mock(PostDao.class);
+        fixedClock = Clock.fixed(Instant.parse("2024-09-21T12:50:00Z"), ZoneId.systemDefault());
+    }
+
+    @BeforeEach
+    void setUp() {
+        postImporter = new PostImporter(fixedClock, postDao, 2, 1, runnable -> new Thread(runnable).start());
+        when(postDao.saveAll(any())).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @AfterEach
+    void tearDown() {
+        reset(postDao);
+    }
+
+    @Test
+    void must_save_every_valid_line_in_batches() {
+        ImportReportDto actual = postImporter.importPosts(ndjson(
+                "{\"title\":\"First\",\"content\":\"Content\",\"category\":\"Tech\",\"tags\":[\"java\"]}",
+                "{\"title\":\"Second\",\"content\":\"Content\",\"category\":\"Tech\",\"tags\":[]}",
+                "{\"title\":\"Third\",\"content\":\"Content\",\"category\":\"Tech\",\"tags\":[]}"
+        ));
+
+        assertEquals(new ImportReportDto(3, 3, 0, true, List.of()), actual);
+        verify(postDao).saveAll(List.of(
+                new Post("First", "Content", "Tech", List.of("java"), Instant.now(fixedClock)),
+                new Post("Second", "Content", "Tech", List.of(), Instant.now(fixedClock))
+        ));
+        verify(postDao).saveAll(List.of(new Post("Third", "Content", "Tech", List.of(), Instant.now(fixedClock))));
+    }
+
+    @Test
+    void must_report_invalid_lines_with_their_line_numbers_and_import_the_rest() {
+        ImportReportDto actual = postImporter.importPosts(ndjson(
+                "{\"title\":\" \",\"content\":\"Content\",\"category\":\"Tech\",\"tags\":[]}",
+                "{\"title\":\"Second\",\"content\":\"Content\",\"category\":\"Tech\",\"tags\":[]}",
+                "{\"title\":\"Third\",\"category\":\"Tech\",\"tags\":[]}",
+                "[1, 2]"
+        ));
+
+        assertEquals(4, actual.processed());
+        assertEquals(1, actual.imported());
+        assertEquals(3, actual.failed());
+        assertTrue(actual.completed());
+        assertEquals(List.of(1L, 3L, 4L), actual.errors().stream().map(ImportErrorDto::line).toList());
+        assertEquals("Title cannot be EMPTY or BLANK", actual.errors().get(0).message());
+        assertEquals("Content cannot be NULL", actual.errors().get(1).message());
+    }
+
+    @Test
+    void should_report_malformed_json_lines_and_import_the_rest() {
+        ImportReportDto actual = postImporter.importPosts(ndjson(
+                "{\"title\":\"First\",\"content\":\"Content\",\"category\":\"Tech\",\"tags\":[]}",
+                "{\"title\":",
+                "{\"title\":\"Third\",\"content\":\"Content\",\"category\":\"Tech\",\"tags\":[]}"
+        ));
+
+        assertTrue(actual.completed());
+        assertEquals(3, actual.processed());
+        assertEquals(2, actual.imported());
+        assertEquals(1, actual.failed());
+        assertEquals(2, actual.errors().get(0).line());
+        assertTrue(actual.errors().get(0).message().startsWith("Malformed JSON"));
+    }
+
+    @Test
+    void must_stop_the_writer_when_the_import_is_interrupted() throws InterruptedException {
+        List<Thread> writers = new CopyOnWriteArrayList<>();
+        PostImporter interruptedImporter = new PostImporter(fixedClock, postDao, 2, 1, runnable -> {
+            Thread writer = new Thread(runnable);
+            writers.add(writer);
+            writer.start();
+        });
+
+        ImportReportDto actual;
+        Thread.currentThread().interrupt();
+        try {
+            actual = interruptedImporter.importPosts(ndjson(
+                    "{\"title\":\"First\",\"content\":\"Content\",\"category\":\"Tech\",\"tags\":[]}",
+                    "{\"title\":\"Second\",\"content\":\"Content\",\"category\":\"Tech\",\"tags\":[]}"
+            ));
+        } finally {
+            Thread.interrupted();
+        }
+        writers.get(0).join(5000);
+
+        assertFalse(actual.completed());
+        assertFalse(writers.get(0).isAlive());
+    }
+
+    @Test
+    void should_report_every_line_of_a_batch_that_failed_to_be_saved() {
+        when(postDao.saveAll(any())).thenThrow(new DatabaseException("Failed to save the posts"));
+
+        ImportReportDto actual = postImporter.importPosts(ndjson(
+                "{\"title\":\"First\",\"content\":\"Content\",\"category\":\"Tech\",\"tags\":[]}",
+                "{\"title\":\"Second\",\"content\":\"Content\",\"category\":\"Tech\",\"tags\":[]}"
+        ));
+
+        assertEquals(new ImportReportDto(2, 0, 2, true, List.of(
+                new ImportErrorDto(1, "Failed to save the posts"),
+                new ImportErrorDto(2, "Failed to save the posts")
+        )), actual);
+    }
+
+    private static InputStream ndjson(String... lines) {
+        return new ByteArrayInputStream(String.join("\n", lines).getBytes(StandardCharsets.UTF_8));
+    }
+}
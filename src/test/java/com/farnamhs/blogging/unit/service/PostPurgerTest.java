@@ -0,0 +1,91 @@
+package com.farnamhs.blogging.unit.service;
+
+import com.farnamhs.blogging.dao.PostPurgeDao;
+import com.farnamhs.blogging.entity.TombstoneStats;
+import com.farnamhs.blogging.exception.DatabaseException;
+import com.farnamhs.blogging.service.PostPurger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class PostPurgerTest {
+
+    private static final Instant NOW = Instant.parse("2024-09-21T12:50:00Z");
+
+    private PostPurgeDao purgeDao;
+
+    private PostPurger postPurger;
+
+    @BeforeEach
+    void setUp() {
+        purgeDao = mock(PostPurgeDao.class);
+        postPurger = new PostPurger(purgeDao, Clock.fixed(NOW, ZoneOffset.UTC), 10, 3, Duration.ZERO, Duration.ofHours(1));
+    }
+
+    @Test
+    void must_keep_purging_full_batches_until_one_comes_back_short() {
+        when(purgeDao.purgeDeletedPosts(10)).thenReturn(10, 4);
+        when(purgeDao.getTombstoneStats()).thenReturn(new TombstoneStats(0, Optional.empty()));
+
+        postPurger.purge();
+
+        verify(purgeDao, times(2)).purgeDeletedPosts(10);
+        assertEquals(14, postPurger.getPurgedPosts());
+        assertEquals(1, postPurger.getPurgeRuns());
+    }
+
+    @Test
+    void must_stop_after_the_maximum_batches_per_run_and_report_the_lag_of_what_is_left() {
+        when(purgeDao.purgeDeletedPosts(10)).thenReturn(10);
+        when(purgeDao.getTombstoneStats()).thenReturn(new TombstoneStats(25, Optional.of(NOW.minusSeconds(90))));
+
+        postPurger.purge();
+
+        verify(purgeDao, times(3)).purgeDeletedPosts(10);
+        assertEquals(30, postPurger.getPurgedPosts());
+        assertEquals(25, postPurger.getPendingPosts());
+        assertEquals(90, postPurger.getPurgeLagSeconds());
+    }
+
+    @Test
+    void must_purge_the_changes_older_than_the_retention_in_batches() {
+        when(purgeDao.getTombstoneStats()).thenReturn(new TombstoneStats(0, Optional.empty()));
+        when(purgeDao.purgeChangesBefore(NOW.minus(Duration.ofHours(1)), 10)).thenReturn(10, 2);
+
+        postPurger.purge();
+
+        verify(purgeDao, times(2)).purgeChangesBefore(NOW.minus(Duration.ofHours(1)), 10);
+        assertEquals(12, postPurger.getPurgedChanges());
+    }
+
+    @Test
+    void should_count_a_failed_run_and_keep_the_previous_metrics() {
+        when(purgeDao.purgeDeletedPosts(10)).thenThrow(new DatabaseException("Failed to purge the deleted posts"));
+
+        postPurger.purge();
+
+        assertEquals(1, postPurger.getFailedRuns());
+        assertEquals(0, postPurger.getPurgeRuns());
+        assertEquals(0, postPurger.getPurgeLagSeconds());
+    }
+
+    @Test
+    void must_reject_a_non_positive_batch_size() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new PostPurger(purgeDao, Clock.systemUTC(), 0, 1, Duration.ZERO, Duration.ofHours(1)));
+    }
+
+    @Test
+    void must_reject_a_non_positive_change_retention() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new PostPurger(purgeDao, Clock.systemUTC(), 10, 1, Duration.ZERO, Duration.ZERO));
+    }
+}
@@ -1,21 +1,47 @@
 package com.farnamhs.blogging.unit.service;
 
 import com.farnamhs.blogging.dao.PostDao;
+import com.farnamhs.blogging.dto.ImportReportDto;
+import com.farnamhs.blogging.dto.PostBatchResponseDto;
+import com.farnamhs.blogging.dto.PostChangeDto;
+import com.farnamhs.blogging.dto.PostChangesResponseDto;
 import com.farnamhs.blogging.dto.PostRequestDto;
 import com.farnamhs.blogging.dto.PostResponseDto;
+import com.farnamhs.blogging.dto.RankedPostResponseDto;
+import com.farnamhs.blogging.dto.SuggestionDto;
 import com.farnamhs.blogging.entity.Post;
+import com.farnamhs.blogging.entity.PostChange;
+import com.farnamhs.blogging.entity.PostChangeType;
+import com.farnamhs.blogging.entity.PostField;
+import com.farnamhs.blogging.entity.ProjectedPost;
+import com.farnamhs.blogging.exception.ChangeCursorExpiredException;
 import com.farnamhs.blogging.exception.PostNotFoundException;
+import com.farnamhs.blogging.search.Bm25Index;
+import com.farnamhs.blogging.search.PostSearchIndex;
+import com.farnamhs.blogging.search.SuggestionIndex;
+import com.farnamhs.blogging.search.TrigramIndex;
+import com.farnamhs.blogging.service.PostImporter;
+import com.farnamhs.blogging.service.PostChangeNotifier;
 import com.farnamhs.blogging.service.PostServiceImpl;
+import com.farnamhs.blogging.service.PostStatistics;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.Clock;
 import java.time.Instant;
 import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.LongStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -90,6 +116,66 @@ public class PostServiceImplTest {
         verify(postDao).save(createdPost);
     }
 
+    @Test
+    void must_save_a_post_created_with_an_idempotency_key_only_once_and_replay_the_response() {
+        PostRequestDto requestedPost = new PostRequestDto(
+                "My First Blog Post",
+                "This is the content of my first blog post.",
+                "Technology",
+                List.of("Tech")
+        );
+        Post savedPost = new Post(
+                1,
+                requestedPost.title(),
+                requestedPost.content(),
+                requestedPost.category(),
+                requestedPost.tags(),
+                Instant.now(fixedClock),
+                Instant.now(fixedClock)
+        );
+
+        when(postDao.save(any())).thenReturn(savedPost);
+        PostResponseDto firstResponsePost = postServiceImpl.createPost(requestedPost, "retry-1");
+        PostResponseDto replayedResponsePost = postServiceImpl.createPost(requestedPost, "retry-1");
+
+        assertEquals(firstResponsePost, replayedResponsePost);
+        verify(postDao, times(1)).save(any());
+    }
+
+    @Test
+    void should_reject_an_idempotency_key_reused_for_a_different_post() {
+        PostRequestDto requestedPost = new PostRequestDto("Title", "Content", "Category", List.of("Tech"));
+        PostRequestDto differentPost = new PostRequestDto("Title", "Other content", "Category", List.of("Tech"));
+        when(postDao.save(any())).thenReturn(new Post(1, "Title", "Content", "Category", List.of("Tech"),
+                Instant.now(fixedClock), Instant.now(fixedClock)));
+
+        postServiceImpl.createPost(requestedPost, "retry-1");
+
+        assertThrows(IllegalArgumentException.class, () -> postServiceImpl.createPost(differentPost, "retry-1"));
+        verify(postDao, times(1)).save(any());
+    }
+
+    @Test
+    void must_import_posts_with_an_idempotency_key_only_once_and_reject_a_different_body() {
+        String importedPosts = "{\"title\":\"Title\",\"content\":\"Content\",\"category\":\"Category\",\"tags\":[]}\n";
+        String differentPosts = importedPosts.replace("Content", "Other content");
+
+        ImportReportDto firstReport = postServiceImpl.importPosts(toInputStream(importedPosts), "import-1");
+        ImportReportDto replayedReport = postServiceImpl.importPosts(toInputStream(importedPosts), "import-1");
+
+        assertEquals(firstReport, replayedReport);
+        assertThrows(IllegalArgumentException.class, () -> postServiceImpl.importPosts(toInputStream(differentPosts), "import-1"));
+        verify(postDao, times(1)).saveAll(any());
+    }
+
+    @Test
+    void should_prevent_if_idempotency_key_is_blank_while_creation_of_a_post() {
+        PostRequestDto requestedPost = new PostRequestDto("Title", "Content", "Category", List.of());
+
+        assertThrows(IllegalArgumentException.class, () -> postServiceImpl.createPost(requestedPost, " "));
+        verify(postDao, never()).save(any());
+    }
+
     @Test
     void should_prevent_if_requested_post_is_null_while_updating_a_post() {
         assertThrows(NullPointerException.class, () -> postServiceImpl.updatePost(1, null));
@@ -104,10 +190,10 @@ public class PostServiceImplTest {
                 List.of("Tech", "Programming")
         );
 
-        when(postDao.findById(1)).thenReturn(Optional.empty());
+        when(postDao.findLazyById(1)).thenReturn(Optional.empty());
 
         assertThrows(PostNotFoundException.class, () -> postServiceImpl.updatePost(1, requestedPost));
-        verify(postDao).findById(1);
+        verify(postDao).findLazyById(1);
     }
 
     @Test
@@ -137,11 +223,11 @@ public class PostServiceImplTest {
                 Instant.now(fixedClock)
         );
 
-        when(postDao.findById(1)).thenReturn(Optional.of(existedPost));
+        when(postDao.findLazyById(1)).thenReturn(Optional.of(existedPost));
         when(postDao.update(updatedPost)).thenReturn(Optional.empty());
 
         assertThrows(PostNotFoundException.class, () -> postServiceImpl.updatePost(1, requestedPost));
-        verify(postDao).findById(1);
+        verify(postDao).findLazyById(1);
         verify(postDao).update(updatedPost);
     }
 
@@ -181,15 +267,32 @@ public class PostServiceImplTest {
                 updatedPost.getUpdatedAt()
         );
 
-        when(postDao.findById(1)).thenReturn(Optional.of(existedPost));
+        when(postDao.findLazyById(1)).thenReturn(Optional.of(existedPost));
         when(postDao.update(updatedPost)).thenReturn(Optional.of(updatedPost));
         PostResponseDto actualResponsePost = postServiceImpl.updatePost(1, requestedPost);
 
         assertEquals(expectedResponsePost, actualResponsePost);
-        verify(postDao).findById(1);
+        verify(postDao).findLazyById(1);
         verify(postDao).update(updatedPost);
     }
 
+    @Test
+    void must_not_load_the_content_and_tags_of_the_post_being_updated() {
+        PostRequestDto requestedPost = new PostRequestDto("My Updated Blog Post", "Updated content", "Technology", List.of("Tech"));
+        Post existedPost = Post.lazy(1, "My First Blog Post",
+                () -> fail("content must not be loaded"), "Technology",
+                () -> fail("tags must not be loaded"), Instant.now(fixedClock), Instant.now(fixedClock));
+        Post updatedPost = new Post(1, "My Updated Blog Post", "Updated content", "Technology", List.of("Tech"),
+                Instant.now(fixedClock), Instant.now(fixedClock));
+
+        when(postDao.findLazyById(1)).thenReturn(Optional.of(existedPost));
+        when(postDao.update(updatedPost)).thenReturn(Optional.of(updatedPost));
+        postServiceImpl.updatePost(1, requestedPost);
+
+        assertFalse(existedPost.isContentLoaded());
+        assertFalse(existedPost.isTagsLoaded());
+    }
+
     @Test
     void should_throw_exception_if_post_does_not_exist_while_deleting_a_post_by_its_id() {
         when(postDao.deleteById(1)).thenReturn(false);
@@ -299,4 +402,203 @@ public class PostServiceImplTest {
         assertTrue(actualResponsePosts.isEmpty());
         verify(postDao).findBySearchTerm("None");
     }
-}
\ No newline at end of file
+
+    @Test
+    void must_return_the_changes_after_the_cursor_with_the_next_cursor() {
+        PostChange change = new PostChange(8, 3, PostChangeType.DELETED, Instant.now(fixedClock), null);
+        PostChangesResponseDto expectedResponse = new PostChangesResponseDto(
+                List.of(new PostChangeDto(8, PostChangeType.DELETED, 3, Instant.now(fixedClock), null)),
+                8
+        );
+
+        when(postDao.findChangesSince(7, 100)).thenReturn(List.of(change));
+        PostChangesResponseDto actualResponse = postServiceImpl.getChanges(7, 100, 0);
+
+        assertEquals(expectedResponse, actualResponse);
+        verify(postDao).findChangesSince(7, 100);
+    }
+
+    @Test
+    void should_keep_the_cursor_if_there_are_no_new_changes() {
+        when(postDao.findChangesSince(7, 100)).thenReturn(List.of());
+        PostChangesResponseDto actualResponse = postServiceImpl.getChanges(7, 100, 0);
+
+        assertEquals(new PostChangesResponseDto(List.of(), 7), actualResponse);
+    }
+
+    @Test
+    void must_reject_a_cursor_whose_following_changes_were_purged() {
+        PostChange change = new PostChange(12, 3, PostChangeType.DELETED, Instant.now(fixedClock), null);
+        when(postDao.findChangesSince(7, 100)).thenReturn(List.of(change));
+        when(postDao.findOldestChangeSequence()).thenReturn(12L);
+
+        assertThrows(ChangeCursorExpiredException.class, () -> postServiceImpl.getChanges(7, 100, 0));
+    }
+
+    @Test
+    void must_reject_a_cursor_older_than_the_retained_changes_even_if_none_are_left() {
+        when(postDao.findChangesSince(7, 100)).thenReturn(List.of());
+        when(postDao.findOldestChangeSequence()).thenReturn(10L);
+
+        assertThrows(ChangeCursorExpiredException.class, () -> postServiceImpl.getChanges(7, 100, 0));
+    }
+
+    @Test
+    void should_not_check_the_retained_changes_if_the_next_change_follows_the_cursor() {
+        PostChange change = new PostChange(8, 3, PostChangeType.DELETED, Instant.now(fixedClock), null);
+        when(postDao.findChangesSince(7, 100)).thenReturn(List.of(change));
+
+        postServiceImpl.getChanges(7, 100, 0);
+
+        verify(postDao, never()).findOldestChangeSequence();
+    }
+
+    @Test
+    void must_wait_for_a_new_change_if_long_polling() throws InterruptedException {
+        PostChangeNotifier changeNotifier = new PostChangeNotifier();
+        PostServiceImpl longPollingService = new PostServiceImpl(fixedClock, postDao, changeNotifier);
+        PostChange change = new PostChange(8, 3, PostChangeType.DELETED, Instant.now(fixedClock), null);
+        when(postDao.findChangesSince(7, 100)).thenReturn(List.of()).thenReturn(List.of(change));
+
+        Thread writer = new Thread(() -> changeNotifier.onChange(change, Optional.empty()));
+        writer.start();
+        PostChangesResponseDto actualResponse = longPollingService.getChanges(7, 100, 5);
+        writer.join();
+
+        assertEquals(8, actualResponse.nextCursor());
+        verify(postDao, times(2)).findChangesSince(7, 100);
+    }
+
+    @Test
+    void should_prevent_invalid_change_requests() {
+        assertThrows(IllegalArgumentException.class, () -> postServiceImpl.getChanges(-1, 100, 0));
+        assertThrows(IllegalArgumentException.class, () -> postServiceImpl.getChanges(0, 0, 0));
+        assertThrows(IllegalArgumentException.class, () -> postServiceImpl.getChanges(0, 100, 31));
+    }
+
+    @Test
+    void must_export_every_post_as_a_response_post() {
+        Post post = new Post(
+                1,
+                "My First Blog Post",
+                "This is the content of my first blog post.",
+                "Technology",
+                List.of("TECH"),
+                Instant.now(fixedClock),
+                Instant.now(fixedClock)
+        );
+        List<PostResponseDto> exportedPosts = new ArrayList<>();
+
+        doAnswer(invocation -> {
+            invocation.<Consumer<Post>>getArgument(0).accept(post);
+            return null;
+        }).when(postDao).forEachPost(any());
+        postServiceImpl.exportPosts(exportedPosts::add);
+
+        assertEquals(List.of(new PostResponseDto(
+                post.getId(),
+                post.getTitle(),
+                post.getContent(),
+                post.getCategory(),
+                post.getTags(),
+                post.getCreatedAt(),
+                post.getUpdatedAt()
+        )), exportedPosts);
+    }
+
+    @Test
+    void must_get_only_the_requested_fields_of_a_post() {
+        ProjectedPost projectedPost = new ProjectedPost(1, "Title", null, "Technology", null, null, null);
+
+        when(postDao.findById(1, EnumSet.of(PostField.TITLE, PostField.CATEGORY))).thenReturn(Optional.of(projectedPost));
+        PostResponseDto actualResponsePost = postServiceImpl.getPost(1, "id, title,category");
+
+        assertEquals(new PostResponseDto(1, "Title", null, "Technology", null, null, null), actualResponsePost);
+    }
+
+    @Test
+    void must_search_only_the_requested_fields_of_the_posts() {
+        ProjectedPost projectedPost = new ProjectedPost(1, null, null, null, List.of("TECH"), null, null);
+
+        when(postDao.findBySearchTerm("Tech", EnumSet.of(PostField.TAGS))).thenReturn(List.of(projectedPost));
+        List<PostResponseDto> actualResponsePosts = postServiceImpl.searchPosts("Tech", "tags");
+
+        assertEquals(List.of(new PostResponseDto(1, null, null, null, List.of("TECH"), null, null)), actualResponsePosts);
+    }
+
+    @Test
+    void should_prevent_requesting_an_unknown_field() {
+        assertThrows(IllegalArgumentException.class, () -> postServiceImpl.getPost(1, "title,password"));
+        verifyNoInteractions(postDao);
+    }
+
+    @Test
+    void must_rank_the_posts_by_relevance() {
+        PostSearchIndex searchIndex = new PostSearchIndex(new Bm25Index(Map.of()), new SuggestionIndex(), new TrigramIndex());
+        PostServiceImpl rankingService = new PostServiceImpl(fixedClock, postDao, new PostChangeNotifier(),
+                new PostImporter(fixedClock, postDao), new PostStatistics(postDao), searchIndex);
+        Post javaPost = new Post(1, "Java", "Java records", "Tech", List.of(), Instant.now(fixedClock), Instant.now(fixedClock));
+        Post kotlinPost = new Post(2, "Kotlin", "Compared to java", "Tech", List.of(), Instant.now(fixedClock), Instant.now(fixedClock));
+        searchIndex.onChange(new PostChange(1, 1, PostChangeType.CREATED, Instant.now(fixedClock), javaPost), Optional.empty());
+        searchIndex.onChange(new PostChange(2, 2, PostChangeType.CREATED, Instant.now(fixedClock), kotlinPost), Optional.empty());
+
+        when(postDao.findByIds(anyList())).thenReturn(List.of(javaPost));
+        List<RankedPostResponseDto> rankedPosts = rankingService.rankPosts("java", 10, false);
+
+        assertEquals(1, rankedPosts.size());
+        assertEquals(1, rankedPosts.get(0).post().id());
+        assertTrue(rankedPosts.get(0).score() > 0);
+    }
+
+    @Test
+    void must_get_the_requested_posts_in_order_and_report_the_missing_ids() {
+        Post firstPost = new Post(1, "First", "Content", "Tech", List.of(), Instant.now(fixedClock), Instant.now(fixedClock));
+        Post thirdPost = new Post(3, "Third", "Content", "Tech", List.of(), Instant.now(fixedClock), Instant.now(fixedClock));
+
+        when(postDao.findByIds(List.of(3L, 2L, 1L))).thenReturn(List.of(thirdPost, firstPost));
+        PostBatchResponseDto postsResponse = postServiceImpl.getPosts("3, 2,1,3");
+
+        assertEquals(List.of(3L, 1L), postsResponse.posts().stream().map(PostResponseDto::id).toList());
+        assertEquals(List.of(2L), postsResponse.missingIds());
+    }
+
+    @Test
+    void should_prevent_getting_posts_with_invalid_ids() {
+        assertThrows(IllegalArgumentException.class, () -> postServiceImpl.getPosts(""));
+        assertThrows(IllegalArgumentException.class, () -> postServiceImpl.getPosts("1,0"));
+        assertThrows(IllegalArgumentException.class, () -> postServiceImpl.getPosts("1,abc"));
+        assertThrows(IllegalArgumentException.class, () -> postServiceImpl.getPosts(
+                String.join(",", LongStream.rangeClosed(1, 101).mapToObj(String::valueOf).toList())));
+        verifyNoInteractions(postDao);
+    }
+
+    @Test
+    void should_prevent_ranking_with_a_blank_query_or_an_invalid_limit() {
+        assertThrows(IllegalArgumentException.class, () -> postServiceImpl.rankPosts(" ", 10, false));
+        assertThrows(IllegalArgumentException.class, () -> postServiceImpl.rankPosts("java", 0, false));
+        assertThrows(IllegalArgumentException.class, () -> postServiceImpl.rankPosts("java", 101, true));
+        verifyNoInteractions(postDao);
+    }
+
+    @Test
+    void must_suggest_completions_of_a_prefix() {
+        SuggestionIndex suggestionIndex = new SuggestionIndex();
+        PostServiceImpl suggestingService = new PostServiceImpl(fixedClock, postDao, new PostChangeNotifier(),
+                new PostImporter(fixedClock, postDao), new PostStatistics(postDao),
+                new PostSearchIndex(new Bm25Index(Map.of()), suggestionIndex, new TrigramIndex()));
+        suggestionIndex.index(new Post(1, "Java", "Content", "Tech", List.of("JVM"), Instant.now(fixedClock), Instant.now(fixedClock)));
+
+        assertEquals(List.of(new SuggestionDto("JVM", 1)), suggestingService.suggestPosts("jv", 10));
+        verifyNoInteractions(postDao);
+    }
+
+    @Test
+    void should_prevent_suggesting_with_a_blank_prefix_or_an_invalid_limit() {
+        assertThrows(IllegalArgumentException.class, () -> postServiceImpl.suggestPosts("", 10));
+        assertThrows(IllegalArgumentException.class, () -> postServiceImpl.suggestPosts("ja", 51));
+    }
+
+    private static InputStream toInputStream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,96 @@
+package com.farnamhs.blogging.unit.service;
+
+import com.farnamhs.blogging.dao.PostDao;
+import com.farnamhs.blogging.entity.Post;
+import com.farnamhs.blogging.entity.PostChange;
+import com.farnamhs.blogging.entity.PostChangeType;
+import com.farnamhs.blogging.entity.PostCounts;
+import com.farnamhs.blogging.exception.DatabaseException;
+import com.farnamhs.blogging.service.PostStatistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class PostStatisticsTest {
+
+    private static final Instant NOW = Instant.parse("2024-09-21T12:50:00Z");
+
+    private PostDao postDao;
+
+    private PostStatistics postStatistics;
+
+    @BeforeEach
+    void setUp() {
+        postDao = mock(PostDao.class);
+        when(postDao.countPosts()).thenReturn(new PostCounts(2, Map.of("Tech", 2L), Map.of("JAVA", 1L)));
+        postStatistics = new PostStatistics(postDao);
+        postStatistics.reconcile();
+    }
+
+    @Test
+    void must_start_from_the_counts_in_the_database() {
+        assertEquals(new PostCounts(2, Map.of("Tech", 2L), Map.of("JAVA", 1L)), postStatistics.getCounts());
+    }
+
+    @Test
+    void must_count_a_created_post() {
+        Post post = post(3, "News", List.of("JAVA", "WORLD"));
+
+        postStatistics.onChange(new PostChange(1, 3, PostChangeType.CREATED, NOW, post), Optional.empty());
+
+        assertEquals(new PostCounts(3, Map.of("Tech", 2L, "News", 1L), Map.of("JAVA", 2L, "WORLD", 1L)),
+                postStatistics.getCounts());
+    }
+
+    @Test
+    void must_move_the_counts_of_an_updated_post() {
+        Post previousPost = post(1, "Tech", List.of("JAVA"));
+        Post updatedPost = post(1, "News", List.of("WORLD"));
+
+        postStatistics.onChange(new PostChange(1, 1, PostChangeType.UPDATED, NOW, updatedPost), Optional.of(previousPost));
+
+        assertEquals(new PostCounts(2, Map.of("Tech", 1L, "News", 1L), Map.of("WORLD", 1L)), postStatistics.getCounts());
+    }
+
+    @Test
+    void must_uncount_a_deleted_post() {
+        Post deletedPost = post(1, "Tech", List.of("JAVA"));
+
+        postStatistics.onChange(new PostChange(1, 1, PostChangeType.DELETED, NOW, null), Optional.of(deletedPost));
+
+        assertEquals(new PostCounts(1, Map.of("Tech", 1L), Map.of()), postStatistics.getCounts());
+    }
+
+    @Test
+    void should_order_the_counts_from_the_most_used() {
+        postStatistics.onChange(new PostChange(1, 3, PostChangeType.CREATED, NOW, post(3, "News", List.of("WORLD"))),
+                Optional.empty());
+        postStatistics.onChange(new PostChange(2, 4, PostChangeType.CREATED, NOW, post(4, "News", List.of("WORLD"))),
+                Optional.empty());
+        postStatistics.onChange(new PostChange(3, 5, PostChangeType.CREATED, NOW, post(5, "News", List.of())),
+                Optional.empty());
+
+        assertIterableEquals(List.of("News", "Tech"), postStatistics.getCounts().byCategory().keySet());
+        assertIterableEquals(List.of("WORLD", "JAVA"), postStatistics.getCounts().byTag().keySet());
+    }
+
+    @Test
+    void should_keep_the_current_counts_if_reconciliation_fails() {
+        when(postDao.countPosts()).thenThrow(new DatabaseException("Failed to count the posts"));
+
+        postStatistics.reconcile();
+
+        assertEquals(2, postStatistics.getCounts().total());
+    }
+
+    private static Post post(long id, String category, List<String> tags) {
+        return new Post(id, "Title", "Content", category, tags, NOW, NOW);
+    }
+}
@@ -1,5 +1,9 @@
 DELETE FROM posts;
 
+DELETE FROM post_changes;
+
+UPDATE post_change_sequence SET last_seq = 0 WHERE id = 1;
+
 ALTER TABLE posts ALTER COLUMN id RESTART WITH 1;
 
 INSERT INTO posts (title, content, category, created_at, updated_at)
@@ -12,4 +16,4 @@ VALUES (1, 'TECHNOLOGY'),
        (1, 'INTERNET'),
        (2, 'JAVA'),
        (2, 'PROGRAMMING'),
-       (2, 'COMPUTER');
\ No newline at end of file
+       (2, 'COMPUTER');